@@ -0,0 +1,102 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.Locale;
+
+/**
+ * A minimal benchmark harness: every benchmark is warmed up, then run for a fixed time on the current thread.
+ * Results are operations per second, time per operation and bytes allocated per operation (when the JVM
+ * can measure it).
+ */
+class BenchmarkRunner {
+	
+	/**
+	 * A measured operation
+	 */
+	abstract static class Benchmark {
+		final String name;
+		
+		Benchmark(String name) {
+			this.name = name;
+		}
+		
+		/**
+		 * Runs the operation once
+		 * @return any result of the operation, consumed so that the work is not optimized away
+		 */
+		abstract Object run() throws Exception;
+	}
+	
+	private final long warmupMillis;
+	private final long measureMillis;
+	private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+	private final Method allocatedBytes;
+	private volatile int sink;
+	
+	BenchmarkRunner(long warmupMillis, long measureMillis) {
+		this.warmupMillis = warmupMillis;
+		this.measureMillis = measureMillis;
+		Method method = null;
+		try {
+			//com.sun.management.ThreadMXBean, available on HotSpot
+			method = Class.forName("com.sun.management.ThreadMXBean").getMethod("getThreadAllocatedBytes", long.class);
+			if (((Long) method.invoke(this.threads, Thread.currentThread().getId())).longValue() < 0) method = null;
+		} catch (Exception e) {
+			method = null;
+		}
+		this.allocatedBytes = method;
+	}
+	
+	static void printHeader() {
+		System.out.println(String.format(Locale.US, "%-44s %14s %14s %14s", "benchmark", "ops/s", "us/op", "B/op"));
+	}
+	
+	void run(Benchmark benchmark) throws Exception {
+		this.loop(benchmark, this.warmupMillis);
+		long allocatedBefore = this.allocated();
+		long start = System.nanoTime();
+		long operations = this.loop(benchmark, this.measureMillis);
+		long elapsed = System.nanoTime() - start;
+		long allocatedAfter = this.allocated();
+		double opsPerSecond = operations * 1e9 / elapsed;
+		String allocation = allocatedBefore < 0 ? "n/a" 
+				: String.format(Locale.US, "%.0f", (double) (allocatedAfter - allocatedBefore) / operations);
+		System.out.println(String.format(Locale.US, "%-44s %14.1f %14.3f %14s", benchmark.name, opsPerSecond, 
+				elapsed / 1e3 / operations, allocation));
+	}
+	
+	private long loop(Benchmark benchmark, long millis) throws Exception {
+		long end = System.nanoTime() + millis * 1000000L;
+		long operations = 0;
+		int hash = 0;
+		do {
+			Object result = benchmark.run();
+			if (result != null) hash += System.identityHashCode(result);
+			operations++;
+		} while (System.nanoTime() < end);
+		this.sink += hash;
+		return operations;
+	}
+	
+	private long allocated() {
+		if (this.allocatedBytes == null) return -1;
+		try {
+			return ((Long) this.allocatedBytes.invoke(this.threads, Thread.currentThread().getId())).longValue();
+		} catch (Exception e) {
+			return -1;
+		}
+	}
+
+}
@@ -0,0 +1,190 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stress check of the objects shared among threads: many threads at once format and parse dates with 
+ * {@link DateParser}, and change tasks of a few users through shared {@link RtmApi} instances of one 
+ * {@link RtmClient}, against a {@link FakeRtmServer} that verifies every signature. Each thread checks 
+ * that what it gets back is what it sent. Then a journal of renames of the tasks of one list is rolled 
+ * back with an executor, against a server with latency, checking that every name is restored and that 
+ * undo requests actually overlap. Exits with status 1 if any check fails.
+ * <p>
+ * Usage: <code>java -cp bin:lib/* it.bova.rtmapi.ContentionCheck</code><br>
+ * System properties: <code>check.threads</code> (default 16), <code>check.users</code> (users sharing 
+ * the threads, default 4), <code>check.iterations</code> (calls per thread, default 200).
+ */
+public class ContentionCheck {
+	
+	private ContentionCheck() {}
+
+	public static void main(String[] args) throws Exception {
+		int threads = Integer.getInteger("check.threads", 16);
+		int users = Integer.getInteger("check.users", 4);
+		int iterations = Integer.getInteger("check.iterations", 200);
+		
+		long dateFailures = dates(threads, iterations * 50);
+		System.out.println(String.format("DateParser: %d threads, %d round trips each, %d failures", 
+				threads, iterations * 50, dateFailures));
+		
+		FakeRtmServer server = new FakeRtmServer("checkKey", "checkSecret");
+		List<RtmApi> apis = new ArrayList<RtmApi>();
+		RtmClient client = null;
+		long callFailures;
+		try {
+			List<String> tokens = new ArrayList<String>();
+			for (int i = 0; i < users; i++) {
+				String token = server.addUser("user" + i);
+				server.addTasks(token, threads);
+				tokens.add(token);
+			}
+			server.start();
+			client = new RtmClient("checkKey", "checkSecret", null, threads, server.getRestUrl());
+			for (String token : tokens) apis.add(new RtmApi(client, token));
+			callFailures = calls(apis, threads, iterations);
+		} finally {
+			if (client != null) client.shutdown();
+			server.stop();
+		}
+		System.out.println(String.format("RtmApi: %d threads sharing %d users, %d calls each, %d failures, %d server requests", 
+				threads, users, iterations * 2, callFailures, server.getRequestCount()));
+		
+		long rollbackFailures = rollback(threads, 4);
+		if (dateFailures + callFailures + rollbackFailures > 0) System.exit(1);
+	}
+	
+	private static long rollback(int tasks, int maxInFlight) throws Exception {
+		FakeRtmServer server = new FakeRtmServer("checkKey", "checkSecret");
+		RtmClient client = null;
+		ExecutorService executor = Executors.newFixedThreadPool(maxInFlight);
+		long failures = 0;
+		try {
+			String token = server.addUser("rollback");
+			server.addTasks(token, tasks);
+			server.start();
+			client = new RtmClient("checkKey", "checkSecret", null, maxInFlight, server.getRestUrl());
+			RtmApiTransactable api = new RtmApiTransactable(client, token);
+			TransactionJournal journal = new TransactionJournal();
+			RtmApiTransactable journaled = api.withJournal(journal);
+			List<Task> original = api.tasksGetList();
+			String timeline = api.timelinesCreate();
+			//two renames of each task, so that the undo of the second must come first
+			for (int round = 0; round < 2; round++) {
+				for (Task task : original) journaled.tasksSetName(timeline, task, task.getName() + " round " + round);
+			}
+			server.setLatency(20, 30);
+			server.resetCounters();
+			RollbackReport report = api.rollback(journal, executor, maxInFlight);
+			int maxConcurrency = server.getMaxConcurrency();
+			server.setLatency(0, 0);
+			if (!report.isComplete()) failures += report.getFailures().size();
+			List<Task> restored = api.tasksGetList();
+			for (Task task : original) {
+				Task current = find(restored, task);
+				if (current == null || !task.getName().equals(current.getName())) failures++;
+			}
+			if (maxConcurrency < 2) failures++;
+			System.out.println(String.format("Rollback: %d entries on one list, %d in flight at most, %d concurrent undo requests, %d failures", 
+					tasks * 2, maxInFlight, maxConcurrency, failures));
+		} finally {
+			executor.shutdown();
+			if (client != null) client.shutdown();
+			server.stop();
+		}
+		return failures;
+	}
+	
+	private static long dates(int threads, final int iterations) throws InterruptedException {
+		final AtomicLong failures = new AtomicLong();
+		final CountDownLatch start = new CountDownLatch(1);
+		final CountDownLatch done = new CountDownLatch(threads);
+		for (int t = 0; t < threads; t++) {
+			final long seed = t;
+			new Thread(new Runnable() {
+				public void run() {
+					Random random = new Random(seed);
+					try {
+						start.await();
+						for (int i = 0; i < iterations; i++) {
+							//whole seconds, the precision of the format
+							Date date = new Date((random.nextLong() % 4000000000L) * 1000L);
+							String string = DateParser.toISO8601(date);
+							if (!date.equals(DateParser.parseDate(string))) failures.incrementAndGet();
+						}
+					} catch (Exception e) {
+						failures.incrementAndGet();
+					} finally {
+						done.countDown();
+					}
+				}
+			}, "dates-" + t).start();
+		}
+		start.countDown();
+		done.await();
+		return failures.get();
+	}
+	
+	private static long calls(final List<RtmApi> apis, int threads, final int iterations) throws Exception {
+		final AtomicLong failures = new AtomicLong();
+		final CountDownLatch start = new CountDownLatch(1);
+		final CountDownLatch done = new CountDownLatch(threads);
+		//every thread changes its own task, so that nothing else can change what it reads back
+		final List<List<Task>> userTasks = new ArrayList<List<Task>>();
+		for (RtmApi api : apis) userTasks.add(api.tasksGetList());
+		for (int t = 0; t < threads; t++) {
+			final int index = t;
+			final RtmApi api = apis.get(t % apis.size());
+			final Task task = userTasks.get(t % apis.size()).get(t / apis.size());
+			new Thread(new Runnable() {
+				public void run() {
+					Random random = new Random(index);
+					try {
+						String timeline = api.timelinesCreate();
+						start.await();
+						for (int i = 0; i < iterations; i++) {
+							String name = "thread " + index + " call " + i;
+							Task renamed = find(api.tasksSetName(timeline, task, name), task);
+							if (renamed == null || !name.equals(renamed.getName())) failures.incrementAndGet();
+							Date due = new Date(1400000000000L + random.nextInt(100000000) * 1000L);
+							Task moved = find(api.tasksSetDueDate(timeline, task, due, true), task);
+							if (moved == null || !due.equals(moved.getDue())) failures.incrementAndGet();
+						}
+					} catch (Exception e) {
+						System.err.println("Thread " + index + ": " + e);
+						failures.incrementAndGet();
+					} finally {
+						done.countDown();
+					}
+				}
+			}, "calls-" + t).start();
+		}
+		start.countDown();
+		done.await();
+		return failures.get();
+	}
+	
+	private static Task find(List<Task> tasks, Task task) {
+		for (Task candidate : tasks) {
+			if (candidate.getId().equals(task.getId())) return candidate;
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,402 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A local stand-in of the RTM REST service, to measure throughput, retries and connection pooling of the 
+ * client on one machine. Every user has an in-memory account; requests are checked like the real service does
+ * (API key, "api_sig" signature, token, timeline) and mutations can be undone with rtm.transactions.undo.
+ * Latency, errors and rate-limit responses (HTTP 503) can be injected at any time.
+ * <pre>
+ *    FakeRtmServer server = new FakeRtmServer("key", "secret");
+ *    String token = server.addUser("bob");
+ *    server.start();
+ *    RtmClient client = new RtmClient("key", "secret", null, 20, server.getRestUrl());
+ *    RtmApi api = new RtmApi(client, token);
+ * </pre>
+ * Runs on JVMs shipping the com.sun.net.httpserver package (not on Android).
+ */
+public class FakeRtmServer {
+	
+	private static final String PATH = "/services/rest/";
+	
+	static {
+		//headers and body are written separately: without this, delayed ACKs add ~40ms to every response
+		if (System.getProperty("sun.net.httpserver.nodelay") == null) System.setProperty("sun.net.httpserver.nodelay", "true");
+	}
+	
+	private final String apiKey;
+	private final String sharedSecret;
+	private final ConcurrentMap<String,FakeRtmStore> users = new ConcurrentHashMap<String,FakeRtmStore>();
+	private final ConcurrentMap<String,String> frobs = new ConcurrentHashMap<String,String>();
+	private final Set<String> connections = Collections.newSetFromMap(new ConcurrentHashMap<String,Boolean>());
+	private final AtomicLong nextId = new AtomicLong(1);
+	private final AtomicLong requests = new AtomicLong();
+	private final AtomicInteger active = new AtomicInteger();
+	private final AtomicInteger maxActive = new AtomicInteger();
+	private final Random random = new Random();
+	private volatile long minLatencyMillis = 0;
+	private volatile long maxLatencyMillis = 0;
+	private volatile double errorRate = 0;
+	private volatile double unavailableRate = 0;
+	private volatile RateLimiter rateLimiter = null;
+	private HttpServer server;
+	private ExecutorService executor;
+	
+	/**
+	 * Creates a server accepting one application
+	 * @param apiKey the API key of the application
+	 * @param sharedSecret the shared secret of the application
+	 */
+	public FakeRtmServer(String apiKey, String sharedSecret) {
+		this.apiKey = apiKey;
+		this.sharedSecret = sharedSecret;
+	}
+	
+	/**
+	 * Adds a user with an empty account (Inbox, Personal, Work and Sent lists)
+	 * @param username the name of the user
+	 * @return the authentication token of the user
+	 */
+	public String addUser(String username) {
+		String token = "token" + this.nextId.getAndIncrement();
+		this.users.put(token, new FakeRtmStore(String.valueOf(this.nextId.getAndIncrement()), username));
+		return token;
+	}
+	
+	/**
+	 * Adds tasks to the default list of a user, without transactions
+	 * @param token the token of the user
+	 * @param count the number of tasks to be added
+	 */
+	public void addTasks(String token, int count) {
+		FakeRtmStore store = this.users.get(token);
+		if (store == null) throw new IllegalArgumentException("Unknown token " + token);
+		for (int i = 0; i < count; i++) {
+			store.addTask("Task " + i, null);
+		}
+	}
+	
+	/**
+	 * Starts the server on a free port of the loopback interface
+	 * @throws IOException if the server cannot be started
+	 */
+	public synchronized void start() throws IOException {
+		this.start(0);
+	}
+	
+	/**
+	 * Starts the server on the loopback interface
+	 * @param port the port, 0 for any free port
+	 * @throws IOException if the server cannot be started
+	 */
+	public synchronized void start(int port) throws IOException {
+		if (this.server != null) throw new IllegalStateException("Server already started");
+		this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 200);
+		this.server.createContext(PATH, new HttpHandler() {
+			public void handle(HttpExchange exchange) throws IOException {
+				FakeRtmServer.this.handle(exchange);
+			}
+		});
+		this.executor = Executors.newCachedThreadPool(new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "fake-rtm-" + this.count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		this.server.setExecutor(this.executor);
+		this.server.start();
+	}
+	
+	/**
+	 * Stops the server
+	 */
+	public synchronized void stop() {
+		if (this.server == null) return;
+		this.server.stop(0);
+		this.executor.shutdownNow();
+		this.server = null;
+	}
+	
+	/**
+	 * Gets the address to be given to {@link RtmClient}
+	 * @return the address of the REST service
+	 */
+	public synchronized String getRestUrl() {
+		if (this.server == null) throw new IllegalStateException("Server not started");
+		return "http://127.0.0.1:" + this.server.getAddress().getPort() + PATH;
+	}
+	
+	/**
+	 * Delays every response by a random time in a range
+	 * @param minMillis the minimum delay in milliseconds
+	 * @param maxMillis the maximum delay in milliseconds
+	 */
+	public void setLatency(long minMillis, long maxMillis) {
+		if (minMillis < 0 || maxMillis < minMillis) throw new IllegalArgumentException("Invalid latency range");
+		this.minLatencyMillis = minMillis;
+		this.maxLatencyMillis = maxMillis;
+	}
+	
+	/**
+	 * Answers a fraction of the requests with error 105 (Service currently unavailable), without performing them
+	 * @param rate the fraction of failed requests, from 0 to 1
+	 */
+	public void setErrorRate(double rate) {
+		this.errorRate = rate;
+	}
+	
+	/**
+	 * Answers a fraction of the requests with HTTP 503, without performing them
+	 * @param rate the fraction of rejected requests, from 0 to 1
+	 */
+	public void setUnavailableRate(double rate) {
+		this.unavailableRate = rate;
+	}
+	
+	/**
+	 * Answers with HTTP 503 the requests exceeding a rate, as the real service does for more than one request 
+	 * per second per API key
+	 * @param permitsPerSecond the accepted rate, 0 for no limit
+	 * @param burst the requests accepted at once after an idle period
+	 */
+	public void setRateLimit(double permitsPerSecond, int burst) {
+		this.rateLimiter = permitsPerSecond <= 0 ? null : new RateLimiter(permitsPerSecond, burst);
+	}
+	
+	/**
+	 * Gets the number of received requests
+	 * @return the number of requests
+	 */
+	public long getRequestCount() {
+		return this.requests.get();
+	}
+	
+	/**
+	 * Gets the number of distinct client connections seen so far
+	 * @return the number of connections
+	 */
+	public int getConnectionCount() {
+		return this.connections.size();
+	}
+	
+	/**
+	 * Gets the highest number of requests handled at once
+	 * @return the maximum concurrency
+	 */
+	public int getMaxConcurrency() {
+		return this.maxActive.get();
+	}
+	
+	/**
+	 * Resets request, connection and concurrency counters
+	 */
+	public void resetCounters() {
+		this.requests.set(0);
+		this.connections.clear();
+		this.maxActive.set(0);
+	}
+	
+	private void handle(HttpExchange exchange) throws IOException {
+		int active = this.active.incrementAndGet();
+		for (int max = this.maxActive.get(); active > max && !this.maxActive.compareAndSet(max, active); max = this.maxActive.get());
+		try {
+			this.requests.incrementAndGet();
+			this.connections.add(exchange.getRemoteAddress().toString());
+			Map<String,String> parameters = parameters(exchange);
+			long latency = this.minLatencyMillis + (long) (this.random.nextDouble() * (this.maxLatencyMillis - this.minLatencyMillis));
+			if (latency > 0) Thread.sleep(latency);
+			RateLimiter limiter = this.rateLimiter;
+			if ((limiter != null && !limiter.tryAcquire()) || this.random.nextDouble() < this.unavailableRate) {
+				exchange.sendResponseHeaders(503, -1);
+				return;
+			}
+			String body;
+			try {
+				if (this.random.nextDouble() < this.errorRate) throw new FakeRtmStore.Failure(105, "Service currently unavailable");
+				String content = this.dispatch(parameters);
+				body = "{\"rsp\":{\"stat\":\"ok\"" + (content.length() > 0 ? "," + content : "") + "}}";
+			} catch (FakeRtmStore.Failure e) {
+				body = "{\"rsp\":{\"stat\":\"fail\",\"err\":{\"code\":\"" + e.code + "\",\"msg\":" 
+						+ FakeRtmStore.q(e.getMessage()) + "}}}";
+			}
+			byte[] bytes = body.getBytes("UTF-8");
+			exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+			exchange.sendResponseHeaders(200, bytes.length);
+			OutputStream out = exchange.getResponseBody();
+			out.write(bytes);
+			out.close();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			this.active.decrementAndGet();
+			exchange.close();
+		}
+	}
+	
+	private String dispatch(Map<String,String> p) throws FakeRtmStore.Failure {
+		if (!this.apiKey.equals(p.get("api_key"))) throw new FakeRtmStore.Failure(100, "Invalid API Key");
+		String method = p.get("method");
+		if (method == null) throw new FakeRtmStore.Failure(112, "Method \"\" not found");
+		if (method.equals("rtm.test.echo")) {
+			StringBuilder sb = new StringBuilder();
+			for (Map.Entry<String,String> entry : p.entrySet()) {
+				if (sb.length() > 0) sb.append(',');
+				sb.append(FakeRtmStore.q(entry.getKey())).append(':').append(FakeRtmStore.q(entry.getValue()));
+			}
+			return sb.toString();
+		}
+		String signature = p.remove("api_sig");
+		if (signature == null) throw new FakeRtmStore.Failure(97, "Missing signature");
+		if (!signature.equals(this.sign(p))) throw new FakeRtmStore.Failure(96, "Invalid signature");
+		if (method.equals("rtm.auth.getFrob")) {
+			String frob = "frob" + this.nextId.getAndIncrement();
+			this.frobs.put(frob, this.addUser("user" + this.nextId.get()));
+			return "\"frob\":" + FakeRtmStore.q(frob);
+		}
+		if (method.equals("rtm.auth.getToken")) {
+			//every frob is immediately authorized
+			String token = p.get("frob") == null ? null : this.frobs.remove(p.get("frob"));
+			if (token == null) throw new FakeRtmStore.Failure(101, "Invalid frob - did you authenticate?");
+			return this.users.get(token).auth(token);
+		}
+		if (method.equals("rtm.reflection.getMethods")) {
+			StringBuilder sb = new StringBuilder("\"methods\":{\"method\":[");
+			boolean first = true;
+			for (String name : FakeRtmStore.SUPPORTED_METHODS) {
+				if (!first) sb.append(',');
+				sb.append(FakeRtmStore.q(name));
+				first = false;
+			}
+			return sb.append("]}").toString();
+		}
+		if (method.equals("rtm.reflection.getMethodInfo")) {
+			String name = p.get("method_name");
+			if (name == null || !FakeRtmStore.SUPPORTED_METHODS.contains(name)) 
+				throw new FakeRtmStore.Failure(112, "Method \"" + name + "\" not found");
+			return methodInfo(name);
+		}
+		if (method.equals("rtm.time.parse") || method.equals("rtm.time.convert")) {
+			Date time = new Date();
+			String text = method.equals("rtm.time.parse") ? p.get("text") : p.get("time");
+			try {
+				if (text != null) time = DateParser.parseDate(text);
+			} catch (ParsingException e) { /* like the real service, unknown text is "now" */ }
+			return "\"time\":{\"precision\":\"time\",\"$t\":" + FakeRtmStore.q(DateParser.toISO8601(time)) + "}";
+		}
+		String token = p.get("auth_token");
+		FakeRtmStore store = token == null ? null : this.users.get(token);
+		if (store == null) throw new FakeRtmStore.Failure(98, "Login failed / Invalid auth token");
+		if (method.equals("rtm.auth.checkToken")) return store.auth(token);
+		return store.call(method, p);
+	}
+	
+	/**
+	 * Describes a supported method. Only the common arguments are listed (api_key, auth_token, timeline), 
+	 * and the errors the stand-in can answer with for all the methods
+	 */
+	private static String methodInfo(String name) {
+		boolean signing = !name.equals("rtm.test.echo") && !name.startsWith("rtm.reflection.");
+		boolean login = signing && !name.startsWith("rtm.auth.") && !name.startsWith("rtm.time.");
+		String action = name.substring(name.lastIndexOf('.') + 1);
+		boolean write = login && !action.startsWith("get") && !name.equals("rtm.test.login") 
+				&& !name.equals("rtm.timelines.create");
+		String permission = !login ? "none" : !write ? "read" : action.equals("delete") ? "delete" : "write";
+		StringBuilder sb = new StringBuilder("\"method\":{\"name\":").append(FakeRtmStore.q(name))
+			.append(",\"needslogin\":").append(login ? "\"1\"" : "\"0\"")
+			.append(",\"needssigning\":").append(signing ? "\"1\"" : "\"0\"")
+			.append(",\"requiredperms\":").append(FakeRtmStore.q(permission))
+			.append(",\"description\":").append(FakeRtmStore.q("Stand-in of " + name))
+			.append(",\"response\":\"\",\"arguments\":{\"argument\":[");
+		sb.append(argument("api_key", "Your API application key."));
+		if (login) sb.append(',').append(argument("auth_token", "An authentication token."));
+		if (write) sb.append(',').append(argument("timeline", "The timeline within which to run a method."));
+		if (name.equals("rtm.reflection.getMethodInfo")) sb.append(',').append(argument("method_name", "The name of the method."));
+		sb.append("]},\"errors\":{\"error\":[");
+		if (signing) sb.append(error(96, "Invalid signature")).append(',').append(error(97, "Missing signature")).append(',');
+		if (login) sb.append(error(98, "Login failed / Invalid auth token")).append(',');
+		sb.append(error(100, "Invalid API Key")).append(',').append(error(112, "Method not found"));
+		if (write) sb.append(',').append(error(300, "Timeline invalid or not provided"));
+		return sb.append("]}}").toString();
+	}
+	
+	private static String argument(String name, String description) {
+		return "{\"name\":" + FakeRtmStore.q(name) + ",\"optional\":\"0\",\"$t\":" + FakeRtmStore.q(description) + "}";
+	}
+	
+	private static String error(int code, String message) {
+		return "{\"code\":\"" + code + "\",\"message\":" + FakeRtmStore.q(message) + ",\"$t\":" + FakeRtmStore.q(message) + "}";
+	}
+	
+	private String sign(Map<String,String> parameters) throws FakeRtmStore.Failure {
+		StringBuilder sb = new StringBuilder(this.sharedSecret);
+		for (Map.Entry<String,String> entry : parameters.entrySet()) {
+			sb.append(entry.getKey()).append(entry.getValue());
+		}
+		try {
+			return Md5Helper.md5(sb.toString());
+		} catch (RtmApiException e) {
+			throw new FakeRtmStore.Failure(96, "Invalid signature");
+		}
+	}
+	
+	private static Map<String,String> parameters(HttpExchange exchange) throws IOException {
+		//parameters are in the query string, or in the body of form posts
+		Map<String,String> parameters = new TreeMap<String,String>();
+		decode(exchange.getRequestURI().getRawQuery(), parameters);
+		InputStream in = exchange.getRequestBody();
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		byte[] buffer = new byte[4096];
+		for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+			body.write(buffer, 0, read);
+		}
+		in.close();
+		if (body.size() > 0) decode(body.toString("UTF-8"), parameters);
+		return parameters;
+	}
+	
+	private static void decode(String query, Map<String,String> parameters) throws UnsupportedEncodingException {
+		if (query == null || query.length() == 0) return;
+		for (String pair : query.split("&")) {
+			int equals = pair.indexOf('=');
+			if (equals < 0) parameters.put(URLDecoder.decode(pair, "UTF-8"), "");
+			else parameters.put(URLDecoder.decode(pair.substring(0, equals), "UTF-8"), URLDecoder.decode(pair.substring(equals + 1), "UTF-8"));
+		}
+	}
+
+}
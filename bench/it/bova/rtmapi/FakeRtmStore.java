@@ -0,0 +1,693 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.json.JSONObject;
+
+/**
+ * The account of a user of {@link FakeRtmServer}: lists, task series, contacts and groups held in memory, 
+ * with timelines and undoable transactions. Every method answers with the JSON content of the response,
+ * without the outer "rsp" object.
+ */
+class FakeRtmStore {
+	
+	/**
+	 * An error answered by the server
+	 */
+	static class Failure extends Exception {
+		private static final long serialVersionUID = 1L;
+		final int code;
+		
+		Failure(int code, String message) {
+			super(message);
+			this.code = code;
+		}
+	}
+	
+	private static class ListEntry {
+		String id, name, filter = "";
+		boolean archived, deleted, locked;
+		int position;
+		
+		ListEntry copy() {
+			ListEntry copy = new ListEntry();
+			copy.id = this.id; copy.name = this.name; copy.filter = this.filter;
+			copy.archived = this.archived; copy.deleted = this.deleted; copy.locked = this.locked;
+			copy.position = this.position;
+			return copy;
+		}
+	}
+	
+	private static class NoteEntry {
+		String id, title, text;
+		Date created, modified;
+	}
+	
+	private static class Serie {
+		String id, listId, name, locationId = "", source = "api", url = "", rrule = "", estimate = "";
+		String taskId, priority = "N";
+		boolean every, hasDueTime;
+		Date created, modified, added, due, completed, deleted;
+		int postponed;
+		List<String> tags = new ArrayList<String>();
+		List<NoteEntry> notes = new ArrayList<NoteEntry>();
+		
+		Serie copy() {
+			Serie copy = new Serie();
+			copy.id = this.id; copy.listId = this.listId; copy.name = this.name; copy.locationId = this.locationId;
+			copy.source = this.source; copy.url = this.url; copy.rrule = this.rrule; copy.estimate = this.estimate;
+			copy.taskId = this.taskId; copy.priority = this.priority; copy.every = this.every;
+			copy.hasDueTime = this.hasDueTime; copy.created = this.created; copy.modified = this.modified;
+			copy.added = this.added; copy.due = this.due; copy.completed = this.completed; copy.deleted = this.deleted;
+			copy.postponed = this.postponed;
+			copy.tags = new ArrayList<String>(this.tags);
+			copy.notes = new ArrayList<NoteEntry>(this.notes);
+			return copy;
+		}
+	}
+	
+	private static class GroupEntry {
+		String id, name;
+		Set<String> contactIds = new LinkedHashSet<String>();
+	}
+	
+	static final Set<String> SUPPORTED_METHODS = new LinkedHashSet<String>(Arrays.asList(
+				"rtm.auth.checkToken", "rtm.auth.getFrob", "rtm.auth.getToken", "rtm.contacts.add",
+				"rtm.contacts.delete", "rtm.contacts.getList", "rtm.groups.add", "rtm.groups.addContact", "rtm.groups.delete",
+				"rtm.groups.getList", "rtm.groups.removeContact", "rtm.lists.add", "rtm.lists.archive", "rtm.lists.delete",
+				"rtm.lists.getList", "rtm.lists.setDefaultList", "rtm.lists.setName", "rtm.lists.unarchive", 
+				"rtm.locations.getList", "rtm.reflection.getMethodInfo", "rtm.reflection.getMethods", "rtm.settings.getList", "rtm.tasks.add", 
+				"rtm.tasks.addTags", "rtm.tasks.complete", "rtm.tasks.delete", "rtm.tasks.getList", "rtm.tasks.movePriority",
+				"rtm.tasks.moveTo", "rtm.tasks.notes.add", "rtm.tasks.notes.delete", "rtm.tasks.notes.edit", 
+				"rtm.tasks.postpone", "rtm.tasks.removeTags", "rtm.tasks.setDueDate", "rtm.tasks.setEstimate",
+				"rtm.tasks.setLocation", "rtm.tasks.setName", "rtm.tasks.setPriority", "rtm.tasks.setRecurrence",
+				"rtm.tasks.setTags", "rtm.tasks.setURL", "rtm.tasks.uncomplete", "rtm.test.echo", "rtm.test.login",
+				"rtm.time.convert", "rtm.time.parse", "rtm.timelines.create", "rtm.timezones.getList", "rtm.transactions.undo"));
+	
+	private final String userId;
+	private final String username;
+	private final String fullname;
+	private final Map<String,ListEntry> lists = new LinkedHashMap<String,ListEntry>();
+	private final Map<String,Serie> series = new LinkedHashMap<String,Serie>();
+	private final Map<String,String[]> contacts = new LinkedHashMap<String,String[]>();
+	private final Map<String,GroupEntry> groups = new LinkedHashMap<String,GroupEntry>();
+	private final Set<String> timelines = new LinkedHashSet<String>();
+	private final Map<String,Runnable> undos = new HashMap<String,Runnable>();
+	private String defaultListId;
+	private long nextId = 1000;
+	private long revision = 0;
+	
+	FakeRtmStore(String userId, String username) {
+		this.userId = userId;
+		this.username = username;
+		this.fullname = username.substring(0, 1).toUpperCase(Locale.US) + username.substring(1);
+		this.defaultListId = this.addList("Inbox", "", true).id;
+		this.addList("Personal", "", false);
+		this.addList("Work", "", false);
+		this.addList("Sent", "", true);
+	}
+	
+	String getUserId() {
+		return this.userId;
+	}
+	
+	synchronized String auth(String token) {
+		return "\"auth\":{\"token\":" + q(token) + ",\"perms\":\"delete\",\"user\":{\"id\":" + q(this.userId) 
+				+ ",\"username\":" + q(this.username) + ",\"fullname\":" + q(this.fullname) + "}}";
+	}
+	
+	/**
+	 * Adds a task with the given name to the default list, without a transaction
+	 * @return the ID of the added taskserie
+	 */
+	synchronized String addTask(String name, String listId) {
+		return this.newSerie(name, listId == null ? this.defaultListId : listId).id;
+	}
+	
+	synchronized String call(String method, Map<String,String> p) throws Failure {
+		if (!SUPPORTED_METHODS.contains(method)) throw new Failure(112, "Method \"" + method + "\" not found");
+		if (method.equals("rtm.test.login")) return "\"user\":{\"id\":" + q(this.userId) + ",\"username\":" + q(this.username) + "}";
+		if (method.equals("rtm.timelines.create")) {
+			String timeline = this.newId();
+			this.timelines.add(timeline);
+			return "\"timeline\":" + q(timeline);
+		}
+		if (method.equals("rtm.transactions.undo")) {
+			this.timeline(p);
+			Runnable undo = this.undos.remove(p.get("transaction_id"));
+			if (undo == null) throw new Failure(320, "transaction_id invalid or not provided");
+			undo.run();
+			this.revision++;
+			return "";
+		}
+		if (method.equals("rtm.settings.getList")) {
+			return "\"settings\":{\"timezone\":\"Europe/Rome\",\"dateformat\":\"0\",\"timeformat\":\"0\",\"defaultlist\":" 
+				+ q(this.defaultListId) + ",\"language\":\"en-US\"}";
+		}
+		if (method.equals("rtm.locations.getList")) {
+			return "\"locations\":{\"location\":[{\"id\":\"1\",\"name\":\"Home\",\"longitude\":\"12.4964\",\"latitude\":\"41.9028\","
+				+ "\"zoom\":\"12\",\"address\":\"Rome, Italy\",\"viewable\":\"1\"}]}";
+		}
+		if (method.equals("rtm.timezones.getList")) {
+			return "\"timezones\":{\"timezone\":[" 
+				+ "{\"id\":\"1\",\"name\":\"Europe/Rome\",\"dst\":\"0\",\"offset\":\"3600\",\"current_offset\":\"3600\"},"
+				+ "{\"id\":\"2\",\"name\":\"Europe/London\",\"dst\":\"0\",\"offset\":\"0\",\"current_offset\":\"0\"},"
+				+ "{\"id\":\"3\",\"name\":\"America/New_York\",\"dst\":\"0\",\"offset\":\"-18000\",\"current_offset\":\"-18000\"}]}";
+		}
+		if (method.startsWith("rtm.lists.")) return this.lists(method, p);
+		if (method.startsWith("rtm.contacts.")) return this.contacts(method, p);
+		if (method.startsWith("rtm.groups.")) return this.groups(method, p);
+		if (method.equals("rtm.tasks.getList")) return this.getTasks(p);
+		if (method.startsWith("rtm.tasks.notes.")) return this.notes(method, p);
+		return this.tasks(method, p);
+	}
+	
+	// lists
+	
+	private ListEntry addList(String name, String filter, boolean locked) {
+		ListEntry list = new ListEntry();
+		list.id = this.newId();
+		list.name = name;
+		list.filter = filter == null ? "" : filter;
+		list.locked = locked;
+		list.position = locked ? -1 : 0;
+		this.lists.put(list.id, list);
+		return list;
+	}
+	
+	private String lists(String method, Map<String,String> p) throws Failure {
+		if (method.equals("rtm.lists.getList")) {
+			StringBuilder sb = new StringBuilder("\"lists\":{\"list\":[");
+			boolean first = true;
+			for (ListEntry list : this.lists.values()) {
+				if (!first) sb.append(',');
+				appendList(sb, list);
+				first = false;
+			}
+			return sb.append("]}").toString();
+		}
+		String timeline = this.timeline(p);
+		if (method.equals("rtm.lists.add")) {
+			String name = required(p, "name");
+			final ListEntry list = this.addList(name, p.get("filter"), false);
+			String transaction = this.transaction(new Runnable() {
+				public void run() {
+					list.deleted = true;
+				}
+			});
+			return transaction + "," + listJson(list);
+		}
+		final ListEntry list = this.lists.get(p.get("list_id"));
+		if (list == null || list.deleted) throw new Failure(320, "list_id invalid or not provided");
+		if (method.equals("rtm.lists.setDefaultList")) {
+			this.defaultListId = list.id;
+			return "";
+		}
+		if (list.locked) throw new Failure(3000, "List is locked");
+		final ListEntry saved = list.copy();
+		String transaction = this.transaction(new Runnable() {
+			public void run() {
+				lists.put(saved.id, saved);
+			}
+		});
+		if (method.equals("rtm.lists.delete")) list.deleted = true;
+		else if (method.equals("rtm.lists.archive")) list.archived = true;
+		else if (method.equals("rtm.lists.unarchive")) list.archived = false;
+		else list.name = required(p, "name");
+		return transaction + "," + listJson(list);
+	}
+	
+	private static String listJson(ListEntry list) {
+		StringBuilder sb = new StringBuilder("\"list\":");
+		appendList(sb, list);
+		return sb.toString();
+	}
+	
+	private static void appendList(StringBuilder sb, ListEntry list) {
+		sb.append("{\"id\":").append(q(list.id)).append(",\"name\":").append(q(list.name))
+			.append(",\"deleted\":").append(bit(list.deleted)).append(",\"locked\":").append(bit(list.locked))
+			.append(",\"archived\":").append(bit(list.archived)).append(",\"position\":").append(q("" + list.position))
+			.append(",\"smart\":").append(bit(list.filter.length() > 0)).append(",\"sort_order\":\"0\"");
+		if (list.filter.length() > 0) sb.append(",\"filter\":").append(q(list.filter));
+		sb.append('}');
+	}
+	
+	// contacts and groups
+	
+	private String contacts(String method, Map<String,String> p) throws Failure {
+		if (method.equals("rtm.contacts.getList")) {
+			StringBuilder sb = new StringBuilder("\"contacts\":{\"contact\":[");
+			boolean first = true;
+			for (Map.Entry<String,String[]> contact : this.contacts.entrySet()) {
+				if (!first) sb.append(',');
+				sb.append(contactJson(contact.getKey(), contact.getValue()));
+				first = false;
+			}
+			return sb.append("]}").toString();
+		}
+		this.timeline(p);
+		if (method.equals("rtm.contacts.add")) {
+			String name = required(p, "contact");
+			String id = this.newId();
+			String[] contact = {name, name.substring(0, 1).toUpperCase(Locale.US) + name.substring(1)};
+			this.contacts.put(id, contact);
+			return this.notUndoable() + ",\"contact\":" + contactJson(id, contact);
+		}
+		else {
+			if (this.contacts.remove(p.get("contact_id")) == null) throw new Failure(1000, "contact_id invalid or not provided");
+			for (GroupEntry group : this.groups.values()) {
+				group.contactIds.remove(p.get("contact_id"));
+			}
+			return this.notUndoable();
+		}
+	}
+	
+	private static String contactJson(String id, String[] contact) {
+		return "{\"id\":" + q(id) + ",\"fullname\":" + q(contact[1]) + ",\"username\":" + q(contact[0]) + "}";
+	}
+	
+	private String groups(String method, Map<String,String> p) throws Failure {
+		if (method.equals("rtm.groups.getList")) {
+			StringBuilder sb = new StringBuilder("\"groups\":{\"group\":[");
+			boolean first = true;
+			for (GroupEntry group : this.groups.values()) {
+				if (!first) sb.append(',');
+				sb.append(groupJson(group));
+				first = false;
+			}
+			return sb.append("]}").toString();
+		}
+		this.timeline(p);
+		if (method.equals("rtm.groups.add")) {
+			GroupEntry group = new GroupEntry();
+			group.id = this.newId();
+			group.name = required(p, "group");
+			this.groups.put(group.id, group);
+			return this.notUndoable() + ",\"group\":" + groupJson(group);
+		}
+		GroupEntry group = this.groups.get(p.get("group_id"));
+		if (group == null) throw new Failure(1010, "group_id invalid or not provided");
+		if (method.equals("rtm.groups.delete")) this.groups.remove(group.id);
+		else if (method.equals("rtm.groups.addContact")) {
+			if (!this.contacts.containsKey(p.get("contact_id"))) throw new Failure(1000, "contact_id invalid or not provided");
+			group.contactIds.add(p.get("contact_id"));
+		}
+		else if (!group.contactIds.remove(p.get("contact_id"))) throw new Failure(1000, "contact_id invalid or not provided");
+		return this.notUndoable();
+	}
+	
+	private static String groupJson(GroupEntry group) {
+		StringBuilder sb = new StringBuilder("{\"id\":").append(q(group.id)).append(",\"name\":").append(q(group.name));
+		if (group.contactIds.isEmpty()) return sb.append(",\"contacts\":[]}").toString();
+		sb.append(",\"contacts\":{\"contact\":[");
+		boolean first = true;
+		for (String id : group.contactIds) {
+			if (!first) sb.append(',');
+			sb.append("{\"id\":").append(q(id)).append('}');
+			first = false;
+		}
+		return sb.append("]}}").toString();
+	}
+	
+	// tasks
+	
+	private Serie newSerie(String name, String listId) {
+		Serie serie = new Serie();
+		serie.id = this.newId();
+		serie.taskId = this.newId();
+		serie.listId = listId;
+		serie.name = name;
+		serie.created = serie.modified = serie.added = now();
+		this.series.put(serie.id, serie);
+		this.revision++;
+		return serie;
+	}
+	
+	private String getTasks(Map<String,String> p) throws Failure {
+		Date lastSync = null;
+		if (p.containsKey("last_sync")) {
+			try {
+				lastSync = DateParser.parseDate(p.get("last_sync"));
+			} catch (ParsingException e) {
+				throw new Failure(4000, "Invalid last_sync");
+			}
+		}
+		String filter = p.get("filter");
+		List<ListEntry> selected = new ArrayList<ListEntry>();
+		if (p.containsKey("list_id")) {
+			ListEntry list = this.lists.get(p.get("list_id"));
+			if (list == null) throw new Failure(320, "list_id invalid or not provided");
+			selected.add(list);
+		}
+		else {
+			for (ListEntry list : this.lists.values()) {
+				if (list.filter.length() == 0) selected.add(list);
+			}
+		}
+		StringBuilder sb = new StringBuilder("\"tasks\":{\"rev\":").append(q("r" + this.revision));
+		boolean firstList = true;
+		String current = DateParser.toISO8601(now());
+		for (ListEntry list : selected) {
+			List<Serie> regular = new ArrayList<Serie>();
+			List<Serie> deleted = new ArrayList<Serie>();
+			for (Serie serie : this.series.values()) {
+				if (list.filter.length() == 0 ? !serie.listId.equals(list.id) : !this.matches(serie, list.filter)) continue;
+				if (filter != null && !this.matches(serie, filter)) continue;
+				if (lastSync != null && serie.modified.before(lastSync)) continue;
+				if (serie.deleted == null) regular.add(serie);
+				else if (lastSync != null) deleted.add(serie);
+			}
+			if (regular.isEmpty() && deleted.isEmpty()) continue;
+			sb.append(firstList ? ",\"list\":[" : ",");
+			firstList = false;
+			String id = list.filter.length() == 0 || regular.isEmpty() ? list.id : regular.get(0).listId;
+			sb.append("{\"id\":").append(q(id));
+			if (lastSync != null) sb.append(",\"current\":").append(q(current));
+			sb.append(",\"taskseries\":[");
+			for (int i = 0; i < regular.size(); i++) {
+				if (i > 0) sb.append(',');
+				appendSerie(sb, regular.get(i));
+			}
+			sb.append(']');
+			if (!deleted.isEmpty()) {
+				sb.append(",\"deleted\":[");
+				for (int i = 0; i < deleted.size(); i++) {
+					Serie serie = deleted.get(i);
+					if (i > 0) sb.append(',');
+					sb.append("{\"taskseries\":{\"id\":").append(q(serie.id)).append(",\"task\":{\"id\":")
+						.append(q(serie.taskId)).append(",\"deleted\":").append(q(date(serie.deleted))).append("}}}");
+				}
+				sb.append(']');
+			}
+			sb.append('}');
+		}
+		if (!firstList) sb.append(']');
+		return sb.append('}').toString();
+	}
+	
+	/**
+	 * Evaluates a subset of the RTM search syntax: terms joined by AND (or spaces) among status:, list:, tag:, 
+	 * priority:, name:, isTagged: and isRepeating:. Other terms are ignored.
+	 */
+	private boolean matches(Serie serie, String filter) {
+		for (String term : filter.split("\\s+(?i:and\\s+)?")) {
+			int colon = term.indexOf(':');
+			if (colon < 0) continue;
+			String key = term.substring(0, colon).toLowerCase(Locale.US);
+			String value = term.substring(colon + 1).replace("\"", "");
+			boolean match = true;
+			if (key.equals("status")) match = value.equalsIgnoreCase("completed") == (serie.completed != null);
+			else if (key.equals("list")) {
+				ListEntry list = this.lists.get(serie.listId);
+				match = list != null && list.name.equalsIgnoreCase(value);
+			}
+			else if (key.equals("tag")) match = serie.tags.contains(value);
+			else if (key.equals("priority")) match = serie.priority.equalsIgnoreCase(value.equalsIgnoreCase("none") ? "N" : value);
+			else if (key.equals("name")) match = serie.name.toLowerCase(Locale.US).contains(value.toLowerCase(Locale.US));
+			else if (key.equals("istagged")) match = value.equalsIgnoreCase("true") == !serie.tags.isEmpty();
+			else if (key.equals("isrepeating")) match = value.equalsIgnoreCase("true") == (serie.rrule.length() > 0);
+			if (!match) return false;
+		}
+		return true;
+	}
+	
+	private String tasks(String method, Map<String,String> p) throws Failure {
+		this.timeline(p);
+		if (method.equals("rtm.tasks.add")) {
+			String listId = p.containsKey("list_id") ? p.get("list_id") : this.defaultListId;
+			ListEntry list = this.lists.get(listId);
+			if (list == null || list.deleted || list.filter.length() > 0) throw new Failure(320, "list_id invalid or not provided");
+			final Serie serie = this.newSerie(required(p, "name"), listId);
+			if ("1".equals(p.get("parse"))) smartAdd(serie);
+			String transaction = this.transaction(new Runnable() {
+				public void run() {
+					serie.deleted = serie.modified = now();
+				}
+			});
+			return transaction + "," + this.modified(serie);
+		}
+		String listId = method.equals("rtm.tasks.moveTo") ? p.get("from_list_id") : p.get("list_id");
+		Serie serie = this.series.get(p.get("taskseries_id"));
+		if (serie == null || serie.deleted != null || !serie.listId.equals(listId) || !serie.taskId.equals(p.get("task_id"))) {
+			throw new Failure(340, "list_id/taskseries_id/task_id invalid or not provided");
+		}
+		final Serie saved = serie.copy();
+		String transaction = this.transaction(new Runnable() {
+			public void run() {
+				saved.modified = now();
+				series.put(saved.id, saved);
+			}
+		});
+		if (method.equals("rtm.tasks.complete")) serie.completed = now();
+		else if (method.equals("rtm.tasks.uncomplete")) serie.completed = null;
+		else if (method.equals("rtm.tasks.delete")) serie.deleted = now();
+		else if (method.equals("rtm.tasks.setName")) serie.name = required(p, "name");
+		else if (method.equals("rtm.tasks.setPriority")) {
+			String priority = p.get("priority");
+			serie.priority = priority == null || !priority.matches("[123]") ? "N" : priority;
+		}
+		else if (method.equals("rtm.tasks.movePriority")) {
+			int level = serie.priority.equals("N") ? 4 : Integer.parseInt(serie.priority);
+			level = "up".equals(p.get("direction")) ? Math.max(1, level - 1) : Math.min(4, level + 1);
+			serie.priority = level == 4 ? "N" : String.valueOf(level);
+		}
+		else if (method.equals("rtm.tasks.setDueDate")) {
+			String due = p.get("due");
+			try {
+				serie.due = due == null ? null : DateParser.parseDate(due);
+			} catch (ParsingException e) {
+				throw new Failure(360, "Invalid due date");
+			}
+			serie.hasDueTime = "1".equals(p.get("has_due_time"));
+		}
+		else if (method.equals("rtm.tasks.postpone")) {
+			serie.postponed++;
+			serie.due = new Date((serie.due == null ? now() : serie.due).getTime() + 24L * 3600 * 1000);
+		}
+		else if (method.equals("rtm.tasks.setEstimate")) serie.estimate = p.containsKey("estimate") ? p.get("estimate") : "";
+		else if (method.equals("rtm.tasks.setURL")) serie.url = p.containsKey("url") ? p.get("url") : "";
+		else if (method.equals("rtm.tasks.setLocation")) serie.locationId = p.containsKey("location_id") ? p.get("location_id") : "";
+		else if (method.equals("rtm.tasks.setRecurrence")) setRecurrence(serie, p.get("repeat"));
+		else if (method.equals("rtm.tasks.setTags")) serie.tags = tags(p.get("tags"));
+		else if (method.equals("rtm.tasks.addTags")) {
+			for (String tag : tags(p.get("tags"))) {
+				if (!serie.tags.contains(tag)) serie.tags.add(tag);
+			}
+		}
+		else if (method.equals("rtm.tasks.removeTags")) serie.tags.removeAll(tags(p.get("tags")));
+		else {
+			ListEntry to = this.lists.get(p.get("to_list_id"));
+			if (to == null || to.deleted || to.filter.length() > 0) throw new Failure(320, "list_id invalid or not provided");
+			serie.listId = to.id;
+		}
+		serie.modified = now();
+		this.revision++;
+		return transaction + "," + this.modified(serie);
+	}
+	
+	private String notes(String method, Map<String,String> p) throws Failure {
+		this.timeline(p);
+		if (method.equals("rtm.tasks.notes.add")) {
+			Serie serie = this.series.get(p.get("taskseries_id"));
+			if (serie == null || serie.deleted != null || !serie.listId.equals(p.get("list_id")) || !serie.taskId.equals(p.get("task_id"))) {
+				throw new Failure(340, "list_id/taskseries_id/task_id invalid or not provided");
+			}
+			final Serie saved = serie.copy();
+			String transaction = this.transaction(new Runnable() {
+				public void run() {
+					series.put(saved.id, saved);
+				}
+			});
+			NoteEntry note = new NoteEntry();
+			note.id = this.newId();
+			note.title = p.containsKey("note_title") ? p.get("note_title") : "";
+			note.text = p.containsKey("note_text") ? p.get("note_text") : "";
+			note.created = note.modified = now();
+			serie.notes.add(note);
+			serie.modified = note.modified;
+			this.revision++;
+			return transaction + ",\"note\":" + noteJson(note);
+		}
+		String noteId = p.get("note_id");
+		for (final Serie serie : this.series.values()) {
+			for (int i = 0; i < serie.notes.size(); i++) {
+				NoteEntry note = serie.notes.get(i);
+				if (!note.id.equals(noteId)) continue;
+				final Serie saved = serie.copy();
+				String transaction = this.transaction(new Runnable() {
+					public void run() {
+						series.put(saved.id, saved);
+					}
+				});
+				serie.modified = now();
+				this.revision++;
+				if (method.equals("rtm.tasks.notes.delete")) {
+					serie.notes.remove(i);
+					return transaction;
+				}
+				NoteEntry edited = new NoteEntry();
+				edited.id = note.id;
+				edited.created = note.created;
+				edited.modified = serie.modified;
+				edited.title = p.containsKey("note_title") ? p.get("note_title") : "";
+				edited.text = p.containsKey("note_text") ? p.get("note_text") : "";
+				serie.notes.set(i, edited);
+				return transaction + ",\"note\":" + noteJson(edited);
+			}
+		}
+		throw new Failure(2000, "note_id invalid or not provided");
+	}
+	
+	private static void smartAdd(Serie serie) {
+		StringBuilder name = new StringBuilder();
+		for (String word : serie.name.split(" ")) {
+			if (word.startsWith("#") && word.length() > 1) serie.tags.add(word.substring(1));
+			else if (word.matches("![123]")) serie.priority = word.substring(1);
+			else if (word.startsWith("=") && word.length() > 1) serie.estimate = word.substring(1);
+			else name.append(name.length() > 0 ? " " : "").append(word);
+		}
+		serie.name = name.toString();
+	}
+	
+	private static void setRecurrence(Serie serie, String repeat) {
+		if (repeat == null || repeat.trim().length() == 0) {
+			serie.rrule = "";
+			return;
+		}
+		String text = repeat.trim().toLowerCase(Locale.US);
+		serie.every = !text.startsWith("after");
+		if (text.startsWith("freq=")) {
+			serie.rrule = repeat.trim().toUpperCase(Locale.US);
+			return;
+		}
+		String freq = "DAILY";
+		if (text.contains("week")) freq = "WEEKLY";
+		else if (text.contains("month")) freq = "MONTHLY";
+		else if (text.contains("year")) freq = "YEARLY";
+		int interval = 1;
+		for (String word : text.split(" ")) {
+			if (word.matches("\\d+")) interval = Integer.parseInt(word);
+		}
+		serie.rrule = "FREQ=" + freq + ";INTERVAL=" + interval;
+	}
+	
+	private static List<String> tags(String tags) {
+		List<String> list = new ArrayList<String>();
+		if (tags == null) return list;
+		for (String tag : tags.split(",")) {
+			String trimmed = tag.trim().toLowerCase(Locale.US);
+			if (trimmed.length() > 0 && !list.contains(trimmed)) list.add(trimmed);
+		}
+		return list;
+	}
+	
+	private String modified(Serie serie) {
+		StringBuilder sb = new StringBuilder("\"list\":{\"id\":").append(q(serie.listId)).append(",\"taskseries\":[");
+		appendSerie(sb, serie);
+		return sb.append("]}").toString();
+	}
+	
+	private static void appendSerie(StringBuilder sb, Serie serie) {
+		sb.append("{\"id\":").append(q(serie.id)).append(",\"created\":").append(q(date(serie.created)))
+			.append(",\"modified\":").append(q(date(serie.modified))).append(",\"name\":").append(q(serie.name))
+			.append(",\"source\":").append(q(serie.source)).append(",\"url\":").append(q(serie.url))
+			.append(",\"location_id\":").append(q(serie.locationId));
+		if (serie.rrule.length() > 0) {
+			sb.append(",\"rrule\":{\"every\":").append(bit(serie.every)).append(",\"$t\":").append(q(serie.rrule)).append('}');
+		}
+		if (serie.tags.isEmpty()) sb.append(",\"tags\":[]");
+		else {
+			sb.append(",\"tags\":{\"tag\":[");
+			for (int i = 0; i < serie.tags.size(); i++) {
+				if (i > 0) sb.append(',');
+				sb.append(q(serie.tags.get(i)));
+			}
+			sb.append("]}");
+		}
+		sb.append(",\"participants\":[]");
+		if (serie.notes.isEmpty()) sb.append(",\"notes\":[]");
+		else {
+			sb.append(",\"notes\":{\"note\":[");
+			for (int i = 0; i < serie.notes.size(); i++) {
+				if (i > 0) sb.append(',');
+				sb.append(noteJson(serie.notes.get(i)));
+			}
+			sb.append("]}");
+		}
+		sb.append(",\"task\":[{\"id\":").append(q(serie.taskId)).append(",\"due\":").append(q(date(serie.due)))
+			.append(",\"has_due_time\":").append(bit(serie.hasDueTime)).append(",\"added\":").append(q(date(serie.added)))
+			.append(",\"completed\":").append(q(date(serie.completed))).append(",\"deleted\":").append(q(date(serie.deleted)))
+			.append(",\"priority\":").append(q(serie.priority)).append(",\"postponed\":").append(q("" + serie.postponed))
+			.append(",\"estimate\":").append(q(serie.estimate)).append("}]}");
+	}
+	
+	private static String noteJson(NoteEntry note) {
+		return "{\"id\":" + q(note.id) + ",\"created\":" + q(date(note.created)) + ",\"modified\":" + q(date(note.modified))
+				+ ",\"title\":" + q(note.title) + ",\"$t\":" + q(note.text) + "}";
+	}
+	
+	// utilities
+	
+	private String timeline(Map<String,String> p) throws Failure {
+		String timeline = p.get("timeline");
+		if (timeline == null || !this.timelines.contains(timeline)) throw new Failure(300, "Timeline invalid or not provided");
+		return timeline;
+	}
+	
+	private String transaction(Runnable undo) {
+		String id = this.newId();
+		this.undos.put(id, undo);
+		return "\"transaction\":{\"id\":" + q(id) + ",\"undoable\":\"1\"}";
+	}
+	
+	private String notUndoable() {
+		return "\"transaction\":{\"id\":" + q(this.newId()) + ",\"undoable\":\"0\"}";
+	}
+	
+	private String newId() {
+		return String.valueOf(this.nextId++);
+	}
+	
+	private static String required(Map<String,String> p, String name) throws Failure {
+		String value = p.get(name);
+		if (value == null || value.length() == 0) throw new Failure(4000, "Missing parameter: " + name);
+		return value;
+	}
+	
+	private static Date now() {
+		//the protocol has a precision of seconds
+		return new Date(System.currentTimeMillis() / 1000 * 1000);
+	}
+	
+	private static String date(Date date) {
+		return date == null ? "" : DateParser.toISO8601(date);
+	}
+	
+	private static String bit(boolean value) {
+		return value ? "\"1\"" : "\"0\"";
+	}
+	
+	static String q(String value) {
+		return JSONObject.quote(value);
+	}
+
+}
@@ -0,0 +1,135 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+
+/**
+ * Responses used by the benchmarks. Synthetic responses have the same shape as the ones of
+ * rtm.tasks.getList and are always the same for the same size; recorded responses (e.g. bodies saved from a
+ * real account) can be loaded from files.
+ */
+class Fixtures {
+	
+	private static final String[] TAGS = {"home", "work", "errand", "phone", "email", "reading", "urgent", 
+		"someday", "waiting", "project-alpha", "project-beta", "garden", "car", "health", "finance"};
+	private static final String[] ESTIMATES = {"", "", "10 min", "1 hour", "2 hours 30 minutes", "1 day"};
+	private static final String[] RULES = {"FREQ=DAILY;INTERVAL=1", "FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,WE,FR", 
+		"FREQ=MONTHLY;INTERVAL=1;BYMONTHDAY=15", "FREQ=WEEKLY;INTERVAL=2;BYDAY=SA;UNTIL=20151231T000000"};
+	private static final int SERIES_PER_LIST = 500;
+	
+	private Fixtures() {}
+	
+	/**
+	 * Builds a tasks.getList response
+	 * @param tasks the number of tasks
+	 * @return the body of the response
+	 */
+	static String tasksGetList(int tasks) {
+		Random random = new Random(tasks);
+		StringBuilder sb = new StringBuilder(tasks * 700);
+		sb.append("{\"rsp\":{\"stat\":\"ok\",\"tasks\":{\"rev\":\"bench\",\"list\":[");
+		int lists = Math.max(1, (tasks + SERIES_PER_LIST - 1) / SERIES_PER_LIST);
+		int serie = 0;
+		for (int l = 0; l < lists; l++) {
+			if (l > 0) sb.append(',');
+			sb.append("{\"id\":\"").append(1000 + l).append("\",\"taskseries\":[");
+			int last = Math.min(tasks, serie + SERIES_PER_LIST);
+			for (boolean first = true; serie < last; serie++, first = false) {
+				if (!first) sb.append(',');
+				appendSerie(sb, serie, random);
+			}
+			sb.append("]}");
+		}
+		sb.append("]}}}");
+		return sb.toString();
+	}
+	
+	private static void appendSerie(StringBuilder sb, int index, Random random) {
+		String created = date(random);
+		sb.append("{\"id\":\"").append(200000 + index).append('"');
+		field(sb, "created", created);
+		field(sb, "modified", date(random));
+		field(sb, "name", "Task number " + index + " with a reasonably long name");
+		field(sb, "source", index % 3 == 0 ? "android" : "js");
+		field(sb, "url", index % 7 == 0 ? "http://www.example.com/" + index : "");
+		field(sb, "location_id", "");
+		if (index % 20 == 0) {
+			sb.append(",\"rrule\":{\"every\":\"").append(index % 40 == 0 ? 1 : 0).append("\",\"$t\":\"")
+				.append(RULES[random.nextInt(RULES.length)]).append("\"}");
+		}
+		int tags = random.nextInt(4);
+		if (tags == 0) sb.append(",\"tags\":[]");
+		else {
+			sb.append(",\"tags\":{\"tag\":[");
+			for (int t = 0; t < tags; t++) {
+				if (t > 0) sb.append(',');
+				sb.append('"').append(TAGS[random.nextInt(TAGS.length)]).append('"');
+			}
+			sb.append("]}");
+		}
+		sb.append(",\"participants\":[]");
+		if (index % 10 == 0) {
+			sb.append(",\"notes\":{\"note\":[{\"id\":\"").append(50000 + index).append('"');
+			field(sb, "created", created);
+			field(sb, "modified", created);
+			field(sb, "title", "Note");
+			field(sb, "$t", "Some text of the note of task " + index);
+			sb.append("}]}");
+		}
+		else sb.append(",\"notes\":[]");
+		sb.append(",\"task\":{\"id\":\"").append(300000 + index).append('"');
+		field(sb, "due", random.nextBoolean() ? date(random) : "");
+		field(sb, "has_due_time", random.nextBoolean() ? "1" : "0");
+		field(sb, "added", created);
+		field(sb, "completed", index % 4 == 0 ? date(random) : "");
+		field(sb, "deleted", "");
+		field(sb, "priority", random.nextBoolean() ? "N" : String.valueOf(1 + random.nextInt(3)));
+		field(sb, "postponed", String.valueOf(random.nextInt(3)));
+		field(sb, "estimate", ESTIMATES[random.nextInt(ESTIMATES.length)]);
+		sb.append("}}");
+	}
+	
+	private static void field(StringBuilder sb, String name, String value) {
+		sb.append(",\"").append(name).append("\":\"").append(value).append('"');
+	}
+	
+	private static String date(Random random) {
+		return String.format("20%02d-%02d-%02dT%02d:%02d:%02dZ", 10 + random.nextInt(5), 1 + random.nextInt(12), 
+				1 + random.nextInt(28), random.nextInt(24), random.nextInt(60), random.nextInt(60));
+	}
+	
+	/**
+	 * Loads a recorded response
+	 * @param file the file holding the body of the response
+	 * @return the body of the response
+	 * @throws IOException if the file cannot be read
+	 */
+	static String load(File file) throws IOException {
+		InputStream in = new FileInputStream(file);
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream((int) file.length());
+			byte[] buffer = new byte[8192];
+			for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+				out.write(buffer, 0, read);
+			}
+			return out.toString("UTF-8");
+		} finally {
+			in.close();
+		}
+	}
+
+}
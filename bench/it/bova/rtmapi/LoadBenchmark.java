@@ -0,0 +1,107 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test of the client against a {@link FakeRtmServer}: many threads, each one acting as a different user,
+ * read and change tasks for a fixed time. Prints throughput, per-method latencies and how many connections
+ * the pool opened.
+ * <p>
+ * Usage: <code>java -cp bin:lib/* it.bova.rtmapi.LoadBenchmark</code><br>
+ * System properties: <code>load.threads</code> (default 32), <code>load.seconds</code> (default 10), 
+ * <code>load.connections</code> (pool size, default 20), <code>load.latency</code> (server latency in 
+ * milliseconds, default 5), <code>load.unavailable</code> (fraction of HTTP 503, default 0.01),
+ * <code>load.retries</code> (default 3), <code>load.transport</code> (<code>apache</code>, default, 
+ * or <code>urlconnection</code>), <code>load.hostlimit</code> (requests at once per host with
+ * {@link HostLimitedTransport}, default 0 for no limit).
+ */
+public class LoadBenchmark {
+	
+	private LoadBenchmark() {}
+
+	public static void main(String[] args) throws Exception {
+		int threads = Integer.getInteger("load.threads", 32);
+		int seconds = Integer.getInteger("load.seconds", 10);
+		int connections = Integer.getInteger("load.connections", RtmClient.DEFAULT_MAX_CONNECTIONS);
+		long latency = Long.getLong("load.latency", 5);
+		double unavailable = Double.parseDouble(System.getProperty("load.unavailable", "0.01"));
+		int retries = Integer.getInteger("load.retries", 3);
+		String transportName = System.getProperty("load.transport", "apache");
+		int hostLimit = Integer.getInteger("load.hostlimit", 0);
+		
+		final FakeRtmServer server = new FakeRtmServer("loadKey", "loadSecret");
+		server.setLatency(latency, latency * 2);
+		server.setUnavailableRate(unavailable);
+		List<String> tokens = new ArrayList<String>();
+		for (int i = 0; i < threads; i++) {
+			String token = server.addUser("user" + i);
+			server.addTasks(token, 50);
+			tokens.add(token);
+		}
+		server.start();
+		Transport transport;
+		if (transportName.equals("urlconnection")) {
+			System.setProperty("http.maxConnections", String.valueOf(connections));
+			transport = new UrlConnectionTransport();
+		}
+		else transport = new ApacheTransport(connections);
+		if (hostLimit > 0) transport = new HostLimitedTransport(transport, hostLimit);
+		RtmClient client = new RtmClient("loadKey", "loadSecret", null, transport, server.getRestUrl());
+		client.setMaxRetries(retries);
+		RtmMetrics metrics = new RtmMetrics();
+		client.addMetricsCollector(metrics);
+		
+		final long end = System.currentTimeMillis() + seconds * 1000L;
+		final AtomicLong calls = new AtomicLong();
+		final AtomicLong failures = new AtomicLong();
+		final CountDownLatch done = new CountDownLatch(threads);
+		for (final String token : tokens) {
+			final RtmApi api = new RtmApi(client, token);
+			new Thread(new Runnable() {
+				public void run() {
+					try {
+						String timeline = api.timelinesCreate();
+						while (System.currentTimeMillis() < end) {
+							try {
+								List<Task> tasks = api.tasksGetByFilter("status:incomplete");
+								Task task = tasks.get((int) (calls.get() % tasks.size()));
+								api.tasksSetPriority(timeline, task, Priority.HIGH);
+								api.listsGetList();
+								calls.addAndGet(3);
+							} catch (Exception e) {
+								failures.incrementAndGet();
+							}
+						}
+					} catch (Exception e) {
+						failures.incrementAndGet();
+					} finally {
+						done.countDown();
+					}
+				}
+			}, "load-" + token).start();
+		}
+		done.await();
+		System.out.println(String.format(Locale.US, "%d threads, %d s: %d calls (%.1f calls/s), %d failures, " 
+				+ "%d server requests, %d connections opened (pool size %d), max %d concurrent requests", 
+				threads, seconds, calls.get(), calls.get() / (double) seconds, failures.get(), server.getRequestCount(), 
+				server.getConnectionCount(), connections, server.getMaxConcurrency()));
+		System.out.println(metrics);
+		client.shutdown();
+		server.stop();
+	}
+
+}
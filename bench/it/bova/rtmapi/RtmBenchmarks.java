@@ -0,0 +1,253 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmarks of every stage of a call, from request building to model conversion, run offline on 
+ * synthetic responses of 10, 1000 and 50000 tasks, and on recorded responses given as arguments.
+ * Whole calls are measured replaying responses recorded from a {@link FakeRtmServer}.
+ * <p>
+ * Usage: <code>java -cp bin:lib/* it.bova.rtmapi.RtmBenchmarks [response.json ...]</code><br>
+ * System properties: <code>bench.sizes</code> (comma separated, default 10,1000,50000), 
+ * <code>bench.warmup</code> and <code>bench.time</code> (milliseconds per benchmark, default 2000 and 5000).
+ */
+public class RtmBenchmarks {
+	
+	private RtmBenchmarks() {}
+
+	public static void main(String[] args) throws Exception {
+		long warmup = Long.getLong("bench.warmup", 2000);
+		long time = Long.getLong("bench.time", 5000);
+		String sizes = System.getProperty("bench.sizes", "10,1000,50000");
+		BenchmarkRunner runner = new BenchmarkRunner(warmup, time);
+		BenchmarkRunner.printHeader();
+		
+		for (BenchmarkRunner.Benchmark benchmark : requestBenchmarks()) {
+			runner.run(benchmark);
+		}
+		Map<String,String> fixtures = new LinkedHashMap<String,String>();
+		for (String size : sizes.split(",")) {
+			if (size.trim().length() > 0) fixtures.put(size.trim() + " tasks", Fixtures.tasksGetList(Integer.parseInt(size.trim())));
+		}
+		for (String file : args) {
+			fixtures.put(new File(file).getName(), Fixtures.load(new File(file)));
+		}
+		for (Map.Entry<String,String> fixture : fixtures.entrySet()) {
+			for (BenchmarkRunner.Benchmark benchmark : responseBenchmarks(fixture.getKey(), fixture.getValue())) {
+				runner.run(benchmark);
+			}
+		}
+		for (String size : sizes.split(",")) {
+			if (size.trim().length() > 0) runner.run(replayBenchmark(Integer.parseInt(size.trim())));
+		}
+	}
+	
+	static List<BenchmarkRunner.Benchmark> requestBenchmarks() throws Exception {
+		List<BenchmarkRunner.Benchmark> benchmarks = new ArrayList<BenchmarkRunner.Benchmark>();
+		final Request request = new Request(Method.TASKS_SET_NAME, "0123456789abcdef0123456789abcdef");
+		fillParameters(request);
+		final AuthenticatedRequest signed = new AuthenticatedRequest(Method.TASKS_SET_NAME, 
+				"0123456789abcdef0123456789abcdef", "fedcba9876543210", "fedcba9876543210fedcba9876543210fedcba98");
+		fillParameters(signed);
+		final String signature = "fedcba9876543210api_key0123456789abcdef0123456789abcdefauth_tokenfedcba9876543210"
+				+ "fedcba9876543210fedcba98formatjsonlist_id1234567methodrtm.tasks.setNamenameA new name"
+				+ "taskseries_id7654321task_id9876543timeline1234567890";
+		benchmarks.add(new BenchmarkRunner.Benchmark("Request.getUrl") {
+			Object run() throws Exception {
+				return request.getUrl();
+			}
+		});
+		benchmarks.add(new BenchmarkRunner.Benchmark("AuthenticatedRequest.getUrl (signed)") {
+			Object run() throws Exception {
+				return signed.getUrl();
+			}
+		});
+		benchmarks.add(new BenchmarkRunner.Benchmark("Md5Helper.md5") {
+			Object run() throws Exception {
+				return Md5Helper.md5(signature);
+			}
+		});
+		benchmarks.add(new BenchmarkRunner.Benchmark("DateParser.parseDate") {
+			Object run() throws Exception {
+				return DateParser.parseDate("2014-01-08T10:32:11Z");
+			}
+		});
+		return benchmarks;
+	}
+	
+	private static void fillParameters(Request request) {
+		request.put(RequestParameter.TIMELINE, "1234567890");
+		request.put(RequestParameter.LIST_ID, "1234567");
+		request.put(RequestParameter.TASKSERIES_ID, "7654321");
+		request.put(RequestParameter.TASK_ID, "9876543");
+		request.put(RequestParameter.NAME, "A new name");
+	}
+	
+	static List<BenchmarkRunner.Benchmark> responseBenchmarks(String fixture, final String body) throws Exception {
+		List<BenchmarkRunner.Benchmark> benchmarks = new ArrayList<BenchmarkRunner.Benchmark>();
+		final JSONResponse response = new JSONResponse(body);
+		final List<Task> tasks = response.getTasks();
+		final RtmCodec codec = new RtmCodec();
+		final byte[] encoded = codec.encode(tasks);
+		final byte[] serialized = serialize(tasks);
+		final byte[] bytes = body.getBytes("UTF-8");
+		final BufferPool pool = new BufferPool();
+		benchmarks.add(new BenchmarkRunner.Benchmark("JSONResponse [" + fixture + "]") {
+			Object run() throws Exception {
+				return new JSONResponse(body);
+			}
+		});
+		benchmarks.add(new BenchmarkRunner.Benchmark("JSONResponse via readLine [" + fixture + "]") {
+			Object run() throws Exception {
+				//the former response path: characters, lines, a string of the whole body, then the tree
+				StringBuilder sb = new StringBuilder();
+				BufferedReader r = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(bytes), "UTF-8"));
+				for (String line = r.readLine(); line != null; line = r.readLine()) {
+					sb.append(line);
+				}
+				return new JSONResponse(sb.toString());
+			}
+		});
+		benchmarks.add(new BenchmarkRunner.Benchmark("JSONResponse from bytes, pooled buffer [" + fixture + "]") {
+			Object run() throws Exception {
+				byte[] buffer = pool.acquire();
+				try {
+					return RestClient.JSON_RESPONSE.handle(new ByteArrayInputStream(bytes), buffer);
+				} finally {
+					pool.release(buffer);
+				}
+			}
+		});
+		benchmarks.add(new BenchmarkRunner.Benchmark("JSONResponse.getTasks [" + fixture + "]") {
+			Object run() throws Exception {
+				return response.getTasks();
+			}
+		});
+		benchmarks.add(new BenchmarkRunner.Benchmark("JSONResponse.getTasks lazy [" + fixture + "]") {
+			Object run() throws Exception {
+				return response.getTasks(true);
+			}
+		});
+		benchmarks.add(new BenchmarkRunner.Benchmark("getTasks lazy, names [" + fixture + "]") {
+			Object run() throws Exception {
+				int length = 0;
+				for (Task task : response.getTasks(true)) length += task.getName().length();
+				return length;
+			}
+		});
+		benchmarks.add(new BenchmarkRunner.Benchmark("getTasks lazy, all fields [" + fixture + "]") {
+			Object run() throws Exception {
+				List<Task> tasks = response.getTasks(true);
+				for (Task task : tasks) task.getNotes();
+				return tasks;
+			}
+		});
+		benchmarks.add(new BenchmarkRunner.Benchmark("TaskStreamReader [" + fixture + "]") {
+			Object run() throws Exception {
+				final int[] count = new int[1];
+				new TaskStreamReader(new TaskConsumer() {
+					public boolean accept(Task task) {
+						count[0]++;
+						return true;
+					}
+				}, false).handle(new ByteArrayInputStream(bytes), null);
+				return count;
+			}
+		});
+		benchmarks.add(new BenchmarkRunner.Benchmark("TaskStreamReader projected [" + fixture + "]") {
+			Object run() throws Exception {
+				TaskStreamReader.Collector collector = new TaskStreamReader.Collector();
+				new TaskStreamReader(collector, false, EnumSet.of(TaskField.MODIFIED, TaskField.COMPLETED))
+						.handle(new ByteArrayInputStream(bytes), null);
+				return collector.tasks;
+			}
+		});
+		benchmarks.add(new BenchmarkRunner.Benchmark("RtmCodec.encode [" + fixture + "]") {
+			Object run() throws Exception {
+				return codec.encode(tasks);
+			}
+		});
+		benchmarks.add(new BenchmarkRunner.Benchmark("RtmCodec.decode [" + fixture + "]") {
+			Object run() throws Exception {
+				return codec.decode(encoded);
+			}
+		});
+		benchmarks.add(new BenchmarkRunner.Benchmark("ObjectOutputStream [" + fixture + "]") {
+			Object run() throws Exception {
+				return serialize(tasks);
+			}
+		});
+		benchmarks.add(new BenchmarkRunner.Benchmark("ObjectInputStream [" + fixture + "]") {
+			Object run() throws Exception {
+				return new ObjectInputStream(new ByteArrayInputStream(serialized)).readObject();
+			}
+		});
+		System.out.println("# " + fixture + ": json " + body.length() + " chars, " + tasks.size() 
+				+ " tasks, RtmCodec " + encoded.length + " bytes, ObjectOutputStream " + serialized.length + " bytes");
+		return benchmarks;
+	}
+	
+	/**
+	 * Measures a whole tasks.getList call, served by a {@link ReplayInterceptor} from a response recorded 
+	 * from a {@link FakeRtmServer}
+	 */
+	static BenchmarkRunner.Benchmark replayBenchmark(int tasks) throws Exception {
+		File directory = File.createTempFile("rtm-replay", "");
+		if (!directory.delete() || !directory.mkdir()) throw new IOException("Cannot create " + directory);
+		FakeRtmServer server = new FakeRtmServer("benchKey", "benchSecret");
+		String token = server.addUser("bench");
+		server.addTasks(token, tasks);
+		server.start();
+		String restUrl = server.getRestUrl();
+		RtmClient recorder = new RtmClient("benchKey", "benchSecret", null, 1, restUrl);
+		recorder.addInterceptor(new RecordingInterceptor(directory));
+		new RtmApi(recorder, token).tasksGetList();
+		recorder.shutdown();
+		server.stop();
+		//deleted in reverse order: files first
+		directory.deleteOnExit();
+		for (File file : directory.listFiles()) {
+			file.deleteOnExit();
+		}
+		//nothing listens on the address anymore: every call is served by the player
+		RtmClient client = new RtmClient("benchKey", "benchSecret", null, 1, restUrl);
+		client.addInterceptor(new ReplayInterceptor(directory, false));
+		final RtmApi api = new RtmApi(client, token);
+		return new BenchmarkRunner.Benchmark("RtmApi.tasksGetList replayed [" + tasks + " tasks]") {
+			Object run() throws Exception {
+				return api.tasksGetList();
+			}
+		};
+	}
+	
+	private static byte[] serialize(Object object) throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(object);
+		out.close();
+		return bytes.toByteArray();
+	}
+
+}
@@ -0,0 +1,151 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.URISyntaxException;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.ClientProtocolException;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.params.ConnManagerParams;
+import org.apache.http.conn.params.ConnPerRouteBean;
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.tsccm.ThreadSafeClientConnManager;
+import org.apache.http.params.BasicHttpParams;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * The default {@link Transport}, based on the Apache HttpClient 4 bundled with Android (and in lib folder
+ * for Java), with a pool of persistent connections.
+ * @author Giovanni Pini
+ *
+ */
+public class ApacheTransport implements Transport {
+	
+	private static final int TIMEOUT_MILLIS = 30000;
+	
+	//context attribute holding the request being sent, to mark when the connection is ready
+	private static final String TRANSPORT_REQUEST = "it.bova.rtmapi.request";
+	
+	private final HttpClient httpClient;
+	
+	/**
+	 * Creates a transport with {@link RtmClient#DEFAULT_MAX_CONNECTIONS} connections
+	 */
+	public ApacheTransport() {
+		this(RtmClient.DEFAULT_MAX_CONNECTIONS);
+	}
+	
+	/**
+	 * Creates a transport
+	 * @param maxConnections the maximum number of connections open at once
+	 */
+	public ApacheTransport(int maxConnections) {
+		if (maxConnections < 1) throw new IllegalArgumentException("maxConnections must be at least 1");
+		this.httpClient = createHttpClient(maxConnections);
+	}
+	
+	@SuppressWarnings("deprecation")
+	private static HttpClient createHttpClient(int maxConnections) {
+		//deprecated parameters are used since they are the only ones available on Android
+		HttpParams params = new BasicHttpParams();
+		ConnManagerParams.setMaxTotalConnections(params, maxConnections);
+		ConnManagerParams.setMaxConnectionsPerRoute(params, new ConnPerRouteBean(maxConnections));
+		HttpConnectionParams.setConnectionTimeout(params, TIMEOUT_MILLIS);
+		HttpConnectionParams.setSoTimeout(params, TIMEOUT_MILLIS);
+		HttpConnectionParams.setStaleCheckingEnabled(params, true);
+		SchemeRegistry registry = new SchemeRegistry();
+		registry.register(new Scheme("http", PlainSocketFactory.getSocketFactory(), 80));
+		registry.register(new Scheme("https", SSLSocketFactory.getSocketFactory(), 443));
+		ClientConnectionManager manager = new ThreadSafeClientConnManager(params, registry);
+		DefaultHttpClient client = new DefaultHttpClient(manager, params);
+		//interceptors run once the connection is established, separating connection time from server wait
+		client.addRequestInterceptor(new HttpRequestInterceptor() {
+			public void process(HttpRequest request, HttpContext context) {
+				Object transportRequest = context.getAttribute(TRANSPORT_REQUEST);
+				if (transportRequest != null) ((TransportRequest) transportRequest).markSent();
+			}
+		});
+		return client;
+	}
+
+	public RawResponse send(TransportRequest request) throws RtmApiException, IOException {
+		try {
+			HttpPost httppost = new HttpPost(new URI(request.getUrl()));
+			HttpContext context = new BasicHttpContext();
+			context.setAttribute(TRANSPORT_REQUEST, request);
+			HttpResponse response = this.httpClient.execute(httppost, context);
+			int status = response.getStatusLine().getStatusCode();
+			HttpEntity entity = response.getEntity();
+			if (entity == null) {
+				if (status == HttpStatus.SC_SERVICE_UNAVAILABLE) return new RawResponse(status, new ByteArrayInputStream(new byte[0]), 0);
+				throw new IOException("Empty response from server");
+			}
+			// closing the stream gives back the connection to the pool
+			return new RawResponse(status, new DoneHandlerInputStream(entity.getContent()), entity.getContentLength());
+		} catch (URISyntaxException e) {
+			throw new RtmApiException(e.getMessage());
+		} catch (ClientProtocolException e) {
+			throw new RtmApiException(e.getMessage());
+		} catch (ConnectTimeoutException e) {
+			throw new ConnectFailedException(e);
+		} catch (ConnectException e) {
+			throw new ConnectFailedException(e);
+		}
+	}
+
+	public void shutdown() {
+		this.httpClient.getConnectionManager().shutdown();
+	}
+
+}
+
+//serve per risolvere un bug android sulla 2.3, metterla come classe interna!!!
+class DoneHandlerInputStream extends FilterInputStream {
+	private boolean done;
+
+	public DoneHandlerInputStream(InputStream stream) {
+		super(stream);
+	}
+
+	@Override
+	public int read(byte[] bytes, int offset, int count) throws IOException {
+		if (!done) {
+			int result = super.read(bytes, offset, count);
+			if (result != -1) {
+				return result;
+			}
+		}
+		done = true;
+		return -1;
+	}
+
+}
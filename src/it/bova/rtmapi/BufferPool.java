@@ -0,0 +1,158 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded pool of the byte buffers responses are read into, shared by all the users of an {@link RtmClient}.
+ * Each call borrows one buffer for the time its response is decoded and gives it back afterwards, so that 
+ * a busy client reads every response without allocating: the pool holds at most as many idle buffers as the 
+ * most concurrent calls seen, up to its limit, and buffers beyond it are left to the garbage collector.
+ * The pool is lock-free.
+ * @author Giovanni Pini
+ *
+ */
+public class BufferPool {
+	
+	/**
+	 * The default size of the buffers, in bytes
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 8192;
+	
+	/**
+	 * The default maximum number of idle buffers kept by the pool
+	 */
+	public static final int DEFAULT_MAX_POOLED = 64;
+	
+	private final int bufferSize;
+	private final int maxPooled;
+	private final ConcurrentLinkedQueue<byte[]> buffers = new ConcurrentLinkedQueue<byte[]>();
+	private final AtomicInteger pooled = new AtomicInteger();
+	private final AtomicLong allocated = new AtomicLong();
+	private final AtomicLong reused = new AtomicLong();
+	private final AtomicLong discarded = new AtomicLong();
+	
+	/**
+	 * Creates a pool of {@value #DEFAULT_MAX_POOLED} buffers of {@value #DEFAULT_BUFFER_SIZE} bytes
+	 */
+	public BufferPool() {
+		this(DEFAULT_BUFFER_SIZE, DEFAULT_MAX_POOLED);
+	}
+	
+	/**
+	 * Creates a pool
+	 * @param bufferSize the size of the buffers, in bytes: responses of any size can be read, 
+	 * this is just how much of a response is held at once
+	 * @param maxPooled the maximum number of idle buffers kept, 0 to allocate a new buffer for every call
+	 */
+	public BufferPool(int bufferSize, int maxPooled) {
+		if (bufferSize < 64) throw new IllegalArgumentException("bufferSize must be at least 64 bytes");
+		if (maxPooled < 0) throw new IllegalArgumentException("maxPooled must not be negative");
+		this.bufferSize = bufferSize;
+		this.maxPooled = maxPooled;
+	}
+	
+	/**
+	 * Borrows a buffer, to be given back with {@link #release(byte[])}
+	 * @return an idle buffer of the pool, or a new one if there are none
+	 */
+	public byte[] acquire() {
+		byte[] buffer = this.buffers.poll();
+		if (buffer == null) {
+			this.allocated.incrementAndGet();
+			return new byte[this.bufferSize];
+		}
+		this.pooled.decrementAndGet();
+		this.reused.incrementAndGet();
+		return buffer;
+	}
+	
+	/**
+	 * Gives back a buffer: it is kept for the next call unless the pool is full. The buffer must not be used 
+	 * any more by the caller
+	 * @param buffer a buffer got from {@link #acquire()}
+	 */
+	public void release(byte[] buffer) {
+		if (buffer == null || buffer.length != this.bufferSize) return;
+		if (this.pooled.incrementAndGet() > this.maxPooled) {
+			this.pooled.decrementAndGet();
+			this.discarded.incrementAndGet();
+			return;
+		}
+		this.buffers.offer(buffer);
+	}
+	
+	/**
+	 * Gets the size of the buffers
+	 * @return the size, in bytes
+	 */
+	public int getBufferSize() {
+		return this.bufferSize;
+	}
+	
+	/**
+	 * Gets the maximum number of idle buffers kept
+	 * @return the limit of the pool
+	 */
+	public int getMaxPooled() {
+		return this.maxPooled;
+	}
+	
+	/**
+	 * Gets the number of idle buffers currently kept
+	 * @return the number of buffers in the pool
+	 */
+	public int getPooled() {
+		return Math.max(0, this.pooled.get());
+	}
+	
+	/**
+	 * Gets how many buffers have been allocated because the pool was empty
+	 * @return the number of allocations
+	 */
+	public long getAllocated() {
+		return this.allocated.get();
+	}
+	
+	/**
+	 * Gets how many times a pooled buffer has been reused
+	 * @return the number of reuses
+	 */
+	public long getReused() {
+		return this.reused.get();
+	}
+	
+	/**
+	 * Gets how many buffers have been given back while the pool was full, and dropped
+	 * @return the number of buffers discarded
+	 */
+	public long getDiscarded() {
+		return this.discarded.get();
+	}
+	
+	/**
+	 * Gets the memory held by the idle buffers
+	 * @return the size of the pooled buffers, in bytes
+	 */
+	public long getPooledBytes() {
+		return (long) this.getPooled() * this.bufferSize;
+	}
+	
+	@Override
+	public String toString() {
+		return "BufferPool [bufferSize=" + this.bufferSize + ", pooled=" + this.getPooled() + "/" + this.maxPooled 
+				+ ", allocated=" + this.allocated + ", reused=" + this.reused + ", discarded=" + this.discarded + "]";
+	}
+	
+}
@@ -0,0 +1,122 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+/**
+ * The measures of a single call to the server, given to every {@link MetricsCollector} of an {@link RtmClient}.
+ * The phases of a call are:
+ * <ul>
+ * <li> <b>connect</b> - Getting a connection to the server (zero if a pooled connection is reused)
+ * <li> <b>server wait</b> - From sending the request to receiving the response headers
+ * <li> <b>body read</b> - Waiting for the bytes of the response body
+ * <li> <b>parse</b> - Decoding the JSON response, interleaved with reading it
+ * </ul>
+ * When a call is retried, phases refer to the last attempt. Time spent waiting for the {@link RateLimiter} 
+ * and between retries is not included in any measure.
+ * @author Giovanni Pini
+ *
+ */
+public class CallMetrics {
+	
+	final Method method;
+	long connectNanos;
+	long waitNanos;
+	long readNanos;
+	long parseNanos;
+	long totalNanos;
+	long bytesSent;
+	long bytesReceived;
+	int retries;
+	int errorCode;
+	boolean failed;
+	
+	CallMetrics(Method method) {
+		this.method = method;
+	}
+	
+	/**
+	 * Gets the name of the called method
+	 * @return the name of the method (e.g. "rtm.tasks.getList")
+	 */
+	public String getMethod() {return this.method.toString();}
+	
+	/**
+	 * Gets the time spent to get a connection
+	 * @return the time in nanoseconds
+	 */
+	public long getConnectNanos() {return this.connectNanos;}
+	
+	/**
+	 * Gets the time spent waiting for the server to answer
+	 * @return the time in nanoseconds
+	 */
+	public long getWaitNanos() {return this.waitNanos;}
+	
+	/**
+	 * Gets the time spent waiting for the bytes of the response body
+	 * @return the time in nanoseconds
+	 */
+	public long getReadNanos() {return this.readNanos;}
+	
+	/**
+	 * Gets the time spent decoding the response body, apart from waiting for its bytes. For streamed reads 
+	 * it includes the time spent by the consumer of the tasks
+	 * @return the time in nanoseconds
+	 */
+	public long getParseNanos() {return this.parseNanos;}
+	
+	/**
+	 * Gets the whole duration of the call, including retries but not rate limiting
+	 * @return the time in nanoseconds
+	 */
+	public long getTotalNanos() {return this.totalNanos;}
+	
+	/**
+	 * Gets the size of the request
+	 * @return the number of bytes sent
+	 */
+	public long getBytesSent() {return this.bytesSent;}
+	
+	/**
+	 * Gets the size of the response body
+	 * @return the number of bytes received
+	 */
+	public long getBytesReceived() {return this.bytesReceived;}
+	
+	/**
+	 * Gets the number of retries performed before the final outcome
+	 * @return the number of retries
+	 */
+	public int getRetries() {return this.retries;}
+	
+	/**
+	 * Gets the error code returned by the server (See {@link ServerException#getCode()})
+	 * @return the error code, or 0 if the server did not return an error
+	 */
+	public int getErrorCode() {return this.errorCode;}
+	
+	/**
+	 * Determines if the call failed, for a server error or any other reason
+	 * @return true if the call failed
+	 */
+	public boolean isFailed() {return this.failed;}
+
+	@Override
+	public String toString() {
+		return "CallMetrics [method=" + method + ", connectNanos=" + connectNanos
+				+ ", waitNanos=" + waitNanos + ", readNanos=" + readNanos
+				+ ", parseNanos=" + parseNanos + ", totalNanos=" + totalNanos
+				+ ", bytesSent=" + bytesSent + ", bytesReceived=" + bytesReceived
+				+ ", retries=" + retries + ", errorCode=" + errorCode
+				+ ", failed=" + failed + "]";
+	}
+
+}
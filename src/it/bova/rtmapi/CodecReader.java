@@ -0,0 +1,151 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Low level reader for {@link RtmCodec}, mirroring {@link CodecWriter}
+ */
+class CodecReader {
+	
+	private final byte[] buffer;
+	private int position;
+	private final int limit;
+	private final int version;
+	private final List<String> strings = new ArrayList<String>();
+	private final List<Object> shared = new ArrayList<Object>();
+	
+	static final Object NEW = new Object();
+	
+	CodecReader(byte[] buffer, int offset, int length, int version) {
+		this.buffer = buffer;
+		this.position = offset;
+		this.limit = offset + length;
+		this.version = version;
+	}
+	
+	/**
+	 * Gets the version of the format being read
+	 */
+	int getVersion() {
+		return this.version;
+	}
+	
+	int readByte() throws ParsingException {
+		if (this.position >= this.limit) throw new ParsingException("Unexpected end of binary data");
+		return this.buffer[this.position++] & 0xFF;
+	}
+	
+	boolean readBoolean() throws ParsingException {
+		return this.readByte() != 0;
+	}
+	
+	long readVarint() throws ParsingException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = this.readByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) return value;
+		}
+		throw new ParsingException("Malformed varint in binary data");
+	}
+	
+	int readInt() throws ParsingException {
+		return (int) this.readVarint();
+	}
+	
+	/**
+	 * Reads the size of an array or list: each element takes at least one byte, so a size beyond the 
+	 * remaining data is malformed, and is refused before anything is allocated
+	 */
+	int readSize() throws ParsingException {
+		long size = this.readVarint();
+		if (size < 0 || size > this.limit - this.position) throw new ParsingException("Invalid size in binary data");
+		return (int) size;
+	}
+	
+	long readSignedVarint() throws ParsingException {
+		long value = this.readVarint();
+		return (value >>> 1) ^ -(value & 1);
+	}
+	
+	Date readDate() throws ParsingException {
+		long value = this.readVarint();
+		if (value == 0) return null;
+		value = value - 1;
+		return new Date((value >>> 1) ^ -(value & 1));
+	}
+	
+	String readString() throws ParsingException {
+		long index = this.readVarint();
+		if (index == 0) return null;
+		if (index != 1) {
+			if (index < 2 || index - 2 >= this.strings.size()) throw new ParsingException("Invalid string reference in binary data");
+			return this.strings.get((int) index - 2);
+		}
+		int length = this.readSize();
+		String string;
+		boolean ascii = true;
+		for (int i = this.position; i < this.position + length; i++) {
+			if (this.buffer[i] < 0) {
+				ascii = false;
+				break;
+			}
+		}
+		if (ascii) {
+			char[] chars = new char[length];
+			for (int i = 0; i < length; i++) chars[i] = (char) this.buffer[this.position + i];
+			string = new String(chars);
+		}
+		else string = new String(this.buffer, this.position, length, CodecWriter.UTF8);
+		this.position += length;
+		this.strings.add(string);
+		return string;
+	}
+	
+	/**
+	 * Reads a reference written by {@link CodecWriter#writeReference(Object)}.
+	 * Shared objects are never nested, so a new object is always completed by {@link #register(Object)}
+	 * before the next reference is read.
+	 * @return null, the already read object or {@link #NEW} if the object follows and must be registered
+	 */
+	Object readReference() throws ParsingException {
+		long index = this.readVarint();
+		if (index == 0) return null;
+		if (index == 1) {
+			this.shared.add(null);
+			return NEW;
+		}
+		if (index < 2 || index - 2 >= this.shared.size()) throw new ParsingException("Invalid object reference in binary data");
+		return this.shared.get((int) index - 2);
+	}
+	
+	/**
+	 * Checks the type of an object got from {@link #readReference()}
+	 */
+	<T> T cast(Object reference, Class<T> type) throws ParsingException {
+		if (reference != null && !type.isInstance(reference)) 
+			throw new ParsingException("Invalid object reference in binary data");
+		return type.cast(reference);
+	}
+	
+	void register(Object object) {
+		this.shared.set(this.shared.size() - 1, object);
+	}
+	
+	boolean hasMore() {
+		return this.position < this.limit;
+	}
+
+}
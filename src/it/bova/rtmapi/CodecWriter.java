@@ -0,0 +1,141 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Low level writer for {@link RtmCodec}: varints, a string table for repeated strings
+ * (IDs, tags, list IDs) and a reference table for objects shared among tasks of the same taskserie
+ */
+class CodecWriter {
+	
+	static final Charset UTF8 = Charset.forName("UTF-8");
+	
+	private byte[] buffer;
+	private int size = 0;
+	private final Map<String,Integer> strings = new HashMap<String,Integer>();
+	private final Map<Object,Integer> shared = new IdentityHashMap<Object,Integer>();
+	
+	CodecWriter(int capacity) {
+		this.buffer = new byte[capacity < 16 ? 16 : capacity];
+	}
+	
+	void writeByte(int value) {
+		this.ensure(1);
+		this.buffer[this.size++] = (byte) value;
+	}
+	
+	void writeBytes(byte[] bytes) {
+		this.ensure(bytes.length);
+		System.arraycopy(bytes, 0, this.buffer, this.size, bytes.length);
+		this.size += bytes.length;
+	}
+	
+	void writeBoolean(boolean value) {
+		this.writeByte(value ? 1 : 0);
+	}
+	
+	void writeVarint(long value) {
+		this.ensure(10);
+		while ((value & ~0x7FL) != 0) {
+			this.buffer[this.size++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		this.buffer[this.size++] = (byte) value;
+	}
+	
+	void writeSignedVarint(long value) {
+		this.writeVarint((value << 1) ^ (value >> 63));
+	}
+	
+	void writeDate(Date date) {
+		//0 is null, otherwise zigzag millis shifted by one
+		if (date == null) this.writeVarint(0);
+		else this.writeVarint(((date.getTime() << 1) ^ (date.getTime() >> 63)) + 1);
+	}
+	
+	void writeString(String string) {
+		//0 is null, 1 is a new string, n > 1 is the string n-2 of the table
+		if (string == null) {
+			this.writeVarint(0);
+			return;
+		}
+		Integer index = this.strings.get(string);
+		if (index != null) {
+			this.writeVarint(index.intValue() + 2);
+			return;
+		}
+		this.strings.put(string, Integer.valueOf(this.strings.size()));
+		this.writeVarint(1);
+		int length = string.length();
+		boolean ascii = true;
+		for (int i = 0; i < length; i++) {
+			if (string.charAt(i) >= 0x80) {
+				ascii = false;
+				break;
+			}
+		}
+		if (ascii) {
+			this.writeVarint(length);
+			this.ensure(length);
+			for (int i = 0; i < length; i++) this.buffer[this.size++] = (byte) string.charAt(i);
+		}
+		else {
+			byte[] bytes = string.getBytes(UTF8);
+			this.writeVarint(bytes.length);
+			this.writeBytes(bytes);
+		}
+	}
+	
+	/**
+	 * Writes a reference to an object that could be shared (e.g. notes of a taskserie)
+	 * @return true if the object is null or already written, false if the caller must write it now
+	 */
+	boolean writeReference(Object object) {
+		//0 is null, 1 is a new object, n > 1 is the object n-2 of the table
+		if (object == null) {
+			this.writeVarint(0);
+			return true;
+		}
+		Integer index = this.shared.get(object);
+		if (index != null) {
+			this.writeVarint(index.intValue() + 2);
+			return true;
+		}
+		this.shared.put(object, Integer.valueOf(this.shared.size()));
+		this.writeVarint(1);
+		return false;
+	}
+	
+	int size() {
+		return this.size;
+	}
+	
+	void writeTo(OutputStream out) throws IOException {
+		out.write(this.buffer, 0, this.size);
+	}
+	
+	private void ensure(int length) {
+		if (this.size + length > this.buffer.length) {
+			byte[] tmpBuffer = new byte[Math.max(this.buffer.length * 2, this.size + length)];
+			System.arraycopy(this.buffer, 0, tmpBuffer, 0, this.size);
+			this.buffer = tmpBuffer;
+		}
+	}
+
+}
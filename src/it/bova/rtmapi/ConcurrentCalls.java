@@ -0,0 +1,232 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs many blocking API calls at once, e.g. the same read for thousands of accounts. 
+ * Each call blocks its thread until the server answers, so the cheapest threads are the virtual threads 
+ * of Java 21 and later: {@link #newBlockingExecutor(int)} uses them when the runtime has them, 
+ * and a pool of daemon threads otherwise (e.g. on Android).
+ * <pre>
+ *    ExecutorService executor = ConcurrentCalls.newBlockingExecutor(64);
+ *    List&lt;ConcurrentCalls.Call&lt;List&lt;TaskList&gt;&gt;&gt; calls = new ArrayList&lt;ConcurrentCalls.Call&lt;List&lt;TaskList&gt;&gt;&gt;();
+ *    for (final RtmApi api : apis) {
+ *        calls.add(new ConcurrentCalls.Call&lt;List&lt;TaskList&gt;&gt;() {
+ *            public List&lt;TaskList&gt; call() throws ServerException, RtmApiException, IOException {
+ *                return api.listsGetList();
+ *            }
+ *        });
+ *    }
+ *    for (ConcurrentCalls.Outcome&lt;List&lt;TaskList&gt;&gt; outcome : ConcurrentCalls.invokeAll(executor, calls)) {
+ *        if (outcome.isSuccess()) show(outcome.getValue());
+ *    }
+ * </pre>
+ * The library does not hold monitors while waiting for the server (the rate limiter is lock-free, connection pools 
+ * and per-host limits use java.util.concurrent locks), so virtual threads waiting for a response do not pin 
+ * their carrier thread; the number of connections is still bounded by the {@link Transport} of the client.
+ * @author Giovanni Pini
+ *
+ */
+public class ConcurrentCalls {
+	
+	/**
+	 * A blocking API call
+	 * @param <T> the type of the result
+	 */
+	public interface Call<T> {
+		
+		/**
+		 * Performs the call
+		 * @return the result
+		 * @throws ServerException if server answer with an error message
+		 * @throws RtmApiException API fatal error
+		 * @throws IOException if server is unreachable for many reasons
+		 */
+		T call() throws ServerException, RtmApiException, IOException;
+		
+	}
+	
+	/**
+	 * The outcome of a call: its result or its error
+	 * @param <T> the type of the result
+	 */
+	public static class Outcome<T> {
+		
+		private final T value;
+		private final Exception error;
+		
+		Outcome(T value, Exception error) {
+			this.value = value;
+			this.error = error;
+		}
+		
+		/**
+		 * Tells whether the call returned normally
+		 * @return true if the call succeeded
+		 */
+		public boolean isSuccess() {
+			return this.error == null;
+		}
+		
+		/**
+		 * Gets the result of the call
+		 * @return the result, or null if the call failed
+		 */
+		public T getValue() {
+			return this.value;
+		}
+		
+		/**
+		 * Gets the error of the call
+		 * @return a ServerException, an RtmApiException, an IOException or a RuntimeException (a CancellationException 
+		 * if the call was cancelled), or null if the call succeeded
+		 */
+		public Exception getError() {
+			return this.error;
+		}
+
+		@Override
+		public String toString() {
+			return isSuccess() ? "Outcome [value=" + value + "]" : "Outcome [error=" + error + "]";
+		}
+		
+	}
+	
+	private static final java.lang.reflect.Method NEW_VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutor();
+	
+	private ConcurrentCalls() {
+		
+	}
+	
+	private static java.lang.reflect.Method findVirtualThreadExecutor() {
+		try {
+			return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+		} catch (NoSuchMethodException e) {
+			return null;
+		} catch (SecurityException e) {
+			return null;
+		}
+	}
+	
+	/**
+	 * Tells whether the runtime has virtual threads
+	 * @return true if {@link #newBlockingExecutor(int)} creates a virtual thread per call
+	 */
+	public static boolean hasVirtualThreads() {
+		return NEW_VIRTUAL_THREAD_EXECUTOR != null;
+	}
+	
+	/**
+	 * Creates an executor for blocking calls: a new virtual thread per call if the runtime has them, 
+	 * a fixed pool of daemon threads otherwise
+	 * @param fallbackThreads the number of threads of the pool used when there are no virtual threads
+	 * @return the executor, to be shut down by the caller
+	 */
+	public static ExecutorService newBlockingExecutor(int fallbackThreads) {
+		if (NEW_VIRTUAL_THREAD_EXECUTOR != null) {
+			try {
+				return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invoke(null);
+			} catch (Exception e) {
+				//virtual threads disabled by the runtime: the pool is used
+			}
+		}
+		final AtomicInteger count = new AtomicInteger();
+		return Executors.newFixedThreadPool(fallbackThreads, new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "rtm-call-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+	
+	/**
+	 * Performs all the calls at once and waits for all of them. A failed call does not stop the others; 
+	 * a call cancelled by someone else fails with a CancellationException.
+	 * @param <T> the type of the results
+	 * @param executor the executor running the calls
+	 * @param calls the calls to be performed
+	 * @return the outcome of each call, in the order of the calls
+	 * @throws InterruptedIOException if the thread is interrupted while waiting: running calls are cancelled
+	 * @throws RejectedExecutionException if the executor does not accept a call: the calls already started are cancelled
+	 */
+	public static <T> List<Outcome<T>> invokeAll(Executor executor, Collection<? extends Call<T>> calls) throws InterruptedIOException {
+		if (calls.isEmpty()) return Collections.emptyList();
+		List<FutureTask<Outcome<T>>> futures = new ArrayList<FutureTask<Outcome<T>>>(calls.size());
+		for (final Call<T> call : calls) {
+			FutureTask<Outcome<T>> future = new FutureTask<Outcome<T>>(new Callable<Outcome<T>>() {
+				@Override
+				public Outcome<T> call() {
+					return ConcurrentCalls.perform(call);
+				}
+			});
+			try {
+				executor.execute(future);
+			} catch (RejectedExecutionException e) {
+				for (FutureTask<Outcome<T>> started : futures) started.cancel(true);
+				throw e;
+			}
+			futures.add(future);
+		}
+		List<Outcome<T>> outcomes = new ArrayList<Outcome<T>>(futures.size());
+		try {
+			for (FutureTask<Outcome<T>> future : futures) {
+				try {
+					outcomes.add(future.get());
+				} catch (CancellationException e) {
+					outcomes.add(new Outcome<T>(null, e));
+				}
+			}
+		} catch (InterruptedException e) {
+			for (FutureTask<Outcome<T>> future : futures) future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for the calls");
+		} catch (ExecutionException e) {
+			//perform throws only errors, which are not outcomes
+			if (e.getCause() instanceof Error) throw (Error) e.getCause();
+			throw new IllegalStateException(e.getCause());
+		}
+		return outcomes;
+	}
+	
+	private static <T> Outcome<T> perform(Call<T> call) {
+		try {
+			return new Outcome<T>(call.call(), null);
+		} catch (ServerException e) {
+			return new Outcome<T>(null, e);
+		} catch (RtmApiException e) {
+			return new Outcome<T>(null, e);
+		} catch (IOException e) {
+			return new Outcome<T>(null, e);
+		} catch (RuntimeException e) {
+			return new Outcome<T>(null, e);
+		}
+	}
+
+}
@@ -0,0 +1,172 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Polls the tasks of a user without downloading them all every time: the first call downloads every task, 
+ * then each call asks only the changes since the last sync with {@link RtmApi#tasksGetSynchedList(Date, SynchedTaskConsumer)} 
+ * and folds them into a {@link LocalTaskStore}. When nothing changed the response is almost empty, nothing is 
+ * decoded or saved and the same cached list is returned.
+ * <pre>
+ *    ConditionalTaskFetcher fetcher = new ConditionalTaskFetcher(api, new File(dir, "tasks.bin"));
+ *    ...
+ *    if (fetcher.refresh()) updateView(fetcher.getTasks()); //every few minutes
+ * </pre>
+ * With a file, the store and its last sync survive a restart, so even the first poll of a new process downloads 
+ * only the changes. A fetcher is thread-safe.
+ * @author Giovanni Pini
+ *
+ */
+public class ConditionalTaskFetcher {
+	
+	private final RtmApi api;
+	private final LocalTaskStore store;
+	private final File file;
+	private final ReentrantLock refreshLock = new ReentrantLock();
+	private volatile List<Task> tasks;
+	
+	/**
+	 * Creates a fetcher keeping the tasks in memory
+	 * @param api the API object of the user
+	 * @param store the local copy of the tasks, empty or filled by a previous sync
+	 */
+	public ConditionalTaskFetcher(RtmApi api, LocalTaskStore store) {
+		this(api, store, null);
+	}
+	
+	/**
+	 * Creates a fetcher keeping the tasks in a file, saved every time they change
+	 * @param api the API object of the user
+	 * @param file the file of the store, loaded if it exists
+	 * @throws IOException if the file cannot be read
+	 */
+	public ConditionalTaskFetcher(RtmApi api, File file) throws IOException {
+		this(api, loadOrEmpty(file), file);
+	}
+	
+	private ConditionalTaskFetcher(RtmApi api, LocalTaskStore store, File file) {
+		if (api == null) throw new IllegalArgumentException("api cannot be null");
+		if (store == null) throw new IllegalArgumentException("store cannot be null");
+		this.api = api;
+		this.store = store;
+		this.file = file;
+		this.tasks = Collections.unmodifiableList(store.getTasks());
+	}
+	
+	private static LocalTaskStore loadOrEmpty(File file) throws IOException {
+		try {
+			return LocalTaskStore.load(file);
+		} catch (ParsingException e) {
+			//a damaged store is downloaded again
+			return new LocalTaskStore();
+		}
+	}
+	
+	/**
+	 * Retrieves the user's whole list of tasks, downloading only the changes since the last call
+	 * @return the tasks, the same list instance if nothing changed since the last call
+	 * @throws ServerException if server answer with an error message
+	 * @throws RtmApiException API fatal error
+	 * @throws IOException if server is unreachable for many reasons, or the file cannot be saved
+	 */
+	public List<Task> tasksGetList() throws ServerException, RtmApiException, IOException {
+		this.refresh();
+		return this.tasks;
+	}
+	
+	/**
+	 * Downloads the changes since the last sync and folds them into the store
+	 * @return true if any task was changed or deleted
+	 * @throws ServerException if server answer with an error message
+	 * @throws RtmApiException API fatal error
+	 * @throws IOException if server is unreachable for many reasons, or the file cannot be saved
+	 */
+	public boolean refresh() throws ServerException, RtmApiException, IOException {
+		//a lock instead of a monitor, not to pin a virtual thread while waiting for the server
+		this.refreshLock.lock();
+		try {
+			return this.refreshLocked();
+		} finally {
+			this.refreshLock.unlock();
+		}
+	}
+	
+	private boolean refreshLocked() throws ServerException, RtmApiException, IOException {
+		Date lastSync = this.store.getLastSync();
+		TaskStreamReader.Collector delta = new TaskStreamReader.Collector();
+		//with no sync yet, every task changed after the epoch is the whole list
+		Date currentTime = this.api.tasksGetSynchedList(lastSync == null ? new Date(0) : lastSync, delta);
+		if (delta.tasks.isEmpty() && delta.deletedTasks.isEmpty() && lastSync != null) {
+			//the last sync is kept: asking again from it is still empty, and nothing has to be saved
+			return false;
+		}
+		boolean changed = lastSync == null || this.isChange(delta);
+		this.store.apply(new SynchedTasks(delta.tasks, delta.deletedTasks, currentTime));
+		if (!changed) return false;
+		this.tasks = Collections.unmodifiableList(this.store.getTasks());
+		if (this.file != null) this.store.save(this.file);
+		return true;
+	}
+	
+	//tasks modified in the same second of the last sync are sent again, unchanged
+	private boolean isChange(TaskStreamReader.Collector delta) {
+		for (Task task : delta.tasks) {
+			Task stored = this.store.getTask(task.getId());
+			if (stored == null || !same(stored.getModified(), task.getModified()) || !same(stored.getName(), task.getName()) 
+					|| !same(stored.getCompleted(), task.getCompleted()) || !same(stored.getDeleted(), task.getDeleted()) 
+					|| !same(stored.getDue(), task.getDue()) || stored.getPriority() != task.getPriority() 
+					|| !same(stored.getListId(), task.getListId()) || !Arrays.equals(stored.getTags(), task.getTags())
+					|| !sameNotes(stored.getNotes(), task.getNotes())) return true;
+		}
+		for (DeletedTask task : delta.deletedTasks) {
+			if (this.store.getTask(task.getId()) != null) return true;
+		}
+		return false;
+	}
+	
+	private static boolean sameNotes(Note[] a, Note[] b) {
+		int length = a == null ? 0 : a.length;
+		if (length != (b == null ? 0 : b.length)) return false;
+		for (int i = 0; i < length; i++) {
+			if (!same(a[i].getId(), b[i].getId()) || !same(a[i].getText(), b[i].getText())) return false;
+		}
+		return true;
+	}
+	
+	private static boolean same(Object a, Object b) {
+		return a == null ? b == null : a.equals(b);
+	}
+	
+	/**
+	 * Gets the tasks of the last refresh, without asking the server
+	 * @return the cached tasks
+	 */
+	public List<Task> getTasks() {
+		return this.tasks;
+	}
+	
+	/**
+	 * Gets the local copy of the tasks
+	 * @return the store
+	 */
+	public LocalTaskStore getStore() {
+		return this.store;
+	}
+
+}
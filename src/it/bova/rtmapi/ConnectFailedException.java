@@ -0,0 +1,33 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.IOException;
+
+/**
+ * An exception thrown by a {@link Transport} when the connection to the server cannot be opened 
+ * (e.g. connection refused or connect timeout): the request surely did not reach the server, 
+ * so it can be sent again (See {@link RtmClient#setMaxRetries(int)}).
+ * @author Giovanni Pini
+ *
+ */
+public class ConnectFailedException extends IOException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	/**
+	 * @param cause the exception of the HTTP stack
+	 */
+	public ConnectFailedException(IOException cause) {
+		super(cause.getMessage(), cause);
+	}
+
+}
@@ -1,55 +1,66 @@
-//Copyright 2012 Giovanni Pini
-//Licensed under the Apache License, Version 2.0 (the "License");
-//you may not use this file except in compliance with the License.
-//You may obtain a copy of the License at
-//http://www.apache.org/licenses/LICENSE-2.0
-//Unless required by applicable law or agreed to in writing, software
-//distributed under the License is distributed on an "AS IS" BASIS,
-//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
-//See the License for the specific language governing permissions and
-//limitations under the License.
-
-package it.bova.rtmapi;
-
-import java.io.Serializable;
-
-/**
- * A class for the definition of a estimate duration for a Task. The fields are
- * <ul>
- * <li> <b>quantity</b> - A float value
- * <li> <b>unit</b> - The unit of duration associated to float value(minutes, hours or days)
- * @author Giovanni Pini
- *
- */
-public class Estimate implements Serializable{
-	private float quantity;
-	private DurationUnit unit;
-	public Estimate(float quantity, DurationUnit unit) {
-		this.unit = unit;
-		this.quantity = quantity;
-	}
-	
-	public void setQuantity(float quantity) {
-		this.quantity = quantity;
-	}
-	
-	public float getQuantity() {
-		return this.quantity;
-	}
-	
-	public void setUnit(DurationUnit unit) {
-		this.unit = unit;;
-	}
-	
-	public DurationUnit getUnit() {
-		return this.unit;
-	}
-		
-	public enum DurationUnit {
-		MINUTES,HOURS,DAYS,NONE;
-	}
-		
-	public String toString() {
-		return "" + quantity + " " + unit; 
-	}
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+
+import java.io.Serializable;
+
+/**
+ * A class for the definition of a estimate duration for a Task. The fields are
+ * <ul>
+ * <li> <b>quantity</b> - A float value
+ * <li> <b>unit</b> - The unit of duration associated to float value(minutes, hours or days)
+ * @author Giovanni Pini
+ *
+ */
+public class Estimate implements Serializable{
+	private float quantity;
+	private DurationUnit unit;
+	public Estimate(float quantity, DurationUnit unit) {
+		this.unit = unit;
+		this.quantity = quantity;
+	}
+	
+	public void setQuantity(float quantity) {
+		this.quantity = quantity;
+	}
+	
+	public float getQuantity() {
+		return this.quantity;
+	}
+	
+	public void setUnit(DurationUnit unit) {
+		this.unit = unit;;
+	}
+	
+	public DurationUnit getUnit() {
+		return this.unit;
+	}
+	
+	/**
+	 * Gets the duration normalized in minutes (a day is counted as 24 hours)
+	 * @return the duration in minutes, or 0 if unit is NONE
+	 */
+	public float getMinutes() {
+		return this.unit == null ? 0f : this.quantity * this.unit.getMinutes();
+	}
+		
+	public enum DurationUnit {
+		MINUTES(1),HOURS(60),DAYS(24*60),NONE(0);
+		private int minutes;
+		DurationUnit(int minutes) {this.minutes = minutes;}
+		int getMinutes() {return this.minutes;}
+	}
+		
+	public String toString() {
+		return "" + quantity + " " + unit; 
+	}
 }
\ No newline at end of file
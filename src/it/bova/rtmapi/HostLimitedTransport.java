@@ -0,0 +1,124 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link Transport} limiting the requests running at once on each host: the others wait for a running one 
+ * to end, then reuse its persistent connection. Fan-out workloads (e.g. fetching many lists at once) keep 
+ * a few warm connections instead of opening and handshaking one per call, which cuts connection churn and 
+ * tail latency. A request ends when the body of its response is closed.
+ * With {@link UrlConnectionTransport} on Java, the "http.maxConnections" system property (idle connections 
+ * kept per host, default 5) should not be lower than the limit.
+ * <pre>
+ *    Transport transport = new HostLimitedTransport(new UrlConnectionTransport(), 6);
+ *    RtmClient client = new RtmClient("myAppApiKey1234", "myAppSharedSecret5678", new RateLimiter(), transport);
+ * </pre>
+ * @author Giovanni Pini
+ *
+ */
+public class HostLimitedTransport implements Transport {
+	
+	private final Transport transport;
+	private final int maxRequestsPerHost;
+	private final ConcurrentMap<String,Semaphore> hosts = new ConcurrentHashMap<String,Semaphore>();
+	
+	/**
+	 * Creates a transport
+	 * @param transport the transport actually sending the requests
+	 * @param maxRequestsPerHost the maximum number of requests running at once on a host
+	 */
+	public HostLimitedTransport(Transport transport, int maxRequestsPerHost) {
+		if (transport == null) throw new IllegalArgumentException("transport cannot be null");
+		if (maxRequestsPerHost < 1) throw new IllegalArgumentException("maxRequestsPerHost must be at least 1");
+		this.transport = transport;
+		this.maxRequestsPerHost = maxRequestsPerHost;
+	}
+	
+	/**
+	 * Gets the maximum number of requests running at once on a host
+	 * @return the maximum number of requests
+	 */
+	public int getMaxRequestsPerHost() {
+		return this.maxRequestsPerHost;
+	}
+
+	public RawResponse send(TransportRequest request) throws RtmApiException, IOException {
+		Semaphore permits = this.getPermits(host(request.getUrl()));
+		try {
+			permits.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for a connection");
+		}
+		boolean sent = false;
+		try {
+			RawResponse response = this.transport.send(request);
+			sent = true;
+			return response.withBody(new ReleasingInputStream(response.getBody(), permits));
+		} finally {
+			if (!sent) permits.release();
+		}
+	}
+
+	public void shutdown() {
+		this.transport.shutdown();
+	}
+	
+	private Semaphore getPermits(String host) {
+		Semaphore permits = this.hosts.get(host);
+		if (permits == null) {
+			Semaphore tmpPermits = new Semaphore(this.maxRequestsPerHost, true);
+			permits = this.hosts.putIfAbsent(host, tmpPermits);
+			if (permits == null) permits = tmpPermits;
+		}
+		return permits;
+	}
+	
+	static String host(String url) {
+		int start = url.indexOf("://");
+		start = start < 0 ? 0 : start + 3;
+		int end = start;
+		while (end < url.length() && url.charAt(end) != '/' && url.charAt(end) != '?') end++;
+		return url.substring(start, end);
+	}
+	
+	private static class ReleasingInputStream extends FilterInputStream {
+		
+		private final Semaphore permits;
+		private final AtomicBoolean released = new AtomicBoolean(false);
+		
+		ReleasingInputStream(InputStream in, Semaphore permits) {
+			super(in);
+			this.permits = permits;
+		}
+		
+		@Override
+		public void close() throws IOException {
+			try {
+				super.close();
+			} finally {
+				//the stream can be closed more than once, the permit must be given back once
+				if (this.released.compareAndSet(false, true)) this.permits.release();
+			}
+		}
+		
+	}
+
+}
@@ -0,0 +1,65 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.IOException;
+import java.util.SortedMap;
+
+/**
+ * A hook around every call performed by an {@link RtmClient} (See {@link RtmClient#addInterceptor(Interceptor)}).
+ * Interceptors are called in the order they were added; each one can inspect or change the parameters of the
+ * request, call {@link Chain#proceed()} to go on with the next interceptor and the transport, and inspect,
+ * wrap or replace the raw response before it is parsed. An interceptor can also answer without proceeding
+ * (e.g. a cache).
+ * Interceptors are shared by all the threads using the client, so they must be thread-safe.
+ * @author Giovanni Pini
+ *
+ */
+public interface Interceptor {
+	
+	/**
+	 * Intercepts a call
+	 * @param chain the call, to be carried on with {@link Chain#proceed()}
+	 * @return the raw response, usually the one returned by {@link Chain#proceed()}
+	 * @throws RtmApiException if the call cannot be performed
+	 * @throws IOException if a connection error occurs
+	 */
+	RawResponse intercept(Chain chain) throws RtmApiException, IOException;
+	
+	/**
+	 * A call in progress through the interceptors
+	 */
+	public interface Chain {
+		
+		/**
+		 * Gets the name of the called method (e.g. rtm.tasks.getList)
+		 * @return the method name
+		 */
+		String getMethod();
+		
+		/**
+		 * Gets the parameters of the request, sorted by name. The map can be changed: the request is signed 
+		 * when it reaches the transport, so the signature ("api_sig") is not included.
+		 * @return the parameters of the request
+		 */
+		SortedMap<String,String> getParameters();
+		
+		/**
+		 * Carries on the call with the next interceptor, or with the transport if this is the last one
+		 * @return the raw response
+		 * @throws RtmApiException if the call cannot be performed
+		 * @throws IOException if a connection error occurs
+		 */
+		RawResponse proceed() throws RtmApiException, IOException;
+		
+	}
+
+}
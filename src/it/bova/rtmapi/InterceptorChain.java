@@ -0,0 +1,58 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.IOException;
+import java.util.List;
+import java.util.SortedMap;
+
+class InterceptorChain implements Interceptor.Chain {
+	
+	/**
+	 * The last step of the chain, performing the call
+	 */
+	interface Terminal {
+		RawResponse call(Request request, SortedMap<String,String> parameters) throws RtmApiException, IOException;
+	}
+	
+	private final List<Interceptor> interceptors;
+	private final int index;
+	private final Request request;
+	private final SortedMap<String,String> parameters;
+	private final Terminal terminal;
+	
+	InterceptorChain(List<Interceptor> interceptors, int index, Request request, 
+			SortedMap<String,String> parameters, Terminal terminal) {
+		this.interceptors = interceptors;
+		this.index = index;
+		this.request = request;
+		this.parameters = parameters;
+		this.terminal = terminal;
+	}
+
+	public String getMethod() {
+		return this.request.getMethod().toString();
+	}
+
+	public SortedMap<String, String> getParameters() {
+		return this.parameters;
+	}
+
+	public RawResponse proceed() throws RtmApiException, IOException {
+		if (this.index >= this.interceptors.size()) return this.terminal.call(this.request, this.parameters);
+		Interceptor interceptor = this.interceptors.get(this.index);
+		RawResponse response = interceptor.intercept(new InterceptorChain(this.interceptors, this.index + 1, 
+				this.request, this.parameters, this.terminal));
+		if (response == null) throw new RtmApiException("Interceptor " + interceptor + " returned no response");
+		return response;
+	}
+
+}
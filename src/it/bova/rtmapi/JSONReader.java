@@ -0,0 +1,371 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * A pull reader of JSON documents encoded in UTF-8, reading tokens one at a time straight from the bytes of a stream,
+ * so that huge responses can be decoded without holding them in memory.
+ * Strings are decoded only when asked for, skipped values are scanned without allocating.
+ */
+class JSONReader {
+	
+	static final int BEGIN_OBJECT = 1;
+	static final int END_OBJECT = 2;
+	static final int BEGIN_ARRAY = 3;
+	static final int END_ARRAY = 4;
+	static final int NAME = 5;
+	static final int STRING = 6;
+	static final int LITERAL = 7;
+	static final int END_DOCUMENT = 8;
+	
+	private static final int NONE = 0;
+	
+	//scopes
+	private static final int EMPTY_DOCUMENT = 1;
+	private static final int NONEMPTY_DOCUMENT = 2;
+	private static final int EMPTY_OBJECT = 3;
+	private static final int NONEMPTY_OBJECT = 4;
+	private static final int DANGLING_NAME = 5;
+	private static final int EMPTY_ARRAY = 6;
+	private static final int NONEMPTY_ARRAY = 7;
+	
+	private final InputStream in;
+	private final byte[] buffer;
+	private int pos = 0;
+	private int limit = 0;
+	private int[] stack = new int[32];
+	private int depth = 1;
+	private int peeked = NONE;
+	private final StringBuilder chars = new StringBuilder(64);
+	
+	JSONReader(InputStream in) {
+		this(in, new byte[8192]);
+	}
+	
+	JSONReader(InputStream in, byte[] buffer) {
+		this.in = in;
+		this.buffer = buffer;
+		this.stack[0] = EMPTY_DOCUMENT;
+	}
+	
+	/**
+	 * Gets the type of the next token, without consuming it
+	 */
+	int peek() throws ParsingException, IOException {
+		if (this.peeked != NONE) return this.peeked;
+		int scope = this.stack[this.depth - 1];
+		int c;
+		switch (scope) {
+		case EMPTY_ARRAY:
+			this.stack[this.depth - 1] = NONEMPTY_ARRAY;
+			c = this.nextNonWhitespace();
+			if (c == ']') return this.peeked = END_ARRAY;
+			this.pos--;
+			break;
+		case NONEMPTY_ARRAY:
+			c = this.nextNonWhitespace();
+			if (c == ']') return this.peeked = END_ARRAY;
+			if (c != ',') throw this.syntaxError("expected , or ]");
+			break;
+		case EMPTY_OBJECT:
+		case NONEMPTY_OBJECT:
+			c = this.nextNonWhitespace();
+			if (c == '}') return this.peeked = END_OBJECT;
+			if (scope == NONEMPTY_OBJECT) {
+				if (c != ',') throw this.syntaxError("expected , or }");
+				c = this.nextNonWhitespace();
+			}
+			if (c != '"') throw this.syntaxError("expected name");
+			this.stack[this.depth - 1] = DANGLING_NAME;
+			return this.peeked = NAME;
+		case DANGLING_NAME:
+			if (this.nextNonWhitespace() != ':') throw this.syntaxError("expected :");
+			this.stack[this.depth - 1] = NONEMPTY_OBJECT;
+			break;
+		case EMPTY_DOCUMENT:
+			this.stack[this.depth - 1] = NONEMPTY_DOCUMENT;
+			break;
+		default:
+			while (this.fill(1)) {
+				c = this.buffer[this.pos++];
+				if (c != ' ' && c != '\n' && c != '\r' && c != '\t') throw this.syntaxError("expected end of document");
+			}
+			return this.peeked = END_DOCUMENT;
+		}
+		c = this.nextNonWhitespace();
+		switch (c) {
+		case '{': return this.peeked = BEGIN_OBJECT;
+		case '[': return this.peeked = BEGIN_ARRAY;
+		case '"': return this.peeked = STRING;
+		default:
+			//the first char of the literal is read again
+			this.pos--;
+			return this.peeked = LITERAL;
+		}
+	}
+	
+	boolean hasNext() throws ParsingException, IOException {
+		int token = this.peek();
+		return token != END_OBJECT && token != END_ARRAY && token != END_DOCUMENT;
+	}
+	
+	void beginObject() throws ParsingException, IOException {
+		this.expect(BEGIN_OBJECT);
+		this.push(EMPTY_OBJECT);
+	}
+	
+	void endObject() throws ParsingException, IOException {
+		this.expect(END_OBJECT);
+		this.depth--;
+	}
+	
+	void beginArray() throws ParsingException, IOException {
+		this.expect(BEGIN_ARRAY);
+		this.push(EMPTY_ARRAY);
+	}
+	
+	void endArray() throws ParsingException, IOException {
+		this.expect(END_ARRAY);
+		this.depth--;
+	}
+	
+	String nextName() throws ParsingException, IOException {
+		this.expect(NAME);
+		return this.readString();
+	}
+	
+	/**
+	 * Reads a string, or the text of a number or literal
+	 */
+	String nextString() throws ParsingException, IOException {
+		int token = this.peek();
+		this.peeked = NONE;
+		if (token == STRING) return this.readString();
+		if (token == LITERAL) return this.readLiteral();
+		throw this.syntaxError("expected a string");
+	}
+	
+	/**
+	 * Skips the next value, with all its content
+	 */
+	void skipValue() throws ParsingException, IOException {
+		int count = 0;
+		do {
+			int token = this.peek();
+			this.peeked = NONE;
+			switch (token) {
+			case BEGIN_OBJECT: this.push(EMPTY_OBJECT); count++; break;
+			case BEGIN_ARRAY: this.push(EMPTY_ARRAY); count++; break;
+			case END_OBJECT: 
+			case END_ARRAY: this.depth--; count--; break;
+			case NAME: this.skipString(); break;
+			case STRING: this.skipString(); break;
+			case LITERAL: this.skipLiteral(); break;
+			default: throw this.syntaxError("unexpected end of document");
+			}
+		} while (count > 0);
+	}
+	
+	/**
+	 * Reads the next value as an org.json object, array, string or literal, as {@link JSONObject} would parse it
+	 */
+	Object readValue() throws ParsingException, IOException {
+		try {
+			switch (this.peek()) {
+			case BEGIN_OBJECT:
+				JSONObject object = new JSONObject();
+				this.beginObject();
+				while (this.hasNext()) {
+					String name = this.nextName();
+					object.put(name, this.readValue());
+				}
+				this.endObject();
+				return object;
+			case BEGIN_ARRAY:
+				JSONArray array = new JSONArray();
+				this.beginArray();
+				while (this.hasNext()) array.put(this.readValue());
+				this.endArray();
+				return array;
+			case STRING:
+				return this.nextString();
+			case LITERAL:
+				return JSONObject.stringToValue(this.nextString());
+			default:
+				throw this.syntaxError("expected a value");
+			}
+		} catch (JSONException e) {
+			throw new ParsingException(e.getMessage());
+		}
+	}
+	
+	private void expect(int token) throws ParsingException, IOException {
+		if (this.peek() != token) throw this.syntaxError("unexpected token");
+		this.peeked = NONE;
+	}
+	
+	private void push(int scope) {
+		if (this.depth == this.stack.length) {
+			int[] newStack = new int[this.depth * 2];
+			System.arraycopy(this.stack, 0, newStack, 0, this.depth);
+			this.stack = newStack;
+		}
+		this.stack[this.depth++] = scope;
+	}
+	
+	private int nextNonWhitespace() throws ParsingException, IOException {
+		while (true) {
+			if (this.pos == this.limit && !this.fill(1)) throw this.syntaxError("unexpected end of document");
+			int c = this.buffer[this.pos++];
+			if (c != ' ' && c != '\n' && c != '\r' && c != '\t') return c;
+		}
+	}
+	
+	/**
+	 * Makes at least the given number of bytes available after the current position
+	 * @return false if the stream ends before
+	 */
+	private boolean fill(int minimum) throws IOException {
+		if (this.limit - this.pos >= minimum) return true;
+		if (this.pos > 0) {
+			System.arraycopy(this.buffer, this.pos, this.buffer, 0, this.limit - this.pos);
+			this.limit -= this.pos;
+			this.pos = 0;
+		}
+		while (this.limit < minimum) {
+			int read = this.in.read(this.buffer, this.limit, this.buffer.length - this.limit);
+			if (read == -1) return false;
+			this.limit += read;
+		}
+		return true;
+	}
+	
+	private int nextByte() throws ParsingException, IOException {
+		if (this.pos == this.limit && !this.fill(1)) throw this.syntaxError("unterminated string");
+		return this.buffer[this.pos++] & 0xff;
+	}
+	
+	private String readString() throws ParsingException, IOException {
+		StringBuilder sb = this.chars;
+		sb.setLength(0);
+		while (true) {
+			int b = this.nextByte();
+			if (b == '"') return sb.toString();
+			if (b == '\\') sb.append(this.readEscape());
+			else if (b < 0x80) sb.append((char) b);
+			else this.readMultiByte(b, sb);
+		}
+	}
+	
+	private void skipString() throws ParsingException, IOException {
+		while (true) {
+			int b = this.nextByte();
+			if (b == '"') return;
+			//the escaped char can be a quote, multi-byte sequences never contain ASCII bytes
+			if (b == '\\') this.nextByte();
+		}
+	}
+	
+	private char readEscape() throws ParsingException, IOException {
+		int c = this.nextByte();
+		switch (c) {
+		case 'b': return '\b';
+		case 'f': return '\f';
+		case 'n': return '\n';
+		case 'r': return '\r';
+		case 't': return '\t';
+		case 'u':
+			int value = 0;
+			for (int i = 0; i < 4; i++) {
+				int digit = Character.digit(this.nextByte(), 16);
+				if (digit < 0) throw this.syntaxError("invalid unicode escape");
+				value = (value << 4) | digit;
+			}
+			return (char) value;
+		default:
+			return (char) c;
+		}
+	}
+	
+	private void readMultiByte(int b, StringBuilder sb) throws ParsingException, IOException {
+		int count;
+		int value;
+		if ((b & 0xe0) == 0xc0) {
+			count = 1;
+			value = b & 0x1f;
+		} else if ((b & 0xf0) == 0xe0) {
+			count = 2;
+			value = b & 0x0f;
+		} else if ((b & 0xf8) == 0xf0) {
+			count = 3;
+			value = b & 0x07;
+		} else {
+			sb.append('\ufffd');
+			return;
+		}
+		for (int i = 0; i < count; i++) {
+			if (this.pos == this.limit && !this.fill(1)) throw this.syntaxError("unterminated string");
+			int next = this.buffer[this.pos] & 0xff;
+			if ((next & 0xc0) != 0x80) {
+				//malformed sequence, the byte is read again as a new char
+				sb.append('\ufffd');
+				return;
+			}
+			this.pos++;
+			value = (value << 6) | (next & 0x3f);
+		}
+		if (value >= 0x10000) {
+			//surrogate pair
+			sb.append((char) ((value >>> 10) + 0xd7c0));
+			sb.append((char) ((value & 0x3ff) + 0xdc00));
+		} 
+		else sb.append((char) value);
+	}
+	
+	private String readLiteral() throws ParsingException, IOException {
+		StringBuilder sb = this.chars;
+		sb.setLength(0);
+		while (this.pos < this.limit || this.fill(1)) {
+			int c = this.buffer[this.pos];
+			if (isDelimiter(c)) break;
+			sb.append((char) c);
+			this.pos++;
+		}
+		if (sb.length() == 0) throw this.syntaxError("expected a value");
+		return sb.toString();
+	}
+	
+	private void skipLiteral() throws ParsingException, IOException {
+		int length = 0;
+		while (this.pos < this.limit || this.fill(1)) {
+			if (isDelimiter(this.buffer[this.pos])) break;
+			this.pos++;
+			length++;
+		}
+		if (length == 0) throw this.syntaxError("expected a value");
+	}
+	
+	private static boolean isDelimiter(int c) {
+		return c == ',' || c == '}' || c == ']' || c == ':' || c == ' ' || c == '\n' || c == '\r' || c == '\t';
+	}
+	
+	private ParsingException syntaxError(String message) {
+		return new ParsingException("JSON syntax error: " + message);
+	}
+
+}
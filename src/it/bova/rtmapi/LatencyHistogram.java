@@ -0,0 +1,105 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of durations, with power of two buckets of microseconds (1us, 2us, 4us ... about 35 minutes).
+ * Percentiles are approximated by the upper bound of the bucket, so they are accurate within a factor of two.
+ * @author Giovanni Pini
+ *
+ */
+public class LatencyHistogram {
+	
+	private static final int BUCKETS = 32;
+	
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong sum = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+	
+	/**
+	 * Records a duration
+	 * @param nanos the duration in nanoseconds (negative values are recorded as zero)
+	 */
+	public void record(long nanos) {
+		if (nanos < 0) nanos = 0;
+		long micros = nanos / 1000;
+		int bucket = micros == 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+		this.buckets.incrementAndGet(bucket);
+		this.count.incrementAndGet();
+		this.sum.addAndGet(nanos);
+		long current = this.max.get();
+		while (nanos > current && !this.max.compareAndSet(current, nanos)) current = this.max.get();
+	}
+	
+	/**
+	 * Gets the number of recorded durations
+	 * @return the number of recorded durations
+	 */
+	public long getCount() {
+		return this.count.get();
+	}
+	
+	/**
+	 * Gets the mean of recorded durations
+	 * @param unit the unit of the returned value
+	 * @return the mean duration, 0 if nothing was recorded
+	 */
+	public double getMean(TimeUnit unit) {
+		long tmpCount = this.count.get();
+		if (tmpCount == 0) return 0;
+		return (double) this.sum.get() / tmpCount / unit.toNanos(1);
+	}
+	
+	/**
+	 * Gets the maximum recorded duration
+	 * @param unit the unit of the returned value
+	 * @return the maximum duration, 0 if nothing was recorded
+	 */
+	public long getMax(TimeUnit unit) {
+		return unit.convert(this.max.get(), TimeUnit.NANOSECONDS);
+	}
+	
+	/**
+	 * Gets an approximated percentile of recorded durations
+	 * @param percentile the percentile, between 0 and 100 (e.g. 99 for p99)
+	 * @param unit the unit of the returned value
+	 * @return the upper bound of the bucket containing the percentile, 0 if nothing was recorded
+	 */
+	public long getPercentile(double percentile, TimeUnit unit) {
+		long tmpCount = this.count.get();
+		if (tmpCount == 0) return 0;
+		long rank = (long) Math.ceil(tmpCount * Math.min(100, Math.max(0, percentile)) / 100.0);
+		if (rank < 1) rank = 1;
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += this.buckets.get(i);
+			if (seen >= rank) {
+				long upperMicros = 1L << i;
+				return unit.convert(Math.min(upperMicros * 1000, this.max.get()), TimeUnit.NANOSECONDS);
+			}
+		}
+		return this.getMax(unit);
+	}
+	
+	@Override
+	public String toString() {
+		return "count=" + this.getCount() + ", mean=" + String.format("%.1f", this.getMean(TimeUnit.MICROSECONDS) / 1000) 
+				+ "ms, p50=" + this.getPercentile(50, TimeUnit.MILLISECONDS) 
+				+ "ms, p99=" + this.getPercentile(99, TimeUnit.MILLISECONDS) 
+				+ "ms, max=" + this.getMax(TimeUnit.MILLISECONDS) + "ms";
+	}
+
+}
@@ -0,0 +1,161 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A local copy of the tasks of a user, kept up to date with the deltas of 
+ * {@link RtmApi#tasksGetSynchedList(Date)} and with the changes made offline by an {@link OfflineOutbox}. 
+ * The store can be saved to a file in {@link RtmCodec} format and loaded back when the app restarts.
+ * <pre>
+ *    LocalTaskStore store = LocalTaskStore.load(file); //empty if the file does not exist
+ *    Date lastSync = store.getLastSync();
+ *    store.apply(api.tasksGetSynchedList(lastSync == null ? new Date(0) : lastSync));
+ *    store.save(file);
+ * </pre>
+ * Tasks are identified by their ID. A store is thread-safe.
+ * @author Giovanni Pini
+ *
+ */
+public class LocalTaskStore {
+	
+	private final Map<String,Task> tasks = new LinkedHashMap<String,Task>();
+	private Date lastSync;
+	
+	/**
+	 * Creates an empty store, to be filled by a full synchronization
+	 */
+	public LocalTaskStore() {
+		
+	}
+	
+	/**
+	 * Loads a store saved by {@link #save(File)}
+	 * @param file the file of the store
+	 * @return the loaded store, or an empty store if the file does not exist
+	 * @throws IOException if the file cannot be read
+	 * @throws ParsingException if the file is not a saved store
+	 */
+	public static LocalTaskStore load(File file) throws IOException, ParsingException {
+		LocalTaskStore store = new LocalTaskStore();
+		if (!file.exists()) return store;
+		FileInputStream in = new FileInputStream(file);
+		try {
+			Object object = new RtmCodec().decode(in);
+			if (!(object instanceof SynchedTasks)) throw new ParsingException("File " + file + " is not a task store");
+			SynchedTasks saved = (SynchedTasks) object;
+			for (Task task : saved.getTasks()) store.tasks.put(task.getId(), task);
+			store.lastSync = saved.getCurrentTime();
+		} finally {
+			in.close();
+		}
+		return store;
+	}
+	
+	/**
+	 * Saves the store to a file, replacing it only when the store is completely written
+	 * @param file the file of the store
+	 * @throws IOException if the file cannot be written
+	 */
+	public void save(File file) throws IOException {
+		SynchedTasks snapshot;
+		synchronized (this) {
+			snapshot = new SynchedTasks(new ArrayList<Task>(this.tasks.values()), 
+					Collections.<DeletedTask>emptyList(), this.lastSync);
+		}
+		File tmpFile = new File(file.getPath() + ".tmp");
+		FileOutputStream out = new FileOutputStream(tmpFile);
+		try {
+			new RtmCodec(true).encode(snapshot, out);
+			out.getFD().sync();
+		} finally {
+			out.close();
+		}
+		if (!tmpFile.renameTo(file)) {
+			//renameTo does not replace an existing file on every platform
+			if (!file.delete() || !tmpFile.renameTo(file)) throw new IOException("Cannot replace " + file);
+		}
+	}
+	
+	/**
+	 * Folds a synchronization into the store: changed tasks replace the stored ones, 
+	 * deleted tasks are removed and the time of the synchronization becomes the last sync
+	 * @param synchedTasks the result of {@link RtmApi#tasksGetSynchedList(Date)} with the last sync of this store
+	 */
+	public synchronized void apply(SynchedTasks synchedTasks) {
+		for (Task task : synchedTasks.getTasks()) this.tasks.put(task.getId(), task);
+		for (DeletedTask deleted : synchedTasks.getDeletedTasks()) this.tasks.remove(deleted.getId());
+		if (synchedTasks.getCurrentTime() != null) this.lastSync = synchedTasks.getCurrentTime();
+	}
+	
+	/**
+	 * Replaces all the tasks of the store with a full download
+	 * @param tasks the tasks of the user, e.g. by {@link RtmApi#tasksGetList()}
+	 * @param syncTime the time of the download, to be used as the last sync
+	 */
+	public synchronized void replaceAll(List<Task> tasks, Date syncTime) {
+		this.tasks.clear();
+		for (Task task : tasks) this.tasks.put(task.getId(), task);
+		this.lastSync = syncTime;
+	}
+	
+	/**
+	 * Gets the time of the last synchronization folded into the store
+	 * @return the last sync, or null if the store was never synchronized
+	 */
+	public synchronized Date getLastSync() {
+		return this.lastSync;
+	}
+	
+	/**
+	 * Gets a task
+	 * @param taskId the ID of the task
+	 * @return the task, or null if the store does not contain it
+	 */
+	public synchronized Task getTask(String taskId) {
+		return this.tasks.get(taskId);
+	}
+	
+	/**
+	 * Gets all the tasks
+	 * @return a copy of the tasks, in the order they were first stored
+	 */
+	public synchronized List<Task> getTasks() {
+		return new ArrayList<Task>(this.tasks.values());
+	}
+	
+	/**
+	 * Gets the number of tasks
+	 * @return the number of tasks
+	 */
+	public synchronized int size() {
+		return this.tasks.size();
+	}
+	
+	synchronized void put(Task task) {
+		this.tasks.put(task.getId(), task);
+	}
+	
+	synchronized void remove(String taskId) {
+		this.tasks.remove(taskId);
+	}
+
+}
@@ -0,0 +1,152 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The aggregated measures of the calls to one method, collected by {@link RtmMetrics}
+ * @author Giovanni Pini
+ *
+ */
+public class MethodStatistics {
+	
+	private final String method;
+	private final LatencyHistogram total = new LatencyHistogram();
+	private final LatencyHistogram connect = new LatencyHistogram();
+	private final LatencyHistogram wait = new LatencyHistogram();
+	private final LatencyHistogram read = new LatencyHistogram();
+	private final LatencyHistogram parse = new LatencyHistogram();
+	private final AtomicLong failures = new AtomicLong();
+	private final AtomicLong retries = new AtomicLong();
+	private final AtomicLong bytesSent = new AtomicLong();
+	private final AtomicLong bytesReceived = new AtomicLong();
+	private final ConcurrentMap<Integer,AtomicLong> errors = new ConcurrentHashMap<Integer,AtomicLong>();
+	
+	MethodStatistics(String method) {
+		this.method = method;
+	}
+	
+	void record(CallMetrics call) {
+		this.total.record(call.getTotalNanos());
+		this.connect.record(call.getConnectNanos());
+		this.wait.record(call.getWaitNanos());
+		this.read.record(call.getReadNanos());
+		this.parse.record(call.getParseNanos());
+		if (call.isFailed()) this.failures.incrementAndGet();
+		if (call.getRetries() > 0) this.retries.addAndGet(call.getRetries());
+		this.bytesSent.addAndGet(call.getBytesSent());
+		this.bytesReceived.addAndGet(call.getBytesReceived());
+		if (call.getErrorCode() != 0) {
+			Integer code = Integer.valueOf(call.getErrorCode());
+			AtomicLong counter = this.errors.get(code);
+			if (counter == null) {
+				AtomicLong tmpCounter = new AtomicLong();
+				counter = this.errors.putIfAbsent(code, tmpCounter);
+				if (counter == null) counter = tmpCounter;
+			}
+			counter.incrementAndGet();
+		}
+	}
+	
+	/**
+	 * Gets the name of the method
+	 * @return the name of the method (e.g. "rtm.tasks.getList")
+	 */
+	public String getMethod() {return this.method;}
+	
+	/**
+	 * Gets the number of calls
+	 * @return the number of calls, failed ones included
+	 */
+	public long getCalls() {return this.total.getCount();}
+	
+	/**
+	 * Gets the number of failed calls
+	 * @return the number of failed calls
+	 */
+	public long getFailures() {return this.failures.get();}
+	
+	/**
+	 * Gets the number of retries of all the calls
+	 * @return the number of retries
+	 */
+	public long getRetries() {return this.retries.get();}
+	
+	/**
+	 * Gets the number of bytes sent by all the calls
+	 * @return the number of bytes sent
+	 */
+	public long getBytesSent() {return this.bytesSent.get();}
+	
+	/**
+	 * Gets the number of bytes received by all the calls
+	 * @return the number of bytes received
+	 */
+	public long getBytesReceived() {return this.bytesReceived.get();}
+	
+	/**
+	 * Gets the number of server errors by error code (See {@link ServerException#getCode()})
+	 * @return a sorted map from error code to number of occurrences
+	 */
+	public Map<Integer,Long> getErrors() {
+		Map<Integer,Long> map = new TreeMap<Integer,Long>();
+		for (Map.Entry<Integer,AtomicLong> entry : this.errors.entrySet()) {
+			map.put(entry.getKey(), Long.valueOf(entry.getValue().get()));
+		}
+		return Collections.unmodifiableMap(map);
+	}
+	
+	/**
+	 * Gets the histogram of whole call durations
+	 * @return the histogram
+	 */
+	public LatencyHistogram getTotal() {return this.total;}
+	
+	/**
+	 * Gets the histogram of connection times
+	 * @return the histogram
+	 */
+	public LatencyHistogram getConnect() {return this.connect;}
+	
+	/**
+	 * Gets the histogram of server wait times
+	 * @return the histogram
+	 */
+	public LatencyHistogram getWait() {return this.wait;}
+	
+	/**
+	 * Gets the histogram of body read times
+	 * @return the histogram
+	 */
+	public LatencyHistogram getRead() {return this.read;}
+	
+	/**
+	 * Gets the histogram of parsing times
+	 * @return the histogram
+	 */
+	public LatencyHistogram getParse() {return this.parse;}
+
+	@Override
+	public String toString() {
+		return "MethodStatistics [method=" + method + ", calls=" + getCalls()
+				+ ", failures=" + getFailures() + ", retries=" + getRetries()
+				+ ", bytesSent=" + getBytesSent() + ", bytesReceived=" + getBytesReceived()
+				+ ", errors=" + getErrors() + ", total=[" + total + "], connect=[" + connect
+				+ "], wait=[" + wait + "], read=[" + read + "], parse=[" + parse + "]]";
+	}
+
+}
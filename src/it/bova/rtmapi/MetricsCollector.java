@@ -0,0 +1,29 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+/**
+ * An exporter of call measures, to be added to an {@link RtmClient} (See {@link RtmClient#addMetricsCollector(MetricsCollector)}).
+ * {@link RtmMetrics} is the built-in implementation aggregating measures per method; other implementations
+ * can forward measures to any monitoring system.
+ * Implementations are called by the thread performing the call, so they must be thread-safe and fast.
+ * @author Giovanni Pini
+ *
+ */
+public interface MetricsCollector {
+	
+	/**
+	 * Records the measures of a completed call
+	 * @param call the measures of the call
+	 */
+	void record(CallMetrics call);
+
+}
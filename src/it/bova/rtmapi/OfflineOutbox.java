@@ -0,0 +1,611 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps task changes made while offline. Each change is appended to a log file, applied at once 
+ * to a {@link LocalTaskStore}, and sent to the server in order by {@link #replay(Listener)} when 
+ * the network is back; changes survive a restart of the app, since the log is read again by the constructor.
+ * <pre>
+ *    OfflineOutbox outbox = new OfflineOutbox(api, store, new File(dir, "outbox.log"));
+ *    Task task = outbox.tasksAdd("Buy milk", inboxId); //works offline, with a temporary ID
+ *    outbox.tasksComplete(task);
+ *    ...
+ *    try {
+ *        outbox.replay(listener); //when the network is back
+ *    } catch (IOException e) {
+ *        //still offline: the changes not sent are kept
+ *    }
+ * </pre>
+ * Before sending the changes, a replay folds the delta of {@link RtmApi#tasksGetSynchedList(Date)} into the store. 
+ * A change to a task that was modified on the server after the change was made is a conflict, decided by the 
+ * {@link Listener}; changes to tasks deleted on the server, and changes refused by the server, are dropped and 
+ * reported. Tasks added offline get the IDs of the server when they are sent, and later changes to them 
+ * follow. An outbox is thread-safe.
+ * @author Giovanni Pini
+ *
+ */
+public class OfflineOutbox {
+	
+	/**
+	 * The kinds of change
+	 */
+	public enum Operation { ADD, COMPLETE, UNCOMPLETE, DELETE, SET_NAME, SET_PRIORITY, SET_DUE_DATE, ADD_NOTE }
+	
+	/**
+	 * A change waiting to be sent
+	 */
+	public static class Mutation {
+		
+		private final long sequence;
+		private final Date queued;
+		private final Operation operation;
+		private final String taskId;
+		private final String taskseriesId;
+		private final String listId;
+		private final String[] arguments;
+		
+		Mutation(long sequence, Date queued, Operation operation, String taskId, String taskseriesId, 
+				String listId, String... arguments) {
+			this.sequence = sequence;
+			this.queued = queued;
+			this.operation = operation;
+			this.taskId = taskId;
+			this.taskseriesId = taskseriesId;
+			this.listId = listId;
+			this.arguments = arguments;
+		}
+		
+		/**
+		 * Gets the kind of change
+		 * @return the operation
+		 */
+		public Operation getOperation() {
+			return this.operation;
+		}
+		
+		/**
+		 * Gets the ID of the changed task, temporary if the task was added offline
+		 * @return the task ID
+		 */
+		public String getTaskId() {
+			return this.taskId;
+		}
+		
+		/**
+		 * Gets when the change was made
+		 * @return the time of the change
+		 */
+		public Date getQueued() {
+			return this.queued;
+		}
+		
+		/**
+		 * Gets the values of the change: the name for ADD and SET_NAME, the priority for SET_PRIORITY, 
+		 * the ISO 8601 date, "1" for a due time and the date in milliseconds for SET_DUE_DATE (empty dates to unset it), 
+	 * title and text for ADD_NOTE
+		 * @return the values, empty if the operation has none
+		 */
+		public String[] getArguments() {
+			return this.arguments.clone();
+		}
+
+		@Override
+		public String toString() {
+			return "Mutation [sequence=" + sequence + ", queued=" + queued + ", operation=" + operation 
+					+ ", taskId=" + taskId + ", arguments=" + Arrays.toString(arguments) + "]";
+		}
+		
+	}
+	
+	/**
+	 * Decides conflicts and receives the changes dropped during a replay. 
+	 * Methods are called by the thread running the replay.
+	 */
+	public interface Listener {
+		
+		/**
+		 * Called when a task was modified on the server after a change was made offline
+		 * @param mutation the change made offline
+		 * @param serverTask the task as it is on the server
+		 * @return true to send the change anyway, false to drop it and keep the server version
+		 */
+		boolean conflict(Mutation mutation, Task serverTask);
+		
+		/**
+		 * Called when a change is dropped because its task was deleted on the server or the server refused it
+		 * @param mutation the dropped change
+		 * @param error the error of the server, or null if the task was deleted on the server
+		 */
+		void rejected(Mutation mutation, Exception error);
+		
+	}
+	
+	private static final byte MUTATION = 1;
+	private static final byte DONE = 2;
+	private static final String TEMPORARY_ID = "offline-";
+	private static final int SERVICE_UNAVAILABLE = 105;
+	
+	private final RtmApi api;
+	private final LocalTaskStore store;
+	private final File log;
+	private final LinkedList<Mutation> pending = new LinkedList<Mutation>();
+	//server IDs of the tasks added offline: task ID, taskserie ID, list ID
+	private final Map<String,String[]> sentIds = new HashMap<String,String[]>();
+	private final ReentrantLock replayLock = new ReentrantLock();
+	private long sequence;
+	
+	/**
+	 * Creates an outbox, reading the changes left in the log by a previous run and applying them to the store
+	 * @param api the API object of the user
+	 * @param store the local copy of the tasks of the user
+	 * @param log the log file, created if it does not exist
+	 * @throws IOException if the log cannot be read
+	 */
+	public OfflineOutbox(RtmApi api, LocalTaskStore store, File log) throws IOException {
+		if (api == null) throw new IllegalArgumentException("api cannot be null");
+		if (store == null) throw new IllegalArgumentException("store cannot be null");
+		this.api = api;
+		this.store = store;
+		this.log = log;
+		this.readLog();
+		for (Mutation mutation : this.pending) this.applyLocally(mutation);
+	}
+	
+	/**
+	 * Adds a task
+	 * @param name the name of the task
+	 * @param listId the ID of the list, or null for the Inbox
+	 * @return the local task, with a temporary ID until it is sent
+	 * @throws IOException if the log cannot be written
+	 */
+	public synchronized Task tasksAdd(String name, String listId) throws IOException {
+		String id = TEMPORARY_ID + (this.sequence + 1);
+		return this.queue(Operation.ADD, id, id, listId, name);
+	}
+	
+	/**
+	 * Marks a task complete
+	 * @param task the task to perform the action on
+	 * @return the local task
+	 * @throws IOException if the log cannot be written
+	 */
+	public Task tasksComplete(Task task) throws IOException {
+		return this.queue(Operation.COMPLETE, task);
+	}
+	
+	/**
+	 * Marks a task incomplete
+	 * @param task the task to perform the action on
+	 * @return the local task
+	 * @throws IOException if the log cannot be written
+	 */
+	public Task tasksUncomplete(Task task) throws IOException {
+		return this.queue(Operation.UNCOMPLETE, task);
+	}
+	
+	/**
+	 * Deletes a task
+	 * @param task the task to perform the action on
+	 * @return the local task, removed from the store
+	 * @throws IOException if the log cannot be written
+	 */
+	public Task tasksDelete(Task task) throws IOException {
+		return this.queue(Operation.DELETE, task);
+	}
+	
+	/**
+	 * Renames a task
+	 * @param task the task to perform the action on
+	 * @param name the new name
+	 * @return the local task
+	 * @throws IOException if the log cannot be written
+	 */
+	public Task tasksSetName(Task task, String name) throws IOException {
+		return this.queue(Operation.SET_NAME, task, name);
+	}
+	
+	/**
+	 * Sets the priority of a task
+	 * @param task the task to perform the action on
+	 * @param priority the priority to be set
+	 * @return the local task
+	 * @throws IOException if the log cannot be written
+	 */
+	public Task tasksSetPriority(Task task, Priority priority) throws IOException {
+		return this.queue(Operation.SET_PRIORITY, task, priority.name());
+	}
+	
+	/**
+	 * Sets the due date of a task
+	 * @param task the task to perform the action on
+	 * @param due the due date to be set, or null to unset it
+	 * @param hasDueTime specifies whether the due date has a due time
+	 * @return the local task
+	 * @throws IOException if the log cannot be written
+	 */
+	public Task tasksSetDueDate(Task task, Date due, boolean hasDueTime) throws IOException {
+		return this.queue(Operation.SET_DUE_DATE, task, due == null ? "" : DateParser.toISO8601(due), 
+				hasDueTime ? "1" : "0", due == null ? "" : String.valueOf(due.getTime()));
+	}
+	
+	/**
+	 * Adds a note to a task
+	 * @param task the task to perform the action on
+	 * @param title the title of the note
+	 * @param text the text of the note
+	 * @return the local task, with the note
+	 * @throws IOException if the log cannot be written
+	 */
+	public Task tasksAddNote(Task task, String title, String text) throws IOException {
+		return this.queue(Operation.ADD_NOTE, task, title, text);
+	}
+	
+	/**
+	 * Gets the changes waiting to be sent
+	 * @return a copy of the changes, in the order they will be sent
+	 */
+	public synchronized List<Mutation> getPending() {
+		return new ArrayList<Mutation>(this.pending);
+	}
+	
+	/**
+	 * Sends the changes to the server, in the order they were made: first the store is synchronized, 
+	 * then each change is sent and the task returned by the server replaces the local one. 
+	 * Changes made during the replay are sent too. Only one replay runs at a time.
+	 * @param listener decides conflicts and receives the dropped changes, or null to send changes anyway
+	 * @return the number of changes sent
+	 * @throws ServerException if the synchronization is refused by the server (no change is sent), 
+	 * or if the service is unavailable (the changes not sent yet are kept)
+	 * @throws RtmApiException API fatal error
+	 * @throws IOException if the server is unreachable (the changes not sent yet are kept) or the log cannot be written
+	 */
+	public int replay(Listener listener) throws ServerException, RtmApiException, IOException {
+		//a lock instead of a monitor, not to pin a virtual thread while waiting for the server
+		this.replayLock.lock();
+		try {
+			if (this.getPending().isEmpty()) return 0;
+			String timeline = this.api.timelinesCreate();
+			Set<Mutation> dropped = this.synchronize(listener);
+			int sent = 0;
+			for (Mutation mutation = this.peek(); mutation != null; mutation = this.peek()) {
+				if (dropped.contains(mutation)) {
+					this.done(mutation, null);
+					continue;
+				}
+				String[] ids = this.serverIds(mutation);
+				try {
+					Task task = this.send(timeline, mutation, ids);
+					this.done(mutation, task);
+					sent++;
+				} catch (ServerException e) {
+					//the service is down like the network: the change is kept
+					if (e.getCode() == SERVICE_UNAVAILABLE) throw e;
+					this.done(mutation, null);
+					if (listener != null) listener.rejected(mutation, e);
+				} catch (RtmApiException e) {
+					this.done(mutation, null);
+					if (listener != null) listener.rejected(mutation, e);
+				}
+			}
+			return sent;
+		} finally {
+			this.replayLock.unlock();
+		}
+	}
+	
+	//folds the server changes into the store, returning the changes to be dropped
+	private Set<Mutation> synchronize(Listener listener) throws ServerException, RtmApiException, IOException {
+		Set<Mutation> dropped = new HashSet<Mutation>();
+		Date lastSync = this.store.getLastSync();
+		if (lastSync == null) return dropped;
+		SynchedTasks delta = this.api.tasksGetSynchedList(lastSync);
+		Map<String,Task> changed = new HashMap<String,Task>();
+		for (Task task : delta.getTasks()) changed.put(task.getId(), task);
+		Set<String> deleted = new HashSet<String>();
+		for (DeletedTask task : delta.getDeletedTasks()) deleted.add(task.getId());
+		for (Mutation mutation : this.getPending()) {
+			String taskId = this.serverIds(mutation)[0];
+			if (deleted.contains(taskId)) {
+				dropped.add(mutation);
+				if (listener != null) listener.rejected(mutation, null);
+				continue;
+			}
+			Task serverTask = changed.get(taskId);
+			if (serverTask != null && serverTask.getModified() != null 
+					&& serverTask.getModified().after(mutation.queued)
+					&& listener != null && !listener.conflict(mutation, serverTask)) {
+				dropped.add(mutation);
+			}
+		}
+		this.store.apply(delta);
+		//changes still to be sent stay visible in the store
+		for (Mutation mutation : this.getPending()) {
+			if (!dropped.contains(mutation) && changed.containsKey(this.serverIds(mutation)[0])) this.applyLocally(mutation);
+		}
+		return dropped;
+	}
+	
+	private Task send(String timeline, Mutation mutation, String[] ids) throws ServerException, RtmApiException, IOException {
+		String id = ids[0], seriesId = ids[1], listId = ids[2];
+		List<Task> tasks;
+		switch (mutation.operation) {
+		case ADD:
+			if (listId == null) return this.api.tasksAdd(timeline, mutation.arguments[0]);
+			return this.api.tasksAdd(timeline, mutation.arguments[0], listId);
+		case COMPLETE:
+			tasks = this.api.tasksComplete(timeline, id, seriesId, listId);
+			break;
+		case UNCOMPLETE:
+			tasks = this.api.tasksUncomplete(timeline, id, seriesId, listId);
+			break;
+		case DELETE:
+			tasks = this.api.tasksDelete(timeline, id, seriesId, listId);
+			break;
+		case SET_NAME:
+			tasks = this.api.tasksSetName(timeline, id, seriesId, listId, mutation.arguments[0]);
+			break;
+		case SET_PRIORITY:
+			tasks = this.api.tasksSetPriority(timeline, id, seriesId, listId, Priority.valueOf(mutation.arguments[0]));
+			break;
+		case SET_DUE_DATE:
+			tasks = this.api.tasksSetDueDate(timeline, id, seriesId, listId, mutation.arguments[0], "1".equals(mutation.arguments[1]));
+			break;
+		case ADD_NOTE:
+			Note note = this.api.tasksAddNote(timeline, id, seriesId, listId, mutation.arguments[0], mutation.arguments[1]);
+			return this.withNote(this.store.getTask(id), note, TEMPORARY_ID + mutation.sequence);
+		default:
+			throw new IllegalStateException("Unknown operation " + mutation.operation);
+		}
+		for (Task task : tasks) {
+			if (task.getId().equals(id)) return task;
+		}
+		return null;
+	}
+	
+	private Task queue(Operation operation, Task task, String... arguments) throws IOException {
+		return this.queue(operation, task.getId(), task.getTaskserieId(), task.getListId(), arguments);
+	}
+	
+	private synchronized Task queue(Operation operation, String taskId, String taskseriesId, String listId, 
+			String... arguments) throws IOException {
+		Mutation mutation = new Mutation(this.sequence + 1, new Date(), operation, taskId, taskseriesId, listId, arguments);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream record = new DataOutputStream(bytes);
+		record.writeByte(MUTATION);
+		record.writeLong(mutation.sequence);
+		record.writeLong(mutation.queued.getTime());
+		record.writeUTF(operation.name());
+		writeString(record, taskId);
+		writeString(record, taskseriesId);
+		writeString(record, listId);
+		record.writeInt(arguments.length);
+		for (String argument : arguments) writeString(record, argument);
+		this.append(bytes.toByteArray());
+		this.sequence = mutation.sequence;
+		this.pending.add(mutation);
+		return this.applyLocally(mutation);
+	}
+	
+	private synchronized Mutation peek() {
+		return this.pending.peek();
+	}
+	
+	//removes a change handled by a replay, keeping the server IDs of an added task
+	private synchronized void done(Mutation mutation, Task task) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream record = new DataOutputStream(bytes);
+		record.writeByte(DONE);
+		record.writeLong(mutation.sequence);
+		String[] ids = mutation.operation == Operation.ADD && task != null
+				? new String[] {task.getId(), task.getTaskserieId(), task.getListId()} : null;
+		record.writeBoolean(ids != null);
+		if (ids != null) for (String id : ids) writeString(record, id);
+		this.append(bytes.toByteArray());
+		this.pending.remove(mutation);
+		if (ids != null) this.sentIds.put(mutation.taskId, ids);
+		if (task != null) {
+			if (mutation.operation == Operation.ADD) this.store.remove(mutation.taskId);
+			if (mutation.operation == Operation.DELETE) this.store.remove(task.getId());
+			else this.store.put(task);
+		}
+		//the log is emptied when there is nothing left to send
+		if (this.pending.isEmpty()) {
+			RandomAccessFile file = new RandomAccessFile(this.log, "rw");
+			try {
+				file.setLength(0);
+			} finally {
+				file.close();
+			}
+		}
+	}
+	
+	private synchronized String[] serverIds(Mutation mutation) {
+		String[] ids = this.sentIds.get(mutation.taskId);
+		if (ids != null) return ids;
+		return new String[] {mutation.taskId, mutation.taskseriesId, mutation.listId};
+	}
+	
+	private Task applyLocally(Mutation mutation) {
+		String[] ids = this.serverIds(mutation);
+		Task task = this.store.getTask(ids[0]);
+		if (mutation.operation == Operation.ADD) {
+			if (task != null) return task;
+			Date now = mutation.queued;
+			task = new Task(mutation.taskId, mutation.arguments[0], now, null, null, null, "", false, 0, 
+					Priority.NONE, mutation.taskseriesId, null, mutation.listId, now, now, new Note[0], null, 
+					new Contact[0], "api", new String[0], "");
+			this.store.put(task);
+			return task;
+		}
+		if (task == null) return null;
+		task = copy(task);
+		switch (mutation.operation) {
+		case COMPLETE:
+			task.setCompleted(mutation.queued);
+			break;
+		case UNCOMPLETE:
+			task.setCompleted(null);
+			break;
+		case DELETE:
+			task.setDeleted(mutation.queued);
+			this.store.remove(task.getId());
+			return task;
+		case SET_NAME:
+			task.setName(mutation.arguments[0]);
+			break;
+		case SET_PRIORITY:
+			task.setPriority(Priority.valueOf(mutation.arguments[0]));
+			break;
+		case SET_DUE_DATE:
+			task.setDue(mutation.arguments[2].length() == 0 ? null : new Date(Long.parseLong(mutation.arguments[2])));
+			task.setHasDueTime("1".equals(mutation.arguments[1]));
+			break;
+		case ADD_NOTE:
+			String noteId = TEMPORARY_ID + mutation.sequence;
+			task = this.withNote(task, new Note(noteId, mutation.arguments[0], mutation.arguments[1], 
+					mutation.queued, mutation.queued), noteId);
+			break;
+		default:
+			break;
+		}
+		task.setModified(mutation.queued);
+		this.store.put(task);
+		return task;
+	}
+	
+	//a copy of the task with a note, replacing the note with the given ID if present
+	private Task withNote(Task task, Note note, String noteId) {
+		if (task == null) return null;
+		task = copy(task);
+		List<Note> notes = new ArrayList<Note>();
+		if (task.getNotes() != null) notes.addAll(Arrays.asList(task.getNotes()));
+		int index = notes.size();
+		for (int i = 0; i < notes.size(); i++) {
+			if (notes.get(i).getId().equals(noteId)) index = i;
+		}
+		if (index < notes.size()) notes.set(index, note);
+		else notes.add(note);
+		task.setNotes(notes.toArray(new Note[notes.size()]));
+		return task;
+	}
+	
+	private static Task copy(Task task) {
+		return new Task(task.getId(), task.getName(), task.getAdded(), task.getCompleted(), task.getDeleted(), 
+				task.getDue(), task.getEstimate(), task.getHasDueTime(), task.getPostponed(), task.getPriority(), 
+				task.getTaskserieId(), task.getLocationId(), task.getListId(), task.getCreated(), task.getModified(), 
+				task.getNotes(), task.getRecurrence(), task.getParticipants(), task.getSource(), task.getTags(), 
+				task.getUrl());
+	}
+	
+	private void append(byte[] record) throws IOException {
+		FileOutputStream out = new FileOutputStream(this.log, true);
+		try {
+			out.write(record);
+			out.getFD().sync();
+		} finally {
+			out.close();
+		}
+	}
+	
+	private void readLog() throws IOException {
+		if (!this.log.exists() || this.log.length() == 0) return;
+		byte[] data = new byte[(int) this.log.length()];
+		DataInputStream in = new DataInputStream(new FileInputStream(this.log));
+		try {
+			in.readFully(data);
+		} finally {
+			in.close();
+		}
+		Map<Long,Mutation> mutations = new HashMap<Long,Mutation>();
+		ByteArrayInputStream bytes = new ByteArrayInputStream(data);
+		DataInputStream records = new DataInputStream(bytes);
+		int validLength = 0;
+		try {
+			while (bytes.available() > 0) {
+				byte type = records.readByte();
+				if (type == MUTATION) {
+					long sequence = records.readLong();
+					Date queued = new Date(records.readLong());
+					Operation operation = Operation.valueOf(records.readUTF());
+					String taskId = readString(records);
+					String taskseriesId = readString(records);
+					String listId = readString(records);
+					String[] arguments = new String[records.readInt()];
+					for (int i = 0; i < arguments.length; i++) arguments[i] = readString(records);
+					Mutation mutation = new Mutation(sequence, queued, operation, taskId, taskseriesId, listId, arguments);
+					mutations.put(sequence, mutation);
+					this.pending.add(mutation);
+					this.sequence = Math.max(this.sequence, sequence);
+				}
+				else if (type == DONE) {
+					Mutation mutation = mutations.get(records.readLong());
+					if (records.readBoolean()) {
+						String[] ids = {readString(records), readString(records), readString(records)};
+						if (mutation != null) this.sentIds.put(mutation.taskId, ids);
+					}
+					this.pending.remove(mutation);
+				}
+				else throw new IOException("Unknown record in " + this.log);
+				validLength = data.length - bytes.available();
+			}
+		} catch (EOFException e) {
+			//the last record was not completely written: it is discarded
+			RandomAccessFile file = new RandomAccessFile(this.log, "rw");
+			try {
+				file.setLength(validLength);
+			} finally {
+				file.close();
+			}
+		}
+	}
+	
+	//length and UTF-8 bytes, since writeUTF is limited to 64 KB (a long note must be kept as well)
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value == null) return;
+		byte[] bytes = value.getBytes(CodecWriter.UTF8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+	
+	private static String readString(DataInputStream in) throws IOException {
+		if (!in.readBoolean()) return null;
+		int length = in.readInt();
+		//a length beyond the data is a record not completely written
+		if (length < 0 || length > in.available()) throw new EOFException();
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, CodecWriter.UTF8);
+	}
+
+}
@@ -0,0 +1,155 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+
+/**
+ * Downloads all the tasks of a user one list at a time, with many lists fetched at once, instead of the single 
+ * huge response of {@link RtmApi#tasksGetList()}. Each list is parsed by the thread fetching it as soon as it 
+ * arrives; requests wait for the {@link RateLimiter} of the client like any other call.
+ * <pre>
+ *    ExecutorService executor = Executors.newFixedThreadPool(8);
+ *    ParallelTaskFetcher fetcher = new ParallelTaskFetcher(api, executor);
+ *    List&lt;Task&gt; tasks = fetcher.fetchAll(new ParallelTaskFetcher.ProgressListener() {
+ *        public void listFetched(TaskList list, List&lt;Task&gt; tasks, int fetchedLists, int totalLists) {
+ *            progressBar.setProgress(fetchedLists * 100 / totalLists);
+ *        }
+ *    });
+ * </pre>
+ * The number of lists fetched at once is bounded by the threads of the executor. A fetcher is thread-safe.
+ * @author Giovanni Pini
+ *
+ */
+public class ParallelTaskFetcher {
+	
+	/**
+	 * Notified every time the tasks of a list have been fetched
+	 */
+	public interface ProgressListener {
+		
+		/**
+		 * Called by the thread that started the download, as each list is fetched (not in list order)
+		 * @param list the fetched list
+		 * @param tasks the tasks in the list
+		 * @param fetchedLists the number of lists fetched so far, including this one
+		 * @param totalLists the number of lists to be fetched
+		 */
+		void listFetched(TaskList list, List<Task> tasks, int fetchedLists, int totalLists);
+		
+	}
+	
+	private final RtmApi api;
+	private final Executor executor;
+	
+	/**
+	 * Creates a fetcher
+	 * @param api the API object of the user
+	 * @param executor the executor running the requests, which can be shared with other jobs
+	 */
+	public ParallelTaskFetcher(RtmApi api, Executor executor) {
+		if (api == null) throw new IllegalArgumentException("api cannot be null");
+		if (executor == null) throw new IllegalArgumentException("executor cannot be null");
+		this.api = api;
+		this.executor = executor;
+	}
+	
+	/**
+	 * Retrieves the user's whole list of tasks, fetching every list that is neither smart nor deleted
+	 * @param listener notified as each list is fetched, or null
+	 * @return the tasks of all the lists, in the order of the lists returned by {@link RtmApi#listsGetList()}
+	 * @throws ServerException if server answer with an error message
+	 * @throws RtmApiException API fatal error
+	 * @throws IOException if server is unreachable for many reasons
+	 */
+	public List<Task> fetchAll(ProgressListener listener) throws ServerException, RtmApiException, IOException {
+		List<TaskList> lists = new ArrayList<TaskList>();
+		for (TaskList list : this.api.listsGetList()) {
+			if (!list.isSmart() && !list.isDeleted()) lists.add(list);
+		}
+		return this.fetch(lists, listener);
+	}
+	
+	/**
+	 * Retrieves the tasks of some lists. When a list cannot be fetched, the lists not started yet are cancelled 
+	 * and the error is thrown.
+	 * @param lists the lists to be fetched
+	 * @param listener notified as each list is fetched, or null
+	 * @return the tasks of all the lists, in the order of the given lists
+	 * @throws ServerException if server answer with an error message
+	 * @throws RtmApiException API fatal error
+	 * @throws IOException if server is unreachable for many reasons
+	 */
+	public List<Task> fetch(List<TaskList> lists, ProgressListener listener) throws ServerException, RtmApiException, IOException {
+		int total = lists.size();
+		CompletionService<Integer> service = new ExecutorCompletionService<Integer>(this.executor);
+		List<Future<Integer>> futures = new ArrayList<Future<Integer>>(total);
+		final List<List<Task>> results = new ArrayList<List<Task>>(total);
+		for (int i = 0; i < total; i++) {
+			results.add(null);
+			final int index = i;
+			final String listId = lists.get(i).getId();
+			futures.add(service.submit(new Callable<Integer>() {
+				public Integer call() throws Exception {
+					List<Task> tasks = ParallelTaskFetcher.this.api.tasksGetByListId(listId);
+					//published to the waiting thread by the completion queue
+					results.set(index, tasks);
+					return index;
+				}
+			}));
+		}
+		boolean completed = false;
+		try {
+			int size = 0;
+			for (int fetched = 1; fetched <= total; fetched++) {
+				int index = take(service);
+				List<Task> tasks = results.get(index);
+				size += tasks.size();
+				if (listener != null) listener.listFetched(lists.get(index), tasks, fetched, total);
+			}
+			completed = true;
+			List<Task> merged = new ArrayList<Task>(size);
+			for (List<Task> tasks : results) merged.addAll(tasks);
+			return merged;
+		} finally {
+			if (!completed) {
+				for (Future<Integer> future : futures) future.cancel(false);
+			}
+		}
+	}
+	
+	private static int take(CompletionService<Integer> service) throws ServerException, RtmApiException, IOException {
+		try {
+			return service.take().get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while fetching tasks");
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof ServerException) throw (ServerException) cause;
+			if (cause instanceof RtmApiException) throw (RtmApiException) cause;
+			if (cause instanceof IOException) throw (IOException) cause;
+			if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+			if (cause instanceof Error) throw (Error) cause;
+			throw new RtmApiException(cause.toString());
+		}
+	}
+
+}
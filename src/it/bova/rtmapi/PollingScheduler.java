@@ -0,0 +1,343 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.PriorityQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the changes of many accounts with {@link RtmApi#tasksGetSynchedList(Date)} on a shared executor, 
+ * adapting the interval of each account to how often it changes: the interval is halved (down to the minimum) 
+ * after a poll with changes and grows by half (up to the maximum) after an empty one, so idle accounts 
+ * cost few requests and busy ones are followed closely.
+ * <pre>
+ *    PollingScheduler scheduler = new PollingScheduler(executor, client.getRateLimiter(), 30000, 1800000, 8);
+ *    PollingScheduler.Account account = scheduler.register(api, store.getLastSync(), new PollingScheduler.Listener() {
+ *        public void synched(PollingScheduler.Account account, SynchedTasks changes) {
+ *            store.apply(changes);
+ *        }
+ *        public void failed(PollingScheduler.Account account, Exception error) {
+ *            log(error);
+ *        }
+ *    });
+ *    ...
+ *    account.setPendingWrites(true); //the user changed something offline
+ * </pre>
+ * A poll is started only when the rate limiter has a free slot, so polls do not pile up waiting for it and 
+ * the next free slot always goes to the account that needs it most: accounts with pending local writes first 
+ * (polled at the minimum interval), then the accounts whose poll is most overdue. 
+ * At most maxConcurrentPolls polls run at once. A scheduler is thread-safe.
+ * @author Giovanni Pini
+ *
+ */
+public class PollingScheduler {
+	
+	/**
+	 * Receives the result of each poll, on a thread of the executor. 
+	 * The polls of an account never run at once, so an account is notified by one thread at a time.
+	 */
+	public interface Listener {
+		
+		/**
+		 * Called after a successful poll
+		 * @param account the polled account
+		 * @param changes the tasks changed and deleted since the previous poll (possibly none)
+		 */
+		void synched(Account account, SynchedTasks changes);
+		
+		/**
+		 * Called after a failed poll: the account is polled again after a longer interval
+		 * @param account the polled account
+		 * @param error a ServerException, an RtmApiException or an IOException
+		 */
+		void failed(Account account, Exception error);
+		
+	}
+	
+	/**
+	 * An account polled by the scheduler
+	 */
+	public static class Account {
+		
+		private final PollingScheduler scheduler;
+		private final RtmApi api;
+		private final Listener listener;
+		private volatile Date lastSync;
+		private volatile long intervalNanos;
+		//guarded by the lock of the scheduler
+		private long nextPollNanos;
+		private boolean pendingWrites;
+		private boolean cancelled;
+		
+		Account(PollingScheduler scheduler, RtmApi api, Date lastSync, Listener listener) {
+			this.scheduler = scheduler;
+			this.api = api;
+			this.lastSync = lastSync;
+			this.listener = listener;
+		}
+		
+		/**
+		 * Gets the API object of the account
+		 * @return the API object
+		 */
+		public RtmApi getApi() {
+			return this.api;
+		}
+		
+		/**
+		 * Gets the server time of the last successful poll
+		 * @return the last sync, or null if the account was never synchronized
+		 */
+		public Date getLastSync() {
+			return this.lastSync;
+		}
+		
+		/**
+		 * Gets the current interval between two polls of the account
+		 * @param unit the unit of the returned interval
+		 * @return the interval
+		 */
+		public long getInterval(TimeUnit unit) {
+			return unit.convert(this.intervalNanos, TimeUnit.NANOSECONDS);
+		}
+		
+		/**
+		 * Tells the scheduler whether the account has local writes waiting to be sent (e.g. in an {@link OfflineOutbox}): 
+		 * such accounts are polled first and at the minimum interval
+		 * @param pendingWrites true if there are pending writes
+		 */
+		public void setPendingWrites(boolean pendingWrites) {
+			this.scheduler.setPendingWrites(this, pendingWrites);
+		}
+		
+		/**
+		 * Stops polling the account. A running poll is completed.
+		 */
+		public void cancel() {
+			this.scheduler.cancel(this);
+		}
+		
+	}
+	
+	//the most overdue first
+	private static final Comparator<Account> NEXT_POLL = new Comparator<Account>() {
+		@Override
+		public int compare(Account a, Account b) {
+			return a.nextPollNanos < b.nextPollNanos ? -1 : (a.nextPollNanos == b.nextPollNanos ? 0 : 1);
+		}
+	};
+	
+	private static final long SETTLE_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+	
+	private final ScheduledExecutorService executor;
+	private final RateLimiter rateLimiter;
+	private final long minIntervalNanos;
+	private final long maxIntervalNanos;
+	private final int maxConcurrentPolls;
+	private final Object lock = new Object();
+	//accounts with pending writes are taken first when due
+	private final PriorityQueue<Account> urgent = new PriorityQueue<Account>(16, NEXT_POLL);
+	private final PriorityQueue<Account> waiting = new PriorityQueue<Account>(64, NEXT_POLL);
+	private int running;
+	private ScheduledFuture<?> nextDispatch;
+	private long nextDispatchNanos;
+	private boolean shutdown;
+	private final Runnable dispatcher = new Runnable() {
+		@Override
+		public void run() {
+			synchronized (PollingScheduler.this.lock) {
+				PollingScheduler.this.nextDispatch = null;
+			}
+			PollingScheduler.this.dispatch();
+		}
+	};
+	
+	/**
+	 * Creates a scheduler
+	 * @param executor the executor running the polls, which can be shared with other jobs
+	 * @param rateLimiter the rate limiter of the client used by the accounts (See {@link RtmClient#getRateLimiter()}), or null
+	 * @param minIntervalMillis the shortest interval between two polls of an account
+	 * @param maxIntervalMillis the longest interval between two polls of an account
+	 * @param maxConcurrentPolls the maximum number of polls running at once
+	 */
+	public PollingScheduler(ScheduledExecutorService executor, RateLimiter rateLimiter, long minIntervalMillis, 
+			long maxIntervalMillis, int maxConcurrentPolls) {
+		if (executor == null) throw new IllegalArgumentException("executor cannot be null");
+		if (minIntervalMillis <= 0 || maxIntervalMillis < minIntervalMillis) throw new IllegalArgumentException("Invalid intervals");
+		if (maxConcurrentPolls < 1) throw new IllegalArgumentException("maxConcurrentPolls must be positive");
+		this.executor = executor;
+		this.rateLimiter = rateLimiter;
+		this.minIntervalNanos = TimeUnit.MILLISECONDS.toNanos(minIntervalMillis);
+		this.maxIntervalNanos = TimeUnit.MILLISECONDS.toNanos(maxIntervalMillis);
+		this.maxConcurrentPolls = maxConcurrentPolls;
+	}
+	
+	/**
+	 * Starts polling an account: the first poll is performed as soon as possible, then at the minimum interval 
+	 * until the account proves idle
+	 * @param api the API object of the account
+	 * @param lastSync the last sync of the account, or null to get all its tasks at the first poll
+	 * @param listener the receiver of the polls
+	 * @return the handle of the account
+	 */
+	public Account register(RtmApi api, Date lastSync, Listener listener) {
+		if (api == null) throw new IllegalArgumentException("api cannot be null");
+		if (listener == null) throw new IllegalArgumentException("listener cannot be null");
+		Account account = new Account(this, api, lastSync, listener);
+		account.intervalNanos = this.minIntervalNanos;
+		synchronized (this.lock) {
+			if (this.shutdown) throw new IllegalStateException("Scheduler is shut down");
+			account.nextPollNanos = System.nanoTime();
+			this.queue(account);
+		}
+		this.dispatch();
+		return account;
+	}
+	
+	/**
+	 * Stops polling all the accounts. Running polls are completed; the executor is not shut down.
+	 */
+	public void shutdown() {
+		synchronized (this.lock) {
+			this.shutdown = true;
+			this.urgent.clear();
+			this.waiting.clear();
+			if (this.nextDispatch != null) this.nextDispatch.cancel(false);
+		}
+	}
+	
+	/**
+	 * Gets the number of accounts being polled
+	 * @return the number of accounts
+	 */
+	public int getAccounts() {
+		synchronized (this.lock) {
+			return this.urgent.size() + this.waiting.size() + this.running;
+		}
+	}
+	
+	private void setPendingWrites(Account account, boolean pendingWrites) {
+		synchronized (this.lock) {
+			if (account.pendingWrites == pendingWrites) return;
+			boolean queued = this.urgent.remove(account) || this.waiting.remove(account);
+			account.pendingWrites = pendingWrites;
+			if (pendingWrites) account.nextPollNanos = Math.min(account.nextPollNanos, System.nanoTime());
+			if (queued) this.queue(account);
+		}
+		this.dispatch();
+	}
+	
+	private void cancel(Account account) {
+		synchronized (this.lock) {
+			account.cancelled = true;
+			if (!this.urgent.remove(account)) this.waiting.remove(account);
+		}
+	}
+	
+	private void dispatch() {
+		synchronized (this.lock) {
+			if (this.shutdown) return;
+			long now = System.nanoTime();
+			while (this.running < this.maxConcurrentPolls) {
+				PriorityQueue<Account> queue = this.nextQueue(now);
+				if (queue == null) return;
+				Account account = queue.peek();
+				if (account.nextPollNanos > now) {
+					this.scheduleDispatch(account.nextPollNanos - now);
+					return;
+				}
+				//a poll waiting for the limiter would hold the slot of a more urgent account
+				long wait = this.rateLimiter == null ? 0 : this.rateLimiter.getWaitTime(TimeUnit.NANOSECONDS);
+				if (wait > 0) {
+					this.scheduleDispatch(wait);
+					return;
+				}
+				queue.poll();
+				this.running++;
+				this.startPoll(account);
+				//the next account is checked once the started poll has taken its slot of the limiter
+				if (this.rateLimiter != null) {
+					this.scheduleDispatch(SETTLE_NANOS);
+					return;
+				}
+			}
+		}
+	}
+	
+	//the queue of the next account to be polled, or null if there are no accounts
+	private PriorityQueue<Account> nextQueue(long now) {
+		Account urgent = this.urgent.peek();
+		Account other = this.waiting.peek();
+		if (urgent == null) return other == null ? null : this.waiting;
+		if (other == null || urgent.nextPollNanos <= now) return this.urgent;
+		return other.nextPollNanos < urgent.nextPollNanos ? this.waiting : this.urgent;
+	}
+	
+	private void queue(Account account) {
+		if (account.pendingWrites) this.urgent.add(account);
+		else this.waiting.add(account);
+	}
+	
+	private void scheduleDispatch(long delayNanos) {
+		long at = System.nanoTime() + delayNanos;
+		if (this.nextDispatch != null && !this.nextDispatch.isDone() && this.nextDispatchNanos - at <= 0) return;
+		if (this.nextDispatch != null) this.nextDispatch.cancel(false);
+		this.nextDispatchNanos = at;
+		this.nextDispatch = this.executor.schedule(this.dispatcher, delayNanos, TimeUnit.NANOSECONDS);
+	}
+	
+	private void startPoll(final Account account) {
+		this.executor.execute(new Runnable() {
+			@Override
+			public void run() {
+				PollingScheduler.this.poll(account);
+			}
+		});
+	}
+	
+	private void poll(Account account) {
+		long interval = account.intervalNanos;
+		try {
+			Date lastSync = account.lastSync;
+			SynchedTasks changes = account.api.tasksGetSynchedList(lastSync == null ? new Date(0) : lastSync);
+			if (changes.getCurrentTime() != null) account.lastSync = changes.getCurrentTime();
+			boolean changed = !changes.getTasks().isEmpty() || !changes.getDeletedTasks().isEmpty();
+			interval = changed ? Math.max(this.minIntervalNanos, interval / 2) 
+					: Math.min(this.maxIntervalNanos, interval + interval / 2);
+			account.listener.synched(account, changes);
+		} catch (ServerException e) {
+			interval = Math.min(this.maxIntervalNanos, interval * 2);
+			account.listener.failed(account, e);
+		} catch (RtmApiException e) {
+			interval = Math.min(this.maxIntervalNanos, interval * 2);
+			account.listener.failed(account, e);
+		} catch (IOException e) {
+			interval = Math.min(this.maxIntervalNanos, interval * 2);
+			account.listener.failed(account, e);
+		} finally {
+			account.intervalNanos = interval;
+			synchronized (this.lock) {
+				this.running--;
+				if (!account.cancelled && !this.shutdown) {
+					account.nextPollNanos = System.nanoTime() + (account.pendingWrites ? this.minIntervalNanos : interval);
+					this.queue(account);
+				}
+			}
+			this.dispatch();
+		}
+	}
+
+}
@@ -0,0 +1,31 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+
+/**
+ * A source of items delivered to subscribers at the pace they request them (See {@link ReactiveRtmApi}). 
+ * It has the same methods as java.util.concurrent.Flow.Publisher and org.reactivestreams.Publisher, 
+ * which are not available on every platform, so an adapter to them is a one-line delegation.
+ * @author Giovanni Pini
+ *
+ * @param <T> the type of the items
+ */
+public interface Publisher<T> {
+	
+	/**
+	 * Adds a subscriber: its onSubscribe method is called at once, then nothing is done until it requests items. 
+	 * Every subscriber gets its own request to the server.
+	 * @param subscriber the subscriber
+	 */
+	void subscribe(Subscriber<? super T> subscriber);
+
+}
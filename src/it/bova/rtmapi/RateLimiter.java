@@ -0,0 +1,105 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A rate limiter for the requests to the server, to be shared by all the users of an {@link RtmClient}.
+ * Remember the Milk allows an average of one request per second per API key, with small bursts
+ * (See <a href="https://www.rememberthemilk.com/services/api/ratelimit.rtm">Rate limit</a>).
+ * The limiter is lock-free: callers only wait for their own time slot.
+ * @author Giovanni Pini
+ *
+ */
+public class RateLimiter {
+	
+	private final long intervalNanos;
+	private final long burstNanos;
+	private final AtomicLong nextFree = new AtomicLong(Long.MIN_VALUE);
+	
+	/**
+	 * Creates a limiter with the limits documented by Remember the Milk: one request per second, bursts of three
+	 */
+	public RateLimiter() {
+		this(1.0, 3);
+	}
+	
+	/**
+	 * Creates a limiter
+	 * @param permitsPerSecond the average number of requests per second
+	 * @param burst the number of requests that can be performed at once after an idle period
+	 */
+	public RateLimiter(double permitsPerSecond, int burst) {
+		if (permitsPerSecond <= 0) throw new IllegalArgumentException("permitsPerSecond must be positive");
+		if (burst < 1) throw new IllegalArgumentException("burst must be at least 1");
+		this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+		this.burstNanos = (burst - 1) * this.intervalNanos;
+	}
+	
+	/**
+	 * Waits until a request can be performed
+	 * @throws InterruptedIOException if the thread is interrupted while waiting
+	 */
+	public void acquire() throws InterruptedIOException {
+		long waitNanos = this.reserve();
+		if (waitNanos <= 0) return;
+		try {
+			TimeUnit.NANOSECONDS.sleep(waitNanos);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for rate limit");
+		}
+	}
+	
+	/**
+	 * Performs a request only if it can be done without waiting
+	 * @return true if the request can be performed now, false otherwise (nothing is reserved)
+	 */
+	public boolean tryAcquire() {
+		while (true) {
+			long now = System.nanoTime();
+			long next = this.nextFree.get();
+			long start = Math.max(next, now - this.burstNanos);
+			if (start > now) return false;
+			if (this.nextFree.compareAndSet(next, start + this.intervalNanos)) return true;
+		}
+	}
+	
+	/**
+	 * Reserves the next time slot
+	 * @return the nanoseconds to wait before the slot begins
+	 */
+	long reserve() {
+		while (true) {
+			long now = System.nanoTime();
+			long next = this.nextFree.get();
+			//unused capacity of an idle period is kept up to the burst size
+			long start = Math.max(next, now - this.burstNanos);
+			if (this.nextFree.compareAndSet(next, start + this.intervalNanos)) return start - now;
+		}
+	}
+	
+	/**
+	 * Gets the time needed to perform a request without waiting
+	 * @param unit the unit of the returned time
+	 * @return the time to wait for a free slot, 0 if a request can be performed now
+	 */
+	public long getWaitTime(TimeUnit unit) {
+		long next = this.nextFree.get();
+		if (next == Long.MIN_VALUE) return 0;
+		long wait = next - System.nanoTime();
+		return wait <= 0 ? 0 : unit.convert(wait, TimeUnit.NANOSECONDS);
+	}
+
+}
@@ -0,0 +1,83 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A response as received from the server, before parsing. The body is a stream read only once, by the parser: 
+ * interceptors should wrap it (e.g. in a {@link java.io.FilterInputStream}) rather than read it, or
+ * replace the whole response.
+ * @author Giovanni Pini
+ *
+ */
+public class RawResponse {
+	
+	private final int status;
+	private final InputStream body;
+	private final long contentLength;
+	
+	/**
+	 * Creates a response
+	 * @param status the HTTP status code
+	 * @param body the body of the response, closed by the consumer
+	 * @param contentLength the length of the body in bytes, or -1 if unknown
+	 */
+	public RawResponse(int status, InputStream body, long contentLength) {
+		if (body == null) throw new IllegalArgumentException("body cannot be null");
+		this.status = status;
+		this.body = body;
+		this.contentLength = contentLength;
+	}
+	
+	/**
+	 * Creates a copy of this response with another body (e.g. a wrapper of the original one)
+	 * @param body the new body
+	 * @return the new response
+	 */
+	public RawResponse withBody(InputStream body) {
+		return new RawResponse(this.status, body, this.contentLength);
+	}
+
+	/**
+	 * Gets the HTTP status code
+	 * @return the status code
+	 */
+	public int getStatus() {
+		return this.status;
+	}
+
+	/**
+	 * Gets the body of the response
+	 * @return the body stream
+	 */
+	public InputStream getBody() {
+		return this.body;
+	}
+
+	/**
+	 * Gets the length of the body
+	 * @return the length in bytes, or -1 if unknown
+	 */
+	public long getContentLength() {
+		return this.contentLength;
+	}
+	
+	/**
+	 * Closes the body, giving back the connection to the pool
+	 * @throws IOException if the stream cannot be closed
+	 */
+	public void close() throws IOException {
+		this.body.close();
+	}
+
+}
@@ -0,0 +1,338 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Date;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Publisher variants of the API, for reactive pipelines. Reads are streamed: each task is handed to the 
+ * subscriber as soon as it is decoded, and the thread reading the response waits while the subscriber has 
+ * no outstanding demand, so the subscriber sets the pace of the decoder and memory stays bounded.
+ * <pre>
+ *    ReactiveRtmApi reactive = new ReactiveRtmApi(api, executor);
+ *    reactive.tasksGetByListId(listId).subscribe(new Subscriber&lt;Task&gt;() {
+ *        private Subscription subscription;
+ *        public void onSubscribe(Subscription subscription) {
+ *            this.subscription = subscription;
+ *            subscription.request(100);
+ *        }
+ *        public void onNext(Task task) {
+ *            index(task);
+ *            ...
+ *            this.subscription.request(1);
+ *        }
+ *        public void onError(Throwable error) { ... }
+ *        public void onComplete() { ... }
+ *    });
+ * </pre>
+ * Publishers are cold: nothing is sent until the first request, and every subscriber gets its own request to the server, 
+ * run on the executor once onSubscribe has returned, so that signals are delivered one at a time. A request for no items 
+ * before the read has started fails the subscriber without sending anything. Publisher and Subscriber have the methods of java.util.concurrent.Flow, to be adapted by delegation. 
+ * <p>
+ * While it waits for demand, the thread holds the open response with its connection (and its permit of a 
+ * {@link HostLimitedTransport}), so the wait is bounded: a subscriber without demand for longer than the demand timeout 
+ * (one minute by default) gets an InterruptedIOException in onError, and the response is closed. 
+ * A subscriber throwing from onNext is cancelled.
+ * @author Giovanni Pini
+ *
+ */
+public class ReactiveRtmApi {
+	
+	private static final long DEFAULT_DEMAND_TIMEOUT_MILLIS = 60000;
+	
+	private final RtmApi api;
+	private final Executor executor;
+	private final long demandTimeoutNanos;
+	
+	/**
+	 * Creates the publisher variants of an API object, waiting one minute at most for the demand of a subscriber
+	 * @param api the API object of the user
+	 * @param executor the executor running the requests; its threads wait for the demand of the subscribers
+	 */
+	public ReactiveRtmApi(RtmApi api, Executor executor) {
+		this(api, executor, DEFAULT_DEMAND_TIMEOUT_MILLIS);
+	}
+	
+	/**
+	 * Creates the publisher variants of an API object
+	 * @param api the API object of the user
+	 * @param executor the executor running the requests; its threads wait for the demand of the subscribers
+	 * @param demandTimeoutMillis how long a response is kept open waiting for the demand of a subscriber, 
+	 * or 0 to wait as long as needed
+	 */
+	public ReactiveRtmApi(RtmApi api, Executor executor, long demandTimeoutMillis) {
+		if (api == null) throw new IllegalArgumentException("api cannot be null");
+		if (executor == null) throw new IllegalArgumentException("executor cannot be null");
+		if (demandTimeoutMillis < 0) throw new IllegalArgumentException("demandTimeoutMillis cannot be negative");
+		this.api = api;
+		this.executor = executor;
+		this.demandTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(demandTimeoutMillis);
+	}
+	
+	/**
+	 * Publishes the user's whole list of tasks
+	 * @return the publisher of the tasks
+	 */
+	public Publisher<Task> tasksGetList() {
+		return new StreamPublisher<Task>() {
+			@Override
+			void read(StreamSubscription<Task> subscription) throws ServerException, RtmApiException, IOException {
+				ReactiveRtmApi.this.api.tasksGetList(taskConsumer(subscription));
+			}
+		};
+	}
+	
+	/**
+	 * Publishes the tasks matching a filter
+	 * @param filter the filter (See <a href="https://www.rememberthemilk.com/help/?ctx=basics.search.advanced">Advanced search</a>)
+	 * @return the publisher of the tasks
+	 */
+	public Publisher<Task> tasksGetByFilter(final String filter) {
+		return new StreamPublisher<Task>() {
+			@Override
+			void read(StreamSubscription<Task> subscription) throws ServerException, RtmApiException, IOException {
+				ReactiveRtmApi.this.api.tasksGetByFilter(filter, taskConsumer(subscription));
+			}
+		};
+	}
+	
+	/**
+	 * Publishes the tasks of a list
+	 * @param listId the ID of the list
+	 * @return the publisher of the tasks
+	 */
+	public Publisher<Task> tasksGetByListId(final String listId) {
+		return new StreamPublisher<Task>() {
+			@Override
+			void read(StreamSubscription<Task> subscription) throws ServerException, RtmApiException, IOException {
+				ReactiveRtmApi.this.api.tasksGetByListId(listId, taskConsumer(subscription));
+			}
+		};
+	}
+	
+	/**
+	 * Publishes the tasks changed and deleted after a date/time. The time of the server, to be used as next 
+	 * last sync, is not an item: use {@link RtmApi#tasksGetSynchedList(Date, SynchedTaskConsumer)} when it is needed.
+	 * @param lastSync the time after which changes must be retrieved
+	 * @return the publisher of the changes
+	 */
+	public Publisher<SyncEvent> tasksGetSynchedList(final Date lastSync) {
+		return new StreamPublisher<SyncEvent>() {
+			@Override
+			void read(final StreamSubscription<SyncEvent> subscription) throws ServerException, RtmApiException, IOException {
+				ReactiveRtmApi.this.api.tasksGetSynchedList(lastSync, new SynchedTaskConsumer() {
+					@Override
+					public boolean accept(Task task) throws IOException {
+						return subscription.emit(new SyncEvent(task, null));
+					}
+					@Override
+					public boolean acceptDeleted(DeletedTask task) throws IOException {
+						return subscription.emit(new SyncEvent(null, task));
+					}
+				});
+			}
+		};
+	}
+	
+	/**
+	 * Publishes the result of any call, e.g. a mutation:
+	 * <pre>
+	 *    Publisher&lt;List&lt;Task&gt;&gt; completed = reactive.publish(new ConcurrentCalls.Call&lt;List&lt;Task&gt;&gt;() {
+	 *        public List&lt;Task&gt; call() throws ServerException, RtmApiException, IOException {
+	 *            return api.tasksComplete(timeline, task);
+	 *        }
+	 *    });
+	 * </pre>
+	 * The call is performed once for every subscriber, at its first request.
+	 * @param <T> the type of the result
+	 * @param call the call to be performed
+	 * @return the publisher of the result: one item (none if the result is null), then completion
+	 */
+	public <T> Publisher<T> publish(final ConcurrentCalls.Call<T> call) {
+		return new StreamPublisher<T>() {
+			@Override
+			void read(StreamSubscription<T> subscription) throws ServerException, RtmApiException, IOException {
+				T result = call.call();
+				if (result != null) subscription.emit(result);
+			}
+		};
+	}
+	
+	private static TaskConsumer taskConsumer(final StreamSubscription<Task> subscription) {
+		return new TaskConsumer() {
+			@Override
+			public boolean accept(Task task) throws IOException {
+				return subscription.emit(task);
+			}
+		};
+	}
+	
+	//a cold publisher reading a response on the executor for each subscriber
+	private abstract class StreamPublisher<T> implements Publisher<T> {
+		
+		@Override
+		public void subscribe(Subscriber<? super T> subscriber) {
+			if (subscriber == null) throw new NullPointerException("subscriber cannot be null");
+			StreamSubscription<T> subscription = new StreamSubscription<T>(this, subscriber);
+			subscriber.onSubscribe(subscription);
+			//the read starts only after onSubscribe has returned, so that signals never overlap
+			subscription.subscribed();
+		}
+		
+		abstract void read(StreamSubscription<T> subscription) throws ServerException, RtmApiException, IOException;
+		
+	}
+	
+	private class StreamSubscription<T> implements Subscription, Runnable {
+		
+		private final StreamPublisher<T> publisher;
+		private final Subscriber<? super T> subscriber;
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Condition demanded = this.lock.newCondition();
+		//guarded by lock
+		private long demand;
+		private boolean subscribed;
+		private boolean started;
+		private boolean cancelled;
+		private Throwable requestError;
+		
+		StreamSubscription(StreamPublisher<T> publisher, Subscriber<? super T> subscriber) {
+			this.publisher = publisher;
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public void request(long n) {
+			Throwable error;
+			boolean start;
+			this.lock.lock();
+			try {
+				if (this.cancelled) return;
+				//a running read delivers the error; otherwise nothing is sent to the server
+				if (n <= 0) this.requestError = new IllegalArgumentException("Requested items must be positive: " + n);
+				else this.demand = this.demand + n < 0 ? Long.MAX_VALUE : this.demand + n;
+				this.demanded.signalAll();
+				error = this.failBeforeStart();
+				start = this.startable();
+			} finally {
+				this.lock.unlock();
+			}
+			this.signal(error, start);
+		}
+		
+		void subscribed() {
+			Throwable error;
+			boolean start;
+			this.lock.lock();
+			try {
+				this.subscribed = true;
+				error = this.failBeforeStart();
+				start = this.startable();
+			} finally {
+				this.lock.unlock();
+			}
+			this.signal(error, start);
+		}
+		
+		//the error of an invalid request made before the read started, cancelling the subscription (guarded by lock)
+		private Throwable failBeforeStart() {
+			if (this.requestError == null || this.started || this.cancelled || !this.subscribed) return null;
+			this.cancelled = true;
+			return this.requestError;
+		}
+		
+		//marks the read started if onSubscribe has returned and there is demand (guarded by lock)
+		private boolean startable() {
+			if (this.started || this.cancelled || !this.subscribed || this.demand == 0) return false;
+			this.started = true;
+			return true;
+		}
+		
+		private void signal(Throwable error, boolean start) {
+			if (error != null) this.subscriber.onError(error);
+			else if (start) ReactiveRtmApi.this.executor.execute(this);
+		}
+
+		@Override
+		public void cancel() {
+			this.lock.lock();
+			try {
+				this.cancelled = true;
+				this.demanded.signalAll();
+			} finally {
+				this.lock.unlock();
+			}
+		}
+		
+		@Override
+		public void run() {
+			try {
+				this.publisher.read(this);
+			} catch (Exception e) {
+				this.finish(e);
+				return;
+			}
+			this.finish(null);
+		}
+		
+		private void finish(Throwable error) {
+			this.lock.lock();
+			try {
+				if (this.cancelled) return;
+				this.cancelled = true;
+				if (error == null) error = this.requestError;
+			} finally {
+				this.lock.unlock();
+			}
+			if (error != null) this.subscriber.onError(error);
+			else this.subscriber.onComplete();
+		}
+		
+		//waits for demand on the thread reading the response, then hands the item to the subscriber
+		boolean emit(T item) throws InterruptedIOException {
+			long timeout = ReactiveRtmApi.this.demandTimeoutNanos;
+			this.lock.lock();
+			try {
+				long remaining = timeout;
+				while (this.demand == 0 && !this.cancelled && this.requestError == null) {
+					if (timeout == 0) this.demanded.await();
+					else if (remaining > 0) remaining = this.demanded.awaitNanos(remaining);
+					//the error stops the read, closing the response, and goes to onError
+					else throw new InterruptedIOException("No demand from the subscriber for " 
+							+ TimeUnit.NANOSECONDS.toMillis(timeout) + " ms");
+				}
+				if (this.cancelled || this.requestError != null) return false;
+				if (this.demand != Long.MAX_VALUE) this.demand--;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while waiting for demand");
+			} finally {
+				this.lock.unlock();
+			}
+			try {
+				this.subscriber.onNext(item);
+			} catch (RuntimeException e) {
+				//a failing subscriber is cancelled, not signalled
+				this.cancel();
+				return false;
+			}
+			return true;
+		}
+		
+	}
+
+}
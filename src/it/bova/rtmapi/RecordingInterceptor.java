@@ -0,0 +1,133 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Saves to disk the raw body of every successful response, to be served again by {@link ReplayInterceptor}
+ * (e.g. for repeatable benchmarks without network noise). The body is copied while the parser reads it, so
+ * recording does not delay the call.
+ * <pre>
+ *    client.addInterceptor(new RecordingInterceptor(new File("recorded"), "timeline"));
+ * </pre>
+ * Parameters changing at every run (like "timeline") should be ignored, so that replayed requests match.
+ * @author Giovanni Pini
+ *
+ */
+public class RecordingInterceptor implements Interceptor {
+	
+	private final Recordings recordings;
+	
+	/**
+	 * Creates a recorder
+	 * @param directory the directory of the recorded responses, created if missing
+	 * @param ignoredParameters the parameters not identifying a request (the signature is always ignored)
+	 */
+	public RecordingInterceptor(File directory, String... ignoredParameters) {
+		this.recordings = new Recordings(directory, ignoredParameters);
+	}
+
+	public RawResponse intercept(Chain chain) throws RtmApiException, IOException {
+		String key = this.recordings.key(chain);
+		RawResponse response = chain.proceed();
+		if (response.getStatus() != 200) return response;
+		try {
+			File directory = this.recordings.getDirectory();
+			if (!directory.isDirectory() && !directory.mkdirs()) throw new IOException("Cannot create " + directory);
+			return response.withBody(new TeeInputStream(response.getBody(), this.recordings, key));
+		} catch (IOException e) {
+			//the connection goes back to the pool
+			response.close();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Copies a stream to a file while it is read; the file appears only if the stream is read to the end, 
+	 * and only then it takes the next occurrence index of its request, so that indexes have no gaps
+	 */
+	private static class TeeInputStream extends FilterInputStream {
+		private final Recordings recordings;
+		private final String key;
+		private final File partial;
+		private OutputStream out;
+		private boolean complete = false;
+		
+		TeeInputStream(InputStream in, Recordings recordings, String key) throws IOException {
+			super(in);
+			this.recordings = recordings;
+			this.key = key;
+			this.partial = File.createTempFile(key + "-", ".part", recordings.getDirectory());
+			this.out = new FileOutputStream(this.partial);
+		}
+		
+		@Override
+		public int read() throws IOException {
+			int result = super.read();
+			if (result == -1) this.complete = true;
+			else if (this.out != null) this.out.write(result);
+			return result;
+		}
+		
+		@Override
+		public int read(byte[] bytes, int offset, int length) throws IOException {
+			int result = super.read(bytes, offset, length);
+			if (result == -1) this.complete = true;
+			else if (this.out != null) this.out.write(bytes, offset, result);
+			return result;
+		}
+		
+		@Override
+		public long skip(long n) throws IOException {
+			//skipped bytes would not be recorded
+			long skipped = 0;
+			while (skipped < n && this.read() != -1) skipped++;
+			return skipped;
+		}
+		
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+		
+		@Override
+		public void close() throws IOException {
+			try {
+				super.close();
+			} finally {
+				if (this.out != null) {
+					this.out.close();
+					this.out = null;
+					if (this.complete) this.save();
+					else this.partial.delete();
+				}
+			}
+		}
+		
+		private void save() {
+			synchronized (this.recordings) {
+				File file = this.recordings.file(this.key, this.recordings.next(this.key));
+				if ((file.exists() && !file.delete()) || !this.partial.renameTo(file)) {
+					this.partial.delete();
+					//the index stays unused: a later occurrence must not be saved after a gap
+					this.recordings.release(this.key);
+				}
+			}
+		}
+	}
+
+}
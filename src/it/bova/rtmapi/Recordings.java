@@ -0,0 +1,84 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Naming of the responses saved by {@link RecordingInterceptor} and served by {@link ReplayInterceptor}:
+ * a request is identified by its method and a hash of its parameters (signature and ignored parameters
+ * excluded); the same request made many times is saved once per occurrence, in order.
+ */
+class Recordings {
+	
+	private final File directory;
+	private final Set<String> ignoredParameters;
+	private final ConcurrentMap<String,AtomicInteger> occurrences = new ConcurrentHashMap<String,AtomicInteger>();
+	
+	Recordings(File directory, String... ignoredParameters) {
+		if (directory == null) throw new IllegalArgumentException("directory cannot be null");
+		this.directory = directory;
+		Set<String> ignored = new HashSet<String>(Arrays.asList(ignoredParameters));
+		ignored.add("api_sig");
+		this.ignoredParameters = Collections.unmodifiableSet(ignored);
+	}
+	
+	File getDirectory() {
+		return this.directory;
+	}
+	
+	String key(Interceptor.Chain chain) throws RtmApiException {
+		StringBuilder sb = new StringBuilder();
+		for (Map.Entry<String,String> parameter : chain.getParameters().entrySet()) {
+			if (this.ignoredParameters.contains(parameter.getKey())) continue;
+			sb.append(parameter.getKey()).append('=').append(parameter.getValue()).append('&');
+		}
+		return chain.getMethod() + "-" + Md5Helper.md5(sb.toString());
+	}
+	
+	/**
+	 * Gets the index of the next occurrence of a request
+	 */
+	int next(String key) {
+		AtomicInteger counter = this.occurrences.get(key);
+		if (counter == null) {
+			AtomicInteger tmpCounter = new AtomicInteger();
+			counter = this.occurrences.putIfAbsent(key, tmpCounter);
+			if (counter == null) counter = tmpCounter;
+		}
+		return counter.getAndIncrement();
+	}
+	
+	/**
+	 * Gives back the last index got from {@link #next(String)}, when nothing could be saved with it
+	 */
+	void release(String key) {
+		AtomicInteger counter = this.occurrences.get(key);
+		if (counter != null) counter.decrementAndGet();
+	}
+	
+	File file(String key, int occurrence) {
+		return new File(this.directory, key + "-" + occurrence + ".json");
+	}
+	
+	void reset() {
+		this.occurrences.clear();
+	}
+
+}
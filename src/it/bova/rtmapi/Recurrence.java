@@ -1,100 +1,214 @@
-//Copyright 2012 Giovanni Pini
-//Licensed under the Apache License, Version 2.0 (the "License");
-//you may not use this file except in compliance with the License.
-//You may obtain a copy of the License at
-//http://www.apache.org/licenses/LICENSE-2.0
-//Unless required by applicable law or agreed to in writing, software
-//distributed under the License is distributed on an "AS IS" BASIS,
-//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
-//See the License for the specific language governing permissions and
-//limitations under the License.
-
-package it.bova.rtmapi;
-
-import java.io.Serializable;
-
-/**
- * A class for the definition of a repetition rule for a Task. The fields are
- * <ul>
- * <li> <b>every</b> - A boolean value that is true if the repetition rule is "every" (independent form completion)
- * , false if the rule is "after" (after completion)
- * <li> <b>frequency</b> - The Frequency enum of repetition (e.g. yearly, monthly, etc.)
- * <li> <b>interval</b> - The interval of repetition associated to frequency (e.g. <b>3</b> months, <b>6</b> weeks, etc.)
- * <li> <b>optionName</b> - An optional repetition option (currently known options: BYDAY, BYMONTHDAY, COUNT.
- * See {@link https://www.rememberthemilk.com/help/answers/basics/repeatformat.rtm}
- * <li> <b>optionValue</b> - The value defining better the above mentioned option (e.g. the last Saturday, 20 times, etc.)
- * See {@link https://www.rememberthemilk.com/help/answers/basics/repeatformat.rtm}
- * @author Giovanni Pini
- *
- */
-public class Recurrence implements Serializable{
-	
-	private boolean every;
-	private Frequency frequency;
-	private int interval = 0;
-	private RecurrenceOption option;
-	private String optionValue = "";
-	
-	public enum RecurrenceOption {
-		BYDAY("BYDAY"),BYMONTHDAY("BYMONTHDAY"),COUNT("COUNT"),UNTIL("UNTIL");
-		private String option;
-		RecurrenceOption(String s) {option = s;}
-		String getOption() {return option;}
-	}
-	
-	public Frequency getFrequency() {return this.frequency;}
-	public int getInterval() {return this.interval;}
-	public boolean isEvery() {return this.every;}
-	public boolean hasOption() { return this.option != null; }
-	public RecurrenceOption getOption() {return this.option;}
-	public String getOptionValue() {return this.optionValue;}
-
-	public Recurrence(boolean every, int interval, Frequency freq,
-			RecurrenceOption option, String optionValue) {
-		this.every = every;
-		this.interval = interval;
-		this.frequency = freq;
-		this.option = option;
-		this.optionValue = optionValue;
-	}
-	
-	public Recurrence(boolean every, String string) {
-		this.every = every;
-		String[] tokens = string.split(";");
-		for (int i = 0; i < tokens.length; i++) {
-			String[] valuePair = tokens[i].split("=");
-			if (valuePair.length == 2) {
-				if (valuePair[0].equals("FREQ")) this.frequency = Frequency.parseFrequency(valuePair[1]);
-				else if (valuePair[0].equals("INTERVAL")) this.interval = Integer.valueOf(valuePair[1]);
-				else if (valuePair[0].equalsIgnoreCase("BYDAY")) {
-					option = RecurrenceOption.BYDAY;
-					this.optionValue = valuePair[1];
-				}
-				else if (valuePair[0].equalsIgnoreCase("COUNT")) {
-					option = RecurrenceOption.COUNT;
-					this.optionValue = valuePair[1];
-				}
-				else if (valuePair[0].equalsIgnoreCase("UNTIL")) {
-					option = RecurrenceOption.UNTIL;
-					this.optionValue = valuePair[1];
-				}
-				else if (valuePair[0].equalsIgnoreCase("BYMONTHDAY")) {
-					option = RecurrenceOption.BYMONTHDAY;
-					this.optionValue = valuePair[1];
-				}
-				else {
-					option = null;
-					this.optionValue = "";
-				}
-			}	
-		}
-	}
-
-	@Override
-	public String toString() {
-		return "Recurrence [every=" + every + ", frequency=" + frequency
-				+ ", interval=" + interval + ", optionName=" + option
-				+ ", optionValue=" + optionValue + "]";
-	}
-}
-
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * A class for the definition of a repetition rule for a Task. The fields are
+ * <ul>
+ * <li> <b>every</b> - A boolean value that is true if the repetition rule is "every" (independent form completion)
+ * , false if the rule is "after" (after completion)
+ * <li> <b>frequency</b> - The Frequency enum of repetition (e.g. yearly, monthly, etc.)
+ * <li> <b>interval</b> - The interval of repetition associated to frequency (e.g. <b>3</b> months, <b>6</b> weeks, etc.)
+ * <li> <b>optionName</b> - An optional repetition option (currently known options: BYDAY, BYMONTHDAY, BYMONTH, COUNT, UNTIL),
+ * the last one of the rule; it is null if the rule ends with an option that is not known.
+ * See {@link https://www.rememberthemilk.com/help/answers/basics/repeatformat.rtm}
+ * <li> <b>optionValue</b> - The value defining better the above mentioned option (e.g. the last Saturday, 20 times, etc.)
+ * See {@link https://www.rememberthemilk.com/help/answers/basics/repeatformat.rtm}
+ * <li> <b>options</b> - All the options of the rule, when more than one is given (e.g. BYDAY and COUNT)
+ * </ul>
+ * The occurrences of the rule can be expanded locally, without asking the server, with
+ * {@link #getOccurrences(Date, Date, Date)}
+ * @author Giovanni Pini
+ *
+ */
+public class Recurrence implements Serializable{
+	
+	//the value computed for the class before options were added, so that older streams can still be read
+	private static final long serialVersionUID = -4251053563324322775L;
+	
+	private boolean every;
+	private Frequency frequency;
+	private int interval = 0;
+	private RecurrenceOption option;
+	private String optionValue = "";
+	private Map<RecurrenceOption,String> options = new EnumMap<RecurrenceOption,String>(RecurrenceOption.class);
+	
+	//compiled rule, shared by all the tasks of the taskserie
+	private transient volatile RecurrenceRule rule;
+	
+	public enum RecurrenceOption {
+		BYDAY("BYDAY"),BYMONTHDAY("BYMONTHDAY"),BYMONTH("BYMONTH"),COUNT("COUNT"),UNTIL("UNTIL");
+		private String option;
+		RecurrenceOption(String s) {option = s;}
+		String getOption() {return option;}
+		static RecurrenceOption parseOption(String string) {
+			for (RecurrenceOption value : values()) {
+				if (value.option.equalsIgnoreCase(string)) return value;
+			}
+			return null;
+		}
+	}
+	
+	public Frequency getFrequency() {return this.frequency;}
+	public int getInterval() {return this.interval;}
+	public boolean isEvery() {return this.every;}
+	public boolean hasOption() { return this.option != null; }
+	public RecurrenceOption getOption() {return this.option;}
+	public String getOptionValue() {return this.optionValue;}
+	
+	/**
+	 * Gets all the options of the repetition rule
+	 * @return an unmodifiable map from option to its value, empty if the rule has no option
+	 */
+	public Map<RecurrenceOption,String> getOptions() {return Collections.unmodifiableMap(this.options);}
+	
+	/**
+	 * Gets the value of a specific option of the repetition rule
+	 * @param option the option of interest
+	 * @return the value of the option, or null if the rule does not have it
+	 */
+	public String getOptionValue(RecurrenceOption option) {return this.options.get(option);}
+
+	public Recurrence(boolean every, int interval, Frequency freq,
+			RecurrenceOption option, String optionValue) {
+		this.every = every;
+		this.interval = interval;
+		this.frequency = freq;
+		this.option = option;
+		this.optionValue = optionValue;
+		if (option != null) this.options.put(option, optionValue);
+	}
+	
+	/**
+	 * Creates a repetition rule with more than one option (e.g. every monday for 10 times)
+	 * @param every true if the repetition rule is "every", false if it is "after"
+	 * @param interval the interval of repetition associated to frequency
+	 * @param freq the Frequency of repetition
+	 * @param options the options of the rule, with their value: the last one in iteration order is the single option 
+	 * (See {@link #getOption()})
+	 */
+	public Recurrence(boolean every, int interval, Frequency freq,
+			Map<RecurrenceOption,String> options) {
+		this.every = every;
+		this.interval = interval;
+		this.frequency = freq;
+		for (Map.Entry<RecurrenceOption,String> entry : options.entrySet()) {
+			this.putOption(entry.getKey(), entry.getValue());
+		}
+	}
+	
+	Recurrence(boolean every, int interval, Frequency freq,
+			Map<RecurrenceOption,String> options, RecurrenceOption option) {
+		this(every, interval, freq, options);
+		String value = option == null ? null : options.get(option);
+		this.option = value == null ? null : option;
+		this.optionValue = value == null ? "" : value;
+	}
+	
+	public Recurrence(boolean every, String string) {
+		this.every = every;
+		int start = 0;
+		int length = string.length();
+		while (start < length) {
+			int end = string.indexOf(';', start);
+			if (end < 0) end = length;
+			int equal = string.indexOf('=', start);
+			if (equal > start && equal < end - 1) {
+				String key = string.substring(start, equal);
+				String value = string.substring(equal + 1, end);
+				if (key.equals("FREQ")) this.frequency = Frequency.parseFrequency(value);
+				else if (key.equals("INTERVAL")) {
+					try {
+						this.interval = Integer.parseInt(value);
+					} catch (NumberFormatException e) { /* keep default interval */ }
+				}
+				else {
+					RecurrenceOption tmpOption = RecurrenceOption.parseOption(key);
+					if (tmpOption != null) this.putOption(tmpOption, value);
+					else {
+						//an unknown option clears the single option getters, but not the known options
+						this.option = null;
+						this.optionValue = "";
+					}
+				}
+			}
+			start = end + 1;
+		}
+	}
+	
+	private void putOption(RecurrenceOption option, String value) {
+		this.options.put(option, value);
+		//the last option is kept for the single option getters
+		this.option = option;
+		this.optionValue = value;
+	}
+	
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		//streams written before options were added have only the single option
+		if (this.options == null) {
+			this.options = new EnumMap<RecurrenceOption,String>(RecurrenceOption.class);
+			if (this.option != null) this.options.put(this.option, this.optionValue);
+		}
+	}
+	
+	/**
+	 * Expands the occurrences of the repetition rule in a time window, lazily, without asking the server.
+	 * Days are computed in UTC (See {@link #getOccurrences(Date, Date, Date, TimeZone)}).
+	 * @param start the first occurrence of the serie (e.g. the due date of the task), that gives also the time of day
+	 * @param from the beginning of the window (inclusive)
+	 * @param to the end of the window (exclusive), or null for an unbounded window
+	 * @return an iterator over the occurrence dates, in chronological order
+	 */
+	public Iterator<Date> getOccurrences(Date start, Date from, Date to) {
+		return this.getOccurrences(start, from, to, TimeZone.getTimeZone("UTC"));
+	}
+	
+	/**
+	 * Expands the occurrences of the repetition rule in a time window, lazily, without asking the server.
+	 * For "after" rules (See {@link #isEvery()}) the occurrences are computed as if each task was completed when due.
+	 * @param start the first occurrence of the serie (e.g. the due date of the task), that gives also the time of day
+	 * @param from the beginning of the window (inclusive)
+	 * @param to the end of the window (exclusive), or null for an unbounded window
+	 * @param timezone the timezone used for day, week and month boundaries (e.g. the one in user {@link Settings})
+	 * @return an iterator over the occurrence dates, in chronological order
+	 */
+	public Iterator<Date> getOccurrences(Date start, Date from, Date to, TimeZone timezone) {
+		return new RecurrenceIterator(this.getRule(), start, from, to, timezone);
+	}
+	
+	RecurrenceRule getRule() {
+		RecurrenceRule tmpRule = this.rule;
+		if (tmpRule == null) {
+			tmpRule = new RecurrenceRule(this.frequency, this.interval, this.options);
+			this.rule = tmpRule;
+		}
+		return tmpRule;
+	}
+
+	@Override
+	public String toString() {
+		return "Recurrence [every=" + every + ", frequency=" + frequency
+				+ ", interval=" + interval + ", optionName=" + option
+				+ ", optionValue=" + optionValue + ", options=" + options + "]";
+	}
+}
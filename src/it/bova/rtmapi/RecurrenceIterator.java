@@ -0,0 +1,238 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.TimeZone;
+
+/**
+ * Lazy expansion of a RecurrenceRule in a time window. Occurrences are generated one
+ * period (day, week, month or year) at a time, so only a handful of dates are kept in memory.
+ */
+class RecurrenceIterator implements Iterator<Date> {
+	
+	//stops rules that can never match (e.g. BYMONTHDAY=30 with BYMONTH=2)
+	private static final int MAX_EMPTY_PERIODS = 1000;
+	
+	private final RecurrenceRule rule;
+	private final long start;
+	private final long from;
+	private final long to;
+	private final Calendar calendar;
+	private final int hour;
+	private final int minute;
+	private final int second;
+	private final int millisecond;
+	private final int startYear;
+	private final int startMonth;
+	private final int startDayOfMonth;
+	private final int startDayOfWeek;
+	private final long startWeek; //midnight of the first day of start week
+	
+	private long period;
+	private int counted = 0;
+	private boolean finished = false;
+	private long[] buffer = new long[0];
+	private int bufferSize = 0;
+	private int bufferIndex = 0;
+	private Date next;
+	
+	RecurrenceIterator(RecurrenceRule rule, Date start, Date from, Date to, TimeZone timezone) {
+		this.rule = rule;
+		this.start = start.getTime();
+		this.from = from == null ? this.start : Math.max(from.getTime(), this.start);
+		this.to = to == null ? Long.MAX_VALUE : to.getTime();
+		this.calendar = new GregorianCalendar(timezone);
+		this.calendar.setFirstDayOfWeek(Calendar.MONDAY);
+		this.calendar.setTimeInMillis(this.start);
+		this.hour = this.calendar.get(Calendar.HOUR_OF_DAY);
+		this.minute = this.calendar.get(Calendar.MINUTE);
+		this.second = this.calendar.get(Calendar.SECOND);
+		this.millisecond = this.calendar.get(Calendar.MILLISECOND);
+		this.startYear = this.calendar.get(Calendar.YEAR);
+		this.startMonth = this.calendar.get(Calendar.MONTH);
+		this.startDayOfMonth = this.calendar.get(Calendar.DAY_OF_MONTH);
+		this.startDayOfWeek = this.calendar.get(Calendar.DAY_OF_WEEK);
+		int daysFromMonday = (this.startDayOfWeek - Calendar.MONDAY + 7) % 7;
+		this.calendar.set(this.startYear, this.startMonth, this.startDayOfMonth - daysFromMonday, 0, 0, 0);
+		this.calendar.set(Calendar.MILLISECOND, 0);
+		this.startWeek = this.calendar.getTimeInMillis();
+		this.period = this.firstPeriod();
+	}
+	
+	public boolean hasNext() {
+		if (this.next == null && !this.finished) this.next = this.computeNext();
+		return this.next != null;
+	}
+
+	public Date next() {
+		if (!this.hasNext()) throw new NoSuchElementException();
+		Date date = this.next;
+		this.next = null;
+		return date;
+	}
+
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+	
+	private Date computeNext() {
+		int emptyPeriods = 0;
+		while (true) {
+			while (this.bufferIndex < this.bufferSize) {
+				long candidate = this.buffer[this.bufferIndex++];
+				if (candidate < this.start) continue;
+				this.counted++;
+				if ((this.rule.count > 0 && this.counted > this.rule.count)
+						|| (this.rule.until != null && candidate > this.rule.until.getTime())
+						|| candidate >= this.to) {
+					this.finished = true;
+					return null;
+				}
+				if (candidate >= this.from) return new Date(candidate);
+			}
+			if (emptyPeriods > MAX_EMPTY_PERIODS) {
+				this.finished = true;
+				return null;
+			}
+			this.fillPeriod(this.period);
+			this.period += this.rule.interval;
+			emptyPeriods = this.bufferSize == 0 ? emptyPeriods + 1 : 0;
+		}
+	}
+	
+	private long firstPeriod() {
+		//without COUNT the periods before the window can be skipped, since they are not counted
+		if (this.rule.count > 0 || this.from <= this.start) return 0;
+		this.calendar.setTimeInMillis(this.from);
+		long elapsed;
+		switch (this.rule.frequency) {
+		case DAILY:
+			elapsed = (this.from - this.start) / (24L * 60 * 60 * 1000);
+			break;
+		case WEEKLY:
+			elapsed = (this.from - this.startWeek) / (7L * 24 * 60 * 60 * 1000);
+			break;
+		case MONTHLY:
+			elapsed = (this.calendar.get(Calendar.YEAR) - this.startYear) * 12L 
+				+ this.calendar.get(Calendar.MONTH) - this.startMonth;
+			break;
+		default:
+			elapsed = this.calendar.get(Calendar.YEAR) - this.startYear;
+			break;
+		}
+		//one period back is a margin for DST shifts and partial periods
+		elapsed = elapsed - 1;
+		if (elapsed <= 0) return 0;
+		return elapsed - (elapsed % this.rule.interval);
+	}
+	
+	private void fillPeriod(long index) {
+		this.bufferSize = 0;
+		this.bufferIndex = 0;
+		switch (this.rule.frequency) {
+		case DAILY:
+			this.addDay(this.startYear, this.startMonth, (int) (this.startDayOfMonth + index), true);
+			break;
+		case WEEKLY:
+			int firstDay = (int) (this.startDayOfMonth - ((this.startDayOfWeek - Calendar.MONDAY + 7) % 7) + index * 7);
+			if (this.rule.hasByDay()) {
+				for (int i = 0; i < this.rule.byDay.length; i++) {
+					this.addDay(this.startYear, this.startMonth, firstDay + ((this.rule.byDay[i] - Calendar.MONDAY + 7) % 7), false);
+				}
+			}
+			else this.addDay(this.startYear, this.startMonth, firstDay + ((this.startDayOfWeek - Calendar.MONDAY + 7) % 7), false);
+			break;
+		case MONTHLY:
+			this.fillMonth(this.startYear, (int) (this.startMonth + index));
+			break;
+		case YEARLY:
+			int year = (int) (this.startYear + index);
+			if (this.rule.hasByMonth()) {
+				for (int i = 0; i < this.rule.byMonth.length; i++) this.fillMonth(year, this.rule.byMonth[i]);
+			}
+			else this.fillMonth(year, this.startMonth);
+			break;
+		}
+		Arrays.sort(this.buffer, 0, this.bufferSize);
+	}
+	
+	private void fillMonth(int year, int month) {
+		this.calendar.clear();
+		this.calendar.set(year, month, 1);
+		year = this.calendar.get(Calendar.YEAR);
+		month = this.calendar.get(Calendar.MONTH);
+		int length = this.calendar.getActualMaximum(Calendar.DAY_OF_MONTH);
+		if (!this.rule.hasByDay() && !this.rule.hasByMonthDay()) {
+			//months shorter than the start day are skipped (e.g. the 31st)
+			if (this.startDayOfMonth <= length) this.addDay(year, month, this.startDayOfMonth, true);
+			return;
+		}
+		int firstWeekday = this.calendar.get(Calendar.DAY_OF_WEEK);
+		for (int day = 1; day <= length; day++) {
+			int weekday = (firstWeekday - 1 + day - 1) % 7 + 1;
+			if (this.matchesMonthDay(day, length) && this.matchesDayInMonth(day, weekday, length)) {
+				this.addDay(year, month, day, false);
+			}
+		}
+	}
+	
+	private boolean matchesMonthDay(int day, int length) {
+		if (!this.rule.hasByMonthDay()) return true;
+		for (int i = 0; i < this.rule.byMonthDay.length; i++) {
+			int monthDay = this.rule.byMonthDay[i];
+			if (monthDay == day || length + monthDay + 1 == day) return true;
+		}
+		return false;
+	}
+	
+	private boolean matchesDayInMonth(int day, int weekday, int length) {
+		if (!this.rule.hasByDay()) return true;
+		for (int i = 0; i < this.rule.byDay.length; i++) {
+			if (this.rule.byDay[i] != weekday) continue;
+			int ordinal = this.rule.byDayOrdinal[i];
+			if (ordinal == 0) return true;
+			if (ordinal > 0 && (day - 1) / 7 + 1 == ordinal) return true;
+			if (ordinal < 0 && (length - day) / 7 + 1 == -ordinal) return true;
+		}
+		return false;
+	}
+	
+	private void addDay(int year, int month, int day, boolean filter) {
+		this.calendar.clear();
+		this.calendar.set(year, month, day, this.hour, this.minute, this.second);
+		this.calendar.set(Calendar.MILLISECOND, this.millisecond);
+		if (filter || this.rule.hasByMonth()) {
+			if (this.rule.hasByMonth() && !this.contains(this.rule.byMonth, this.calendar.get(Calendar.MONTH))) return;
+			if (filter) {
+				int dayOfMonth = this.calendar.get(Calendar.DAY_OF_MONTH);
+				int length = this.calendar.getActualMaximum(Calendar.DAY_OF_MONTH);
+				if (!this.matchesMonthDay(dayOfMonth, length)) return;
+				if (this.rule.hasByDay() && !this.contains(this.rule.byDay, this.calendar.get(Calendar.DAY_OF_WEEK))) return;
+			}
+		}
+		if (this.bufferSize == this.buffer.length) this.buffer = Arrays.copyOf(this.buffer, Math.max(8, this.buffer.length * 2));
+		this.buffer[this.bufferSize++] = this.calendar.getTimeInMillis();
+	}
+	
+	private boolean contains(int[] values, int value) {
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] == value) return true;
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,143 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Map;
+import java.util.TimeZone;
+
+import it.bova.rtmapi.Recurrence.RecurrenceOption;
+
+/**
+ * The compiled form of a Recurrence: option values are parsed once and kept
+ * in arrays ready for {@link RecurrenceIterator}
+ */
+class RecurrenceRule {
+	
+	private static final String[] WEEKDAYS = {"SU","MO","TU","WE","TH","FR","SA"};
+	
+	final Frequency frequency;
+	final int interval;
+	final int[] byDay; //Calendar day of week (SUNDAY..SATURDAY)
+	final int[] byDayOrdinal; //0 means every such weekday of the period
+	final int[] byMonthDay; //negative values count from the end of the month
+	final int[] byMonth; //Calendar months (JANUARY..DECEMBER)
+	final int count; //0 means unlimited
+	final Date until;
+	
+	RecurrenceRule(Frequency frequency, int interval, Map<RecurrenceOption,String> options) {
+		this.frequency = frequency == null ? Frequency.DAILY : frequency;
+		this.interval = interval < 1 ? 1 : interval;
+		String[] days = split(options.get(RecurrenceOption.BYDAY));
+		int[] tmpDays = new int[days.length];
+		int[] tmpOrdinals = new int[days.length];
+		int n = 0;
+		for (int i = 0; i < days.length; i++) {
+			String day = days[i];
+			if (day.length() < 2) continue;
+			int weekday = parseWeekday(day.substring(day.length() - 2));
+			if (weekday < 0) continue;
+			int ordinal = 0;
+			if (day.length() > 2) {
+				String ordinalString = day.substring(0, day.length() - 2);
+				if (ordinalString.startsWith("+")) ordinalString = ordinalString.substring(1);
+				try {
+					ordinal = Integer.parseInt(ordinalString);
+				} catch (NumberFormatException e) { continue; }
+			}
+			tmpDays[n] = weekday;
+			tmpOrdinals[n] = ordinal;
+			n++;
+		}
+		this.byDay = trim(tmpDays, n);
+		this.byDayOrdinal = trim(tmpOrdinals, n);
+		this.byMonthDay = parseInts(split(options.get(RecurrenceOption.BYMONTHDAY)), 0);
+		this.byMonth = parseInts(split(options.get(RecurrenceOption.BYMONTH)), -1);
+		int tmpCount = 0;
+		String countString = options.get(RecurrenceOption.COUNT);
+		if (countString != null) {
+			try {
+				tmpCount = Integer.parseInt(countString.trim());
+			} catch (NumberFormatException e) { /* unlimited */ }
+		}
+		this.count = tmpCount < 0 ? 0 : tmpCount;
+		this.until = parseUntil(options.get(RecurrenceOption.UNTIL));
+	}
+	
+	boolean hasByDay() {
+		return this.byDay.length > 0;
+	}
+	
+	boolean hasByMonthDay() {
+		return this.byMonthDay.length > 0;
+	}
+	
+	boolean hasByMonth() {
+		return this.byMonth.length > 0;
+	}
+	
+	private static int parseWeekday(String string) {
+		for (int i = 0; i < WEEKDAYS.length; i++) {
+			if (WEEKDAYS[i].equalsIgnoreCase(string)) return Calendar.SUNDAY + i;
+		}
+		return -1;
+	}
+	
+	private static String[] split(String string) {
+		if (string == null || string.trim().length() == 0) return new String[0];
+		String[] tokens = string.split(",");
+		for (int i = 0; i < tokens.length; i++) tokens[i] = tokens[i].trim();
+		return tokens;
+	}
+	
+	private static int[] parseInts(String[] tokens, int offset) {
+		int[] values = new int[tokens.length];
+		int n = 0;
+		for (int i = 0; i < tokens.length; i++) {
+			try {
+				int value = Integer.parseInt(tokens[i].startsWith("+") ? tokens[i].substring(1) : tokens[i]);
+				if (value != 0) values[n++] = value + offset;
+			} catch (NumberFormatException e) { /* ignored */ }
+		}
+		return trim(values, n);
+	}
+	
+	private static int[] trim(int[] values, int length) {
+		if (values.length == length) return values;
+		int[] trimmed = new int[length];
+		System.arraycopy(values, 0, trimmed, 0, length);
+		return trimmed;
+	}
+	
+	private static Date parseUntil(String string) {
+		if (string == null) return null;
+		string = string.trim();
+		String pattern;
+		if (string.length() == 8) pattern = "yyyyMMdd";
+		else if (string.endsWith("Z")) pattern = "yyyyMMdd'T'HHmmss'Z'";
+		else pattern = "yyyyMMdd'T'HHmmss";
+		//a local format is used: SimpleDateFormat is not thread-safe and the rule is parsed once
+		SimpleDateFormat format = new SimpleDateFormat(pattern);
+		format.setTimeZone(TimeZone.getTimeZone("UTC"));
+		try {
+			Date date = format.parse(string);
+			//a date-only UNTIL includes the whole day
+			if (string.length() == 8) date = new Date(date.getTime() + 24L * 60 * 60 * 1000 - 1);
+			return date;
+		} catch (ParseException e) {
+			return null;
+		}
+	}
+
+}
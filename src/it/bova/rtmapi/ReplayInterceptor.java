@@ -0,0 +1,81 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Serves the responses saved by {@link RecordingInterceptor} instead of calling the server. A request is 
+ * matched by its method and parameters; when the same request was recorded many times, the recorded 
+ * responses are served in order and the last one is repeated.
+ * <pre>
+ *    client.addInterceptor(new ReplayInterceptor(new File("recorded"), false, "timeline"));
+ * </pre>
+ * Without network and server time, calls measure only the work of the client (signing, parsing and model
+ * conversion).
+ * @author Giovanni Pini
+ *
+ */
+public class ReplayInterceptor implements Interceptor {
+	
+	private final Recordings recordings;
+	private final boolean passThrough;
+	//number of recorded occurrences of every request
+	private final ConcurrentMap<String,Integer> counts = new ConcurrentHashMap<String,Integer>();
+	
+	/**
+	 * Creates a player
+	 * @param directory the directory of the recorded responses
+	 * @param passThrough true if requests never recorded are sent to the server, false if they fail with
+	 * an IOException
+	 * @param ignoredParameters the parameters ignored when the responses were recorded
+	 */
+	public ReplayInterceptor(File directory, boolean passThrough, String... ignoredParameters) {
+		this.recordings = new Recordings(directory, ignoredParameters);
+		this.passThrough = passThrough;
+	}
+
+	public RawResponse intercept(Chain chain) throws RtmApiException, IOException {
+		String key = this.recordings.key(chain);
+		int recorded = this.count(key);
+		if (recorded == 0) {
+			if (this.passThrough) return chain.proceed();
+			throw new IOException("No recorded response for " + chain.getMethod() + " " + chain.getParameters());
+		}
+		//after the last recorded occurrence, the last one is served again
+		File file = this.recordings.file(key, Math.min(this.recordings.next(key), recorded - 1));
+		return new RawResponse(200, new FileInputStream(file), file.length());
+	}
+	
+	private int count(String key) {
+		Integer count = this.counts.get(key);
+		if (count == null) {
+			int i = 0;
+			while (this.recordings.file(key, i).isFile()) i++;
+			count = Integer.valueOf(i);
+			this.counts.put(key, count);
+		}
+		return count.intValue();
+	}
+	
+	/**
+	 * Starts again from the first recorded occurrence of every request
+	 */
+	public void rewind() {
+		this.recordings.reset();
+		this.counts.clear();
+	}
+
+}
@@ -1,114 +1,242 @@
-//Copyright 2012 Giovanni Pini
-//Licensed under the Apache License, Version 2.0 (the "License");
-//you may not use this file except in compliance with the License.
-//You may obtain a copy of the License at
-//http://www.apache.org/licenses/LICENSE-2.0
-//Unless required by applicable law or agreed to in writing, software
-//distributed under the License is distributed on an "AS IS" BASIS,
-//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
-//See the License for the specific language governing permissions and
-//limitations under the License.
-
-package it.bova.rtmapi;
-
-
-import java.io.BufferedReader;
-import java.io.FilterInputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.net.URI;
-import java.net.URISyntaxException;
-
-import org.apache.http.HttpResponse;
-import org.apache.http.client.ClientProtocolException;
-import org.apache.http.client.HttpClient;
-import org.apache.http.client.methods.HttpPost;
-import org.apache.http.impl.client.DefaultHttpClient;
-
-
-class RestClient {
-	
-	private Request request;
-	
-	RestClient(Request request) {
-		this.request = request;
-	}
-
-	JSONResponse execute() throws ServerException, RtmApiException, IOException {
-		// Execute HTTP Post Request
-		HttpClient httpclient = new DefaultHttpClient();
-		URI uri;
-		try {
-			uri = new URI(this.request.getUrl());
-			HttpPost httppost = new HttpPost(uri);
-			HttpResponse response = httpclient.execute(httppost);
-			// Get string from response
-			InputStream is = response.getEntity().getContent();
-			try {
-				StringBuilder sb = new StringBuilder();
-				BufferedReader r = new BufferedReader(
-						new InputStreamReader(new DoneHandlerInputStream(is)));
-				for (String line = r.readLine(); line != null; line = r.readLine()) {
-					sb.append(line);
-				}
-				// get JSON Response from string and return it
-				return new JSONResponse(sb.toString());
-			}
-			finally {
-				is.close();
-			}
-		} catch (URISyntaxException e) {
-			throw new RtmApiException(e.getMessage());
-		} catch (ClientProtocolException e) {
-			throw new RtmApiException(e.getMessage());
-		} 
-	}
-	
-	String test() throws  ServerException, RtmApiException, IOException {
-		//Rimuovere!!!!!
-		// Execute HTTP Post Request
-		HttpClient httpclient = new DefaultHttpClient();
-		URI uri;
-		try {
-			uri = new URI(this.request.getUrl());
-			HttpPost httppost = new HttpPost(uri);
-			HttpResponse response = httpclient.execute(httppost);
-			// Get string from response
-			InputStream is = response.getEntity().getContent();
-			StringBuilder sb = new StringBuilder();
-			BufferedReader r = new BufferedReader(
-					new InputStreamReader(new DoneHandlerInputStream(is)));
-			for (String line = r.readLine(); line != null; line = r.readLine()) {
-				sb.append(line);
-			}
-			return sb.toString();
-		} catch (URISyntaxException e) {
-			throw new RtmApiException(e.getMessage());
-		} catch (ClientProtocolException e) {
-			throw new RtmApiException(e.getMessage());
-		}
-	}
-}
-
-//serve per risolvere un bug android sulla 2.3, metterla come classe interna!!!
-class DoneHandlerInputStream extends FilterInputStream {
-	private boolean done;
-
-	public DoneHandlerInputStream(InputStream stream) {
-		super(stream);
-	}
-
-	@Override
-	public int read(byte[] bytes, int offset, int count) throws IOException {
-		if (!done) {
-			int result = super.read(bytes, offset, count);
-			if (result != -1) {
-				return result;
-			}
-		}
-		done = true;
-		return -1;
-	}
-
-}
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.apache.http.HttpStatus;
+import org.json.JSONObject;
+
+
+class RestClient {
+	
+	private static final long RETRY_PAUSE_MILLIS = 500;
+	
+	private final RtmClient client;
+	private final Request request;
+	
+	RestClient(RtmClient client, Request request) {
+		this.client = client;
+		this.request = request;
+	}
+
+	/**
+	 * Decodes the body of a successful response
+	 */
+	interface ResponseHandler<T> {
+		
+		/**
+		 * @param body the body, closed by the caller
+		 * @param buffer the buffer to read the body into, owned by the caller and not to be kept after returning, 
+		 * or null to allocate one
+		 */
+		T handle(InputStream body, byte[] buffer) throws ServerException, RtmApiException, IOException;
+		
+	}
+	
+	static final ResponseHandler<JSONResponse> JSON_RESPONSE = new ResponseHandler<JSONResponse>() {
+		public JSONResponse handle(InputStream in, byte[] buffer) 
+				throws ServerException, RtmApiException, IOException {
+			//the UTF-8 bytes are decoded straight into the JSON tree, without a string of the whole body
+			Object value;
+			try {
+				JSONReader reader = buffer == null ? new JSONReader(in) : new JSONReader(in, buffer);
+				value = reader.readValue();
+				//reading to the end lets the connection be reused (and interceptors see the whole body)
+				reader.peek();
+			} catch (ParsingException e) {
+				throw new RtmApiException("Parsing error: " + e.getMessage());
+			}
+			if (!(value instanceof JSONObject)) throw new RtmApiException("Parsing error: the response is not an object");
+			return new JSONResponse((JSONObject) value);
+		}
+	};
+
+	JSONResponse execute() throws ServerException, RtmApiException, IOException {
+		if (!this.client.isSingleFlight() || !this.request.getMethod().isRead()) return this.execute(JSON_RESPONSE);
+		return this.client.getFlights().execute(SingleFlight.key(this.request.parameters), new SingleFlight.Call<JSONResponse>() {
+			public JSONResponse call() throws ServerException, RtmApiException, IOException {
+				return RestClient.this.execute(JSON_RESPONSE);
+			}
+		});
+	}
+	
+	<T> T execute(ResponseHandler<T> handler) throws ServerException, RtmApiException, IOException {
+		//measures are taken only if someone collects them
+		CallMetrics metrics = this.client.isMetricsEnabled() ? new CallMetrics(this.request.getMethod()) : null;
+		long start = metrics == null ? 0 : System.nanoTime();
+		long excluded = 0;
+		boolean failed = true;
+		try {
+			for (int attempt = 0; ; attempt++) {
+				RateLimiter rateLimiter = this.client.getRateLimiter();
+				if (rateLimiter != null) {
+					long waitStart = metrics == null ? 0 : System.nanoTime();
+					rateLimiter.acquire();
+					if (metrics != null) excluded += System.nanoTime() - waitStart;
+				}
+				try {
+					T response = this.executeOnce(handler, metrics);
+					failed = false;
+					return response;
+				} catch (IOException e) {
+					if (attempt >= this.client.getMaxRetries() || !isRetryable(e)) throw e;
+					long pause = RETRY_PAUSE_MILLIS << Math.min(attempt, 6);
+					try {
+						Thread.sleep(pause);
+					} catch (InterruptedException ie) {
+						Thread.currentThread().interrupt();
+						throw new InterruptedIOException("Interrupted while waiting to retry");
+					}
+					if (metrics != null) {
+						excluded += pause * 1000000L;
+						metrics.retries++;
+					}
+				}
+			}
+		} catch (ServerException e) {
+			if (metrics != null) metrics.errorCode = e.getCode();
+			throw e;
+		} finally {
+			if (metrics != null) {
+				metrics.failed = failed;
+				metrics.totalNanos = System.nanoTime() - start - excluded;
+				this.client.record(metrics);
+			}
+		}
+	}
+	
+	private <T> T executeOnce(ResponseHandler<T> handler, final CallMetrics metrics) throws ServerException, RtmApiException, IOException {
+		RawResponse response;
+		List<Interceptor> interceptors = this.client.getInterceptors();
+		if (interceptors.isEmpty()) response = this.send(this.request.parameters, metrics);
+		else {
+			//interceptors work on a copy, so that a retry starts again from the original parameters
+			SortedMap<String,String> parameters = new TreeMap<String,String>(this.request.parameters);
+			InterceptorChain.Terminal transport = new InterceptorChain.Terminal() {
+				public RawResponse call(Request request, SortedMap<String,String> parameters) 
+						throws RtmApiException, IOException {
+					return RestClient.this.send(parameters, metrics);
+				}
+			};
+			response = new InterceptorChain(interceptors, 0, this.request, parameters, transport).proceed();
+		}
+		if (response.getStatus() == HttpStatus.SC_SERVICE_UNAVAILABLE) {
+			response.close();
+			throw new ServiceUnavailableException();
+		}
+		// closing the stream gives back the connection to the pool
+		InputStream is = response.getBody();
+		BufferPool pool = this.client.getBufferPool();
+		byte[] buffer = pool.acquire();
+		try {
+			if (metrics == null) return handler.handle(is, buffer);
+			//reading and parsing are interleaved: the time blocked in reads of the body is read time, 
+			//the rest of the handling is parse time
+			CountingInputStream counter = new CountingInputStream(is);
+			long start = System.nanoTime();
+			try {
+				return handler.handle(counter, buffer);
+			} finally {
+				long handling = System.nanoTime() - start;
+				metrics.readNanos = counter.getNanos();
+				metrics.parseNanos = Math.max(0, handling - metrics.readNanos);
+				metrics.bytesReceived = counter.getCount();
+			}
+		}
+		finally {
+			try {
+				is.close();
+			} finally {
+				pool.release(buffer);
+			}
+		}
+	}
+	
+	private RawResponse send(SortedMap<String,String> parameters, CallMetrics metrics) throws RtmApiException, IOException {
+		String url = this.request.getUrl(parameters);
+		TransportRequest transportRequest = new TransportRequest(this.request.getMethod().toString(), url, metrics != null);
+		if (metrics == null) return this.client.getTransport().send(transportRequest);
+		long start = System.nanoTime();
+		RawResponse response = this.client.getTransport().send(transportRequest);
+		long headers = System.nanoTime();
+		long sent = transportRequest.getSentNanos() == 0 ? start : transportRequest.getSentNanos();
+		metrics.connectNanos = sent - start;
+		metrics.waitNanos = headers - sent;
+		metrics.bytesSent = url.length();
+		return response;
+	}
+	
+	private static boolean isRetryable(IOException e) {
+		//the request surely did not reach the server, as classified by the transport
+		return e instanceof ServiceUnavailableException || e instanceof ConnectFailedException;
+	}
+	
+	private static class ServiceUnavailableException extends IOException {
+		
+		private static final long serialVersionUID = 1L;
+		
+		ServiceUnavailableException() {
+			super("Server unavailable (HTTP 503), rate limit exceeded");
+		}
+	}
+	
+}
+
+class CountingInputStream extends FilterInputStream {
+	private long count = 0;
+	private long nanos = 0;
+	
+	CountingInputStream(InputStream stream) {
+		super(stream);
+	}
+	
+	@Override
+	public int read() throws IOException {
+		long start = System.nanoTime();
+		try {
+			int result = super.read();
+			if (result != -1) this.count++;
+			return result;
+		} finally {
+			this.nanos += System.nanoTime() - start;
+		}
+	}
+	
+	@Override
+	public int read(byte[] bytes, int offset, int length) throws IOException {
+		long start = System.nanoTime();
+		try {
+			int result = super.read(bytes, offset, length);
+			if (result > 0) this.count += result;
+			return result;
+		} finally {
+			this.nanos += System.nanoTime() - start;
+		}
+	}
+	
+	long getCount() {
+		return this.count;
+	}
+	
+	//the time spent in reads, waiting for the bytes of the body
+	long getNanos() {
+		return this.nanos;
+	}
+}
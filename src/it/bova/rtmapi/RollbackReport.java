@@ -0,0 +1,113 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of a rollback (See {@link RtmApiTransactable#rollback(TransactionJournal)}): 
+ * one outcome for each journal entry, in the order the entries were undone.
+ * @author Giovanni Pini
+ *
+ */
+public class RollbackReport {
+	
+	/**
+	 * The outcome of the undo of a journal entry
+	 */
+	public static class Outcome {
+		
+		private final TransactionJournal.Entry entry;
+		private final Exception error;
+		
+		Outcome(TransactionJournal.Entry entry, Exception error) {
+			this.entry = entry;
+			this.error = error;
+		}
+		
+		/**
+		 * Gets the journal entry
+		 * @return the entry
+		 */
+		public TransactionJournal.Entry getEntry() {
+			return this.entry;
+		}
+		
+		/**
+		 * Tells whether the transaction was undone
+		 * @return true if the transaction was undone
+		 */
+		public boolean isUndone() {
+			return this.error == null;
+		}
+		
+		/**
+		 * Gets the reason why the transaction was not undone
+		 * @return the exception thrown by the undo request, or null if the transaction was undone
+		 */
+		public Exception getError() {
+			return this.error;
+		}
+
+		@Override
+		public String toString() {
+			return "Outcome [entry=" + entry + ", undone=" + isUndone() 
+					+ (error == null ? "" : ", error=" + error) + "]";
+		}
+		
+	}
+	
+	private final List<Outcome> outcomes;
+	
+	RollbackReport(List<Outcome> outcomes) {
+		this.outcomes = Collections.unmodifiableList(outcomes);
+	}
+	
+	/**
+	 * Gets the outcome of each journal entry
+	 * @return the outcomes, in the order the entries were undone
+	 */
+	public List<Outcome> getOutcomes() {
+		return this.outcomes;
+	}
+	
+	/**
+	 * Gets the outcomes of the entries that were not undone. 
+	 * Those entries are still in the journal, so the rollback can be retried.
+	 * @return the failed outcomes
+	 */
+	public List<Outcome> getFailures() {
+		List<Outcome> failures = new ArrayList<Outcome>();
+		for (Outcome outcome : this.outcomes) {
+			if (!outcome.isUndone()) failures.add(outcome);
+		}
+		return failures;
+	}
+	
+	/**
+	 * Tells whether every entry was undone
+	 * @return true if there are no failures
+	 */
+	public boolean isComplete() {
+		for (Outcome outcome : this.outcomes) {
+			if (!outcome.isUndone()) return false;
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return "RollbackReport [outcomes=" + outcomes + "]";
+	}
+
+}
@@ -0,0 +1,336 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The engine shared by all the users of an application: it holds the API key and shared secret, the 
+ * {@link Transport} with the pooled HTTP connections and the optional {@link RateLimiter}.
+ * Per-user handles are lightweight and cheap to create: they keep just the token and a reference to the engine.
+ * <pre>
+ *    RtmClient client = new RtmClient("myAppApiKey1234", "myAppSharedSecret5678", new RateLimiter());
+ *    RtmApi api = new RtmApi(client, tokenString);
+ *    RtmApiTransactable transApi = new RtmApiTransactable(client, otherTokenString);
+ * </pre>
+ * Optional features (interceptors, metrics, retries) can be changed at any time, also while calls are running.
+ * A client is thread-safe and should be created once per application and API key.
+ * @author Giovanni Pini
+ *
+ */
+public class RtmClient {
+	
+	/**
+	 * The default maximum number of open connections to the server
+	 */
+	public static final int DEFAULT_MAX_CONNECTIONS = 20;
+	
+	/**
+	 * The default address of the REST service
+	 */
+	public static final String DEFAULT_REST_URL = "http://api.rememberthemilk.com/services/rest/";
+	
+	//engines used by the constructors taking key and secret, one per application
+	private static final ConcurrentMap<String,RtmClient> defaults = new ConcurrentHashMap<String,RtmClient>();
+	
+	private final String apiKey;
+	private final String sharedSecret;
+	private final RateLimiter rateLimiter;
+	private final String restUrl;
+	private final Transport transport;
+	private final CopyOnWriteArrayList<Interceptor> interceptors = new CopyOnWriteArrayList<Interceptor>();
+	private final CopyOnWriteArrayList<MetricsCollector> collectors = new CopyOnWriteArrayList<MetricsCollector>();
+	private volatile int maxRetries = 0;
+	private volatile boolean lazyDecoding = false;
+	private volatile boolean singleFlight = true;
+	private final SingleFlight flights = new SingleFlight();
+	private volatile BufferPool bufferPool = new BufferPool();
+	
+	/**
+	 * Creates a client without rate limiting
+	 * @param key The API application key
+	 * @param secret The shared secret of the application
+	 */
+	public RtmClient(String key, String secret) {
+		this(key, secret, null, DEFAULT_MAX_CONNECTIONS);
+	}
+	
+	/**
+	 * Creates a client
+	 * @param key The API application key
+	 * @param secret The shared secret of the application
+	 * @param rateLimiter The limiter shared by all the requests of the client, or null for no limit
+	 */
+	public RtmClient(String key, String secret, RateLimiter rateLimiter) {
+		this(key, secret, rateLimiter, DEFAULT_MAX_CONNECTIONS);
+	}
+	
+	/**
+	 * Creates a client
+	 * @param key The API application key
+	 * @param secret The shared secret of the application
+	 * @param rateLimiter The limiter shared by all the requests of the client, or null for no limit
+	 * @param maxConnections The maximum number of connections open at once
+	 */
+	public RtmClient(String key, String secret, RateLimiter rateLimiter, int maxConnections) {
+		this(key, secret, rateLimiter, maxConnections, DEFAULT_REST_URL);
+	}
+	
+	/**
+	 * Creates a client calling another REST service with the same interface (e.g. a proxy, or a local 
+	 * server for testing)
+	 * @param key The API application key
+	 * @param secret The shared secret of the application
+	 * @param rateLimiter The limiter shared by all the requests of the client, or null for no limit
+	 * @param maxConnections The maximum number of connections open at once
+	 * @param restUrl The address of the REST service (see {@link #DEFAULT_REST_URL})
+	 */
+	public RtmClient(String key, String secret, RateLimiter rateLimiter, int maxConnections, String restUrl) {
+		this(key, secret, rateLimiter, new ApacheTransport(maxConnections), restUrl);
+	}
+	
+	/**
+	 * Creates a client sending requests with the given HTTP stack
+	 * @param key The API application key
+	 * @param secret The shared secret of the application
+	 * @param rateLimiter The limiter shared by all the requests of the client, or null for no limit
+	 * @param transport The HTTP stack (e.g. {@link ApacheTransport}, {@link UrlConnectionTransport})
+	 */
+	public RtmClient(String key, String secret, RateLimiter rateLimiter, Transport transport) {
+		this(key, secret, rateLimiter, transport, DEFAULT_REST_URL);
+	}
+	
+	/**
+	 * Creates a client sending requests with the given HTTP stack to another REST service with the same interface
+	 * @param key The API application key
+	 * @param secret The shared secret of the application
+	 * @param rateLimiter The limiter shared by all the requests of the client, or null for no limit
+	 * @param transport The HTTP stack (e.g. {@link ApacheTransport}, {@link UrlConnectionTransport})
+	 * @param restUrl The address of the REST service (see {@link #DEFAULT_REST_URL})
+	 */
+	public RtmClient(String key, String secret, RateLimiter rateLimiter, Transport transport, String restUrl) {
+		if (transport == null) throw new IllegalArgumentException("transport cannot be null");
+		if (restUrl == null) throw new IllegalArgumentException("restUrl cannot be null");
+		this.apiKey = key;
+		this.sharedSecret = secret;
+		this.rateLimiter = rateLimiter;
+		this.restUrl = restUrl;
+		this.transport = transport;
+	}
+	
+	/**
+	 * Gets the engine shared by the API objects created with key and secret only
+	 */
+	static RtmClient getDefault(String key, String secret) {
+		String id = key + "\n" + secret;
+		RtmClient client = defaults.get(id);
+		if (client == null) {
+			RtmClient tmpClient = new RtmClient(key, secret);
+			client = defaults.putIfAbsent(id, tmpClient);
+			if (client == null) client = tmpClient;
+			else tmpClient.shutdown();
+		}
+		return client;
+	}
+	
+	RequestFactory createRequestFactory(String token) {
+		return new RequestFactory(this.apiKey, this.sharedSecret, token, this.restUrl);
+	}
+	
+	RequestFactory createRequestFactory() {
+		return new RequestFactory(this.apiKey, this.sharedSecret, "", this.restUrl);
+	}
+	
+	/**
+	 * Gets the HTTP stack of the client
+	 * @return the transport
+	 */
+	public Transport getTransport() {
+		return this.transport;
+	}
+	
+	/**
+	 * Adds an interceptor at the end of the chain wrapped around every call of this client
+	 * @param interceptor the interceptor
+	 */
+	public void addInterceptor(Interceptor interceptor) {
+		this.interceptors.add(interceptor);
+	}
+	
+	/**
+	 * Removes an interceptor from the chain
+	 * @param interceptor the interceptor to be removed
+	 */
+	public void removeInterceptor(Interceptor interceptor) {
+		this.interceptors.remove(interceptor);
+	}
+	
+	List<Interceptor> getInterceptors() {
+		//a snapshot, so that a call is not affected by concurrent changes to the chain
+		if (this.interceptors.isEmpty()) return Collections.emptyList();
+		return new ArrayList<Interceptor>(this.interceptors);
+	}
+	
+	/**
+	 * Adds an exporter of call measures. Measures are taken only while at least one collector is added.
+	 * @param collector the collector (e.g. {@link RtmMetrics})
+	 */
+	public void addMetricsCollector(MetricsCollector collector) {
+		this.collectors.addIfAbsent(collector);
+	}
+	
+	/**
+	 * Removes an exporter of call measures
+	 * @param collector the collector to be removed
+	 */
+	public void removeMetricsCollector(MetricsCollector collector) {
+		this.collectors.remove(collector);
+	}
+	
+	boolean isMetricsEnabled() {
+		return !this.collectors.isEmpty();
+	}
+	
+	void record(CallMetrics metrics) {
+		for (MetricsCollector collector : this.collectors) {
+			try {
+				collector.record(metrics);
+			} catch (RuntimeException e) { /* a faulty exporter must not break calls */ }
+		}
+	}
+	
+	/**
+	 * Sets how many times a call is retried when the server is temporarily unavailable (HTTP 503, sent when the 
+	 * rate limit is exceeded) or cannot be connected. Other failures are never retried, since the server
+	 * could have already performed the request.
+	 * @param maxRetries the maximum number of retries, 0 (default) for no retry
+	 */
+	public void setMaxRetries(int maxRetries) {
+		if (maxRetries < 0) throw new IllegalArgumentException("maxRetries cannot be negative");
+		this.maxRetries = maxRetries;
+	}
+	
+	/**
+	 * Gets how many times a call is retried when the server is temporarily unavailable
+	 * @return the maximum number of retries
+	 */
+	public int getMaxRetries() {
+		return this.maxRetries;
+	}
+	
+	/**
+	 * Sets whether tasks read by lists (e.g. {@link RtmApi#tasksGetList()}, {@link RtmApi#tasksGetSynchedList(java.util.Date)})
+	 * decode their dates, notes, participants and recurrence only when first asked for. This speeds up views 
+	 * showing just names and IDs, but each task keeps its piece of the response until then; fields that 
+	 * cannot be decoded get their default value (null or empty) instead of failing the call.
+	 * @param lazyDecoding true for lazy decoding, false (default) to decode every field at once
+	 */
+	public void setLazyDecoding(boolean lazyDecoding) {
+		this.lazyDecoding = lazyDecoding;
+	}
+	
+	/**
+	 * Tells whether tasks decode their expensive fields on first access
+	 * @return true if lazy decoding is enabled
+	 */
+	public boolean isLazyDecoding() {
+		return this.lazyDecoding;
+	}
+	
+	/**
+	 * Sets whether identical reads performed at the same time share one request: when threads ask the same 
+	 * list-returning method (e.g. {@link RtmApi#listsGetList()}, {@link RtmApi#tasksGetByListId(String)}) with the same 
+	 * token and parameters while the first request is still in flight, they wait for it and get the same parsed 
+	 * response (each caller gets its own model objects) or the same exception. Only the request actually sent is 
+	 * recorded by the {@link MetricsCollector}: the callers sharing it record no {@link CallMetrics}. 
+	 * Streamed and projected reads, and every method changing data, always go to the server.
+	 * @param singleFlight true (default) to share identical in-flight reads, false to send every request
+	 */
+	public void setSingleFlight(boolean singleFlight) {
+		this.singleFlight = singleFlight;
+	}
+	
+	/**
+	 * Tells whether identical in-flight reads share one request
+	 * @return true if single-flight is enabled
+	 */
+	public boolean isSingleFlight() {
+		return this.singleFlight;
+	}
+	
+	SingleFlight getFlights() {
+		return this.flights;
+	}
+	
+	/**
+	 * Sets the pool of the buffers responses are read into. Responses are decoded straight from these bytes,
+	 * without building a string of the whole body first
+	 * @param bufferPool the pool, shared by every call of this client
+	 */
+	public void setBufferPool(BufferPool bufferPool) {
+		if (bufferPool == null) throw new IllegalArgumentException("bufferPool must not be null");
+		this.bufferPool = bufferPool;
+	}
+	
+	/**
+	 * Gets the pool of the buffers responses are read into, e.g. to check how many buffers it has allocated
+	 * @return the pool ({@value BufferPool#DEFAULT_MAX_POOLED} buffers of {@value BufferPool#DEFAULT_BUFFER_SIZE} bytes 
+	 * unless set)
+	 */
+	public BufferPool getBufferPool() {
+		return this.bufferPool;
+	}
+	
+	/**
+	 * Gets the rate limiter of the client
+	 * @return the rate limiter, or null if requests are not limited
+	 */
+	public RateLimiter getRateLimiter() {
+		return this.rateLimiter;
+	}
+
+	/**
+	 * Gets the application key
+	 * @return the application key
+	 */
+	public String getApiKey() {
+		return this.apiKey;
+	}
+	
+	/**
+	 * Gets the application shared secret
+	 * @return the application shared secret
+	 */
+	public String getSharedSecret() {
+		return this.sharedSecret;
+	}
+	
+	/**
+	 * Gets the address of the REST service
+	 * @return the address of the REST service
+	 */
+	public String getRestUrl() {
+		return this.restUrl;
+	}
+	
+	/**
+	 * Closes all the connections of the client. The client cannot be used anymore.
+	 */
+	public void shutdown() {
+		this.transport.shutdown();
+	}
+
+}
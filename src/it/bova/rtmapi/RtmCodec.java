@@ -0,0 +1,513 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+import it.bova.rtmapi.Recurrence.RecurrenceOption;
+
+/**
+ * A compact, versioned binary format for the model objects, faster and smaller than default Java serialization.
+ * Supported objects are Task, TaskList, SynchedTasks, DeletedTask, Transaction, Note, Contact, Group, Recurrence,
+ * String, Boolean and Lists of them.
+ * The format uses varint lengths, a string table for repeated strings (IDs, tags) and shares notes, participants,
+ * tags and recurrences among the tasks of the same taskserie. Data can be optionally compressed with deflate.
+ * <p>
+ * A codec instance holds no state between calls and can be used by many threads at once.
+ * @author Giovanni Pini
+ *
+ */
+public class RtmCodec {
+	
+	/**
+	 * The version of the format written by this codec. Data with an higher version are refused.
+	 * Version 2 adds the single option of recurrences.
+	 */
+	public static final int VERSION = 2;
+	
+	private static final byte[] MAGIC = {'R', 'T', 'M'};
+	private static final int FLAG_DEFLATE = 1;
+	
+	private static final int NULL = 0;
+	private static final int TASK = 1;
+	private static final int TASK_LIST = 2;
+	private static final int SYNCHED_TASKS = 3;
+	private static final int DELETED_TASK = 4;
+	private static final int TRANSACTION = 5;
+	private static final int NOTE = 6;
+	private static final int CONTACT = 7;
+	private static final int GROUP = 8;
+	private static final int RECURRENCE = 9;
+	private static final int LIST = 10;
+	private static final int STRING = 11;
+	private static final int BOOLEAN = 12;
+	
+	private static final Note[] NO_NOTES = new Note[0];
+	private static final Contact[] NO_CONTACTS = new Contact[0];
+	private static final String[] NO_STRINGS = new String[0];
+	
+	private final boolean compressed;
+	
+	/**
+	 * Creates a codec writing uncompressed data
+	 */
+	public RtmCodec() {
+		this(false);
+	}
+	
+	/**
+	 * Creates a codec
+	 * @param compressed true if written data must be compressed with deflate (reading detects it automatically)
+	 */
+	public RtmCodec(boolean compressed) {
+		this.compressed = compressed;
+	}
+	
+	/**
+	 * Encodes an object in binary format
+	 * @param object the object to be encoded (See {@link RtmCodec} for supported types)
+	 * @return the encoded bytes
+	 * @throws IllegalArgumentException if the object, or one of its content, is not supported
+	 */
+	public byte[] encode(Object object) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			this.encode(object, out);
+		} catch (IOException e) {
+			//not thrown by ByteArrayOutputStream
+			throw new IllegalStateException(e.getMessage());
+		}
+		return out.toByteArray();
+	}
+	
+	/**
+	 * Encodes an object in binary format into a stream. The stream is not closed.
+	 * @param object the object to be encoded (See {@link RtmCodec} for supported types)
+	 * @param out the destination stream
+	 * @throws IOException if the stream cannot be written
+	 * @throws IllegalArgumentException if the object, or one of its content, is not supported
+	 */
+	public void encode(Object object, OutputStream out) throws IOException {
+		CodecWriter writer = new CodecWriter(1024);
+		this.writeValue(writer, object);
+		out.write(MAGIC);
+		out.write(VERSION);
+		out.write(this.compressed ? FLAG_DEFLATE : 0);
+		if (this.compressed) {
+			Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+			try {
+				DeflaterOutputStream deflaterStream = new DeflaterOutputStream(out, deflater, 8192);
+				writer.writeTo(deflaterStream);
+				deflaterStream.finish();
+			} finally {
+				deflater.end();
+			}
+		}
+		else writer.writeTo(out);
+	}
+	
+	/**
+	 * Decodes an object from binary format
+	 * @param data the encoded bytes
+	 * @return the decoded object
+	 * @throws ParsingException if data are malformed or written by a newer version
+	 */
+	public Object decode(byte[] data) throws ParsingException {
+		return this.decode(data, 0, data.length);
+	}
+	
+	/**
+	 * Decodes an object of an expected type from binary format
+	 * @param <T> the expected type
+	 * @param data the encoded bytes
+	 * @param type the class of the expected type
+	 * @return the decoded object, or null if a null object was encoded
+	 * @throws ParsingException if data are malformed, written by a newer version or of a different type
+	 */
+	public <T> T decode(byte[] data, Class<T> type) throws ParsingException {
+		Object object = this.decode(data);
+		if (object != null && !type.isInstance(object)) 
+			throw new ParsingException("Binary data contain " + object.getClass().getSimpleName() + ", not " + type.getSimpleName());
+		return type.cast(object);
+	}
+	
+	/**
+	 * Decodes an object from a stream in binary format. The stream is read until its end, but not closed.
+	 * @param in the source stream
+	 * @return the decoded object
+	 * @throws IOException if the stream cannot be read
+	 * @throws ParsingException if data are malformed or written by a newer version
+	 */
+	public Object decode(InputStream in) throws IOException, ParsingException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] tmpBuffer = new byte[8192];
+		for (int n = in.read(tmpBuffer); n != -1; n = in.read(tmpBuffer)) {
+			out.write(tmpBuffer, 0, n);
+		}
+		return this.decode(out.toByteArray());
+	}
+	
+	private Object decode(byte[] data, int offset, int length) throws ParsingException {
+		if (length < MAGIC.length + 2) throw new ParsingException("Binary data too short");
+		for (int i = 0; i < MAGIC.length; i++) {
+			if (data[offset + i] != MAGIC[i]) throw new ParsingException("Binary data are not in RtmCodec format");
+		}
+		int version = data[offset + MAGIC.length] & 0xFF;
+		if (version > VERSION) throw new ParsingException("Binary data version " + version + " is not supported");
+		int flags = data[offset + MAGIC.length + 1] & 0xFF;
+		int headerLength = MAGIC.length + 2;
+		CodecReader reader;
+		if ((flags & FLAG_DEFLATE) != 0) {
+			byte[] inflated = inflate(data, offset + headerLength, length - headerLength);
+			reader = new CodecReader(inflated, 0, inflated.length, version);
+		}
+		else reader = new CodecReader(data, offset + headerLength, length - headerLength, version);
+		try {
+			return this.readValue(reader);
+		} catch (ClassCastException e) {
+			//a reference pointing to an object of the wrong type
+			throw new ParsingException("Invalid object reference in binary data");
+		}
+	}
+	
+	private static byte[] inflate(byte[] data, int offset, int length) throws ParsingException {
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(data, offset, length);
+			ByteArrayOutputStream out = new ByteArrayOutputStream(length * 4);
+			byte[] tmpBuffer = new byte[8192];
+			while (!inflater.finished()) {
+				int n = inflater.inflate(tmpBuffer);
+				if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) 
+					throw new ParsingException("Truncated compressed binary data");
+				out.write(tmpBuffer, 0, n);
+			}
+			return out.toByteArray();
+		} catch (DataFormatException e) {
+			throw new ParsingException("Compressed binary data are malformed: " + e.getMessage());
+		} finally {
+			inflater.end();
+		}
+	}
+	
+	private void writeValue(CodecWriter writer, Object object) {
+		if (object == null) writer.writeByte(NULL);
+		else if (object instanceof Task) {
+			writer.writeByte(TASK);
+			this.writeTask(writer, (Task) object);
+		}
+		else if (object instanceof TaskList) {
+			writer.writeByte(TASK_LIST);
+			TaskList list = (TaskList) object;
+			writer.writeString(list.getId());
+			writer.writeString(list.getName());
+			writer.writeByte((list.isArchived() ? 1 : 0) | (list.isDeleted() ? 2 : 0) 
+					| (list.isLocked() ? 4 : 0) | (list.isSmart() ? 8 : 0));
+			writer.writeSignedVarint(list.getPosition());
+			writer.writeSignedVarint(list.getSortOrder());
+		}
+		else if (object instanceof SynchedTasks) {
+			writer.writeByte(SYNCHED_TASKS);
+			SynchedTasks synchedTasks = (SynchedTasks) object;
+			this.writeValue(writer, synchedTasks.getTasks());
+			this.writeValue(writer, synchedTasks.getDeletedTasks());
+			writer.writeDate(synchedTasks.getCurrentTime());
+		}
+		else if (object instanceof DeletedTask) {
+			writer.writeByte(DELETED_TASK);
+			DeletedTask deletedTask = (DeletedTask) object;
+			writer.writeString(deletedTask.getId());
+			writer.writeString(deletedTask.getTaskSerieId());
+			writer.writeString(deletedTask.getlistId());
+			writer.writeDate(deletedTask.getDeleted());
+		}
+		else if (object instanceof Transaction<?>) {
+			writer.writeByte(TRANSACTION);
+			Transaction<?> transaction = (Transaction<?>) object;
+			writer.writeString(transaction.getId());
+			writer.writeBoolean(transaction.isUndoable());
+			this.writeValue(writer, transaction.getObject());
+		}
+		else if (object instanceof Note) {
+			writer.writeByte(NOTE);
+			this.writeNote(writer, (Note) object);
+		}
+		else if (object instanceof Contact) {
+			writer.writeByte(CONTACT);
+			this.writeContact(writer, (Contact) object);
+		}
+		else if (object instanceof Group) {
+			writer.writeByte(GROUP);
+			Group group = (Group) object;
+			writer.writeString(group.getId());
+			writer.writeString(group.getName());
+			this.writeStrings(writer, group.getContacts());
+		}
+		else if (object instanceof Recurrence) {
+			writer.writeByte(RECURRENCE);
+			this.writeRecurrence(writer, (Recurrence) object);
+		}
+		else if (object instanceof List<?>) {
+			writer.writeByte(LIST);
+			List<?> list = (List<?>) object;
+			writer.writeVarint(list.size());
+			for (Object element : list) this.writeValue(writer, element);
+		}
+		else if (object instanceof String) {
+			writer.writeByte(STRING);
+			writer.writeString((String) object);
+		}
+		else if (object instanceof Boolean) {
+			writer.writeByte(BOOLEAN);
+			writer.writeBoolean(((Boolean) object).booleanValue());
+		}
+		else throw new IllegalArgumentException("RtmCodec does not support " + object.getClass().getName());
+	}
+	
+	private Object readValue(CodecReader reader) throws ParsingException {
+		int type = reader.readByte();
+		switch (type) {
+		case NULL:
+			return null;
+		case TASK:
+			return this.readTask(reader);
+		case TASK_LIST:
+			String id = reader.readString();
+			String name = reader.readString();
+			int flags = reader.readByte();
+			int position = (int) reader.readSignedVarint();
+			int sortOrder = (int) reader.readSignedVarint();
+			return new TaskList(id, name, (flags & 1) != 0, (flags & 2) != 0, (flags & 4) != 0, position, (flags & 8) != 0, sortOrder);
+		case SYNCHED_TASKS:
+			List<Task> tasks = this.readList(reader, Task.class);
+			List<DeletedTask> deletedTasks = this.readList(reader, DeletedTask.class);
+			return new SynchedTasks(tasks, deletedTasks, reader.readDate());
+		case DELETED_TASK:
+			String taskId = reader.readString();
+			String taskserieId = reader.readString();
+			String listId = reader.readString();
+			DeletedTask deletedTask = new DeletedTask(taskserieId, listId, taskId, reader.readDate());
+			deletedTask.setlistId(listId);
+			return deletedTask;
+		case TRANSACTION:
+			String transactionId = reader.readString();
+			boolean undoable = reader.readBoolean();
+			return new Transaction<Object>(transactionId, undoable, this.readValue(reader));
+		case NOTE:
+			return this.readNote(reader);
+		case CONTACT:
+			return this.readContact(reader);
+		case GROUP:
+			String groupId = reader.readString();
+			String groupName = reader.readString();
+			return new Group(groupId, groupName, this.readStrings(reader));
+		case RECURRENCE:
+			return this.readRecurrence(reader);
+		case LIST:
+			int size = reader.readSize();
+			List<Object> list = new ArrayList<Object>(Math.min(size, 1024));
+			for (int i = 0; i < size; i++) list.add(this.readValue(reader));
+			return list;
+		case STRING:
+			return reader.readString();
+		case BOOLEAN:
+			return Boolean.valueOf(reader.readBoolean());
+		default:
+			throw new ParsingException("Unknown type " + type + " in binary data");
+		}
+	}
+	
+	@SuppressWarnings("unchecked")
+	private <T> List<T> readList(CodecReader reader, Class<T> type) throws ParsingException {
+		Object object = this.readValue(reader);
+		if (object == null) return null;
+		if (!(object instanceof List<?>)) throw new ParsingException("Expected a list in binary data");
+		for (Object element : (List<?>) object) {
+			if (element != null && !type.isInstance(element)) throw new ParsingException("Expected a list of " + type.getSimpleName());
+		}
+		return (List<T>) object;
+	}
+	
+	private void writeTask(CodecWriter writer, Task task) {
+		writer.writeString(task.getId());
+		writer.writeString(task.getName());
+		writer.writeDate(task.getAdded());
+		writer.writeDate(task.getCompleted());
+		writer.writeDate(task.getDeleted());
+		writer.writeDate(task.getDue());
+		writer.writeString(task.getEstimate());
+		writer.writeBoolean(task.getHasDueTime());
+		writer.writeVarint(task.getPostponed());
+		writer.writeByte(task.getPriority() == null ? 0 : task.getPriority().ordinal() + 1);
+		writer.writeString(task.getTaskserieId());
+		writer.writeString(task.getLocationId());
+		writer.writeString(task.getListId());
+		writer.writeDate(task.getCreated());
+		writer.writeDate(task.getModified());
+		Note[] notes = task.getNotes();
+		if (!writer.writeReference(notes)) {
+			writer.writeVarint(notes.length);
+			for (Note note : notes) this.writeNote(writer, note);
+		}
+		Contact[] participants = task.getParticipants();
+		if (!writer.writeReference(participants)) {
+			writer.writeVarint(participants.length);
+			for (Contact contact : participants) this.writeContact(writer, contact);
+		}
+		Recurrence recurrence = task.getRecurrence();
+		if (!writer.writeReference(recurrence)) this.writeRecurrence(writer, recurrence);
+		writer.writeString(task.getSource());
+		this.writeStrings(writer, task.getTags());
+		writer.writeString(task.getUrl());
+	}
+	
+	private Task readTask(CodecReader reader) throws ParsingException {
+		String id = reader.readString();
+		String name = reader.readString();
+		Date added = reader.readDate();
+		Date completed = reader.readDate();
+		Date deleted = reader.readDate();
+		Date due = reader.readDate();
+		String estimate = reader.readString();
+		boolean hasDueTime = reader.readBoolean();
+		int postponed = reader.readInt();
+		int priorityIndex = reader.readByte();
+		Priority[] priorities = Priority.values();
+		if (priorityIndex > priorities.length) throw new ParsingException("Unknown priority in binary data");
+		Priority priority = priorityIndex == 0 ? null : priorities[priorityIndex - 1];
+		String taskserieId = reader.readString();
+		String locationId = reader.readString();
+		String listId = reader.readString();
+		Date created = reader.readDate();
+		Date modified = reader.readDate();
+		Note[] notes;
+		Object reference = reader.readReference();
+		if (reference == CodecReader.NEW) {
+			notes = new Note[reader.readSize()];
+			for (int i = 0; i < notes.length; i++) notes[i] = this.readNote(reader);
+			reader.register(notes);
+		}
+		else notes = reference == null ? NO_NOTES : reader.cast(reference, Note[].class);
+		Contact[] participants;
+		reference = reader.readReference();
+		if (reference == CodecReader.NEW) {
+			participants = new Contact[reader.readSize()];
+			for (int i = 0; i < participants.length; i++) participants[i] = this.readContact(reader);
+			reader.register(participants);
+		}
+		else participants = reference == null ? NO_CONTACTS : reader.cast(reference, Contact[].class);
+		Recurrence recurrence;
+		reference = reader.readReference();
+		if (reference == CodecReader.NEW) {
+			recurrence = this.readRecurrence(reader);
+			reader.register(recurrence);
+		}
+		else recurrence = reader.cast(reference, Recurrence.class);
+		String source = reader.readString();
+		String[] tags = this.readStrings(reader);
+		String url = reader.readString();
+		return new Task(id, name, added, completed, deleted, due, estimate, hasDueTime, postponed, priority,
+				taskserieId, locationId, listId, created, modified, notes, recurrence, participants, source, tags, url);
+	}
+	
+	private void writeNote(CodecWriter writer, Note note) {
+		writer.writeString(note.getId());
+		writer.writeString(note.getTitle());
+		writer.writeString(note.getText());
+		writer.writeDate(note.getCreated());
+		writer.writeDate(note.getModified());
+	}
+	
+	private Note readNote(CodecReader reader) throws ParsingException {
+		String id = reader.readString();
+		String title = reader.readString();
+		String text = reader.readString();
+		Date created = reader.readDate();
+		return new Note(id, title, text, created, reader.readDate());
+	}
+	
+	private void writeContact(CodecWriter writer, Contact contact) {
+		writer.writeString(contact.getId());
+		writer.writeString(contact.getFullname());
+		writer.writeString(contact.getUsername());
+	}
+	
+	private Contact readContact(CodecReader reader) throws ParsingException {
+		String id = reader.readString();
+		String fullname = reader.readString();
+		return new Contact(id, fullname, reader.readString());
+	}
+	
+	private void writeRecurrence(CodecWriter writer, Recurrence recurrence) {
+		writer.writeBoolean(recurrence.isEvery());
+		writer.writeByte(recurrence.getFrequency() == null ? 0 : recurrence.getFrequency().ordinal() + 1);
+		writer.writeVarint(recurrence.getInterval());
+		Map<RecurrenceOption,String> options = recurrence.getOptions();
+		writer.writeVarint(options.size());
+		for (Map.Entry<RecurrenceOption,String> entry : options.entrySet()) {
+			writer.writeByte(entry.getKey().ordinal());
+			writer.writeString(entry.getValue());
+		}
+		writer.writeByte(recurrence.getOption() == null ? 0 : recurrence.getOption().ordinal() + 1);
+	}
+	
+	private Recurrence readRecurrence(CodecReader reader) throws ParsingException {
+		boolean every = reader.readBoolean();
+		int frequencyIndex = reader.readByte();
+		Frequency[] frequencies = Frequency.values();
+		if (frequencyIndex > frequencies.length) throw new ParsingException("Unknown frequency in binary data");
+		Frequency frequency = frequencyIndex == 0 ? null : frequencies[frequencyIndex - 1];
+		int interval = reader.readInt();
+		int size = reader.readSize();
+		RecurrenceOption[] values = RecurrenceOption.values();
+		Map<RecurrenceOption,String> options = new EnumMap<RecurrenceOption,String>(RecurrenceOption.class);
+		for (int i = 0; i < size; i++) {
+			int optionIndex = reader.readByte();
+			if (optionIndex >= values.length) throw new ParsingException("Unknown recurrence option in binary data");
+			options.put(values[optionIndex], reader.readString());
+		}
+		//version 1 has no single option: the last one is taken
+		if (reader.getVersion() < 2) return new Recurrence(every, interval, frequency, options);
+		int optionIndex = reader.readByte();
+		if (optionIndex > values.length) throw new ParsingException("Unknown recurrence option in binary data");
+		return new Recurrence(every, interval, frequency, options, optionIndex == 0 ? null : values[optionIndex - 1]);
+	}
+	
+	private void writeStrings(CodecWriter writer, String[] strings) {
+		if (writer.writeReference(strings)) return;
+		writer.writeVarint(strings.length);
+		for (String string : strings) writer.writeString(string);
+	}
+	
+	private String[] readStrings(CodecReader reader) throws ParsingException {
+		Object reference = reader.readReference();
+		if (reference == null) return NO_STRINGS;
+		if (reference != CodecReader.NEW) return reader.cast(reference, String[].class);
+		int size = reader.readSize();
+		String[] strings = new String[size];
+		for (int i = 0; i < size; i++) strings[i] = reader.readString();
+		reader.register(strings);
+		return strings;
+	}
+
+}
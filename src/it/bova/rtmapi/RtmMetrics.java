@@ -0,0 +1,83 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The built-in {@link MetricsCollector}: it aggregates, for every API method, latency histograms split by phase,
+ * transferred bytes, retries and server errors by code.
+ * <pre>
+ *    RtmMetrics metrics = new RtmMetrics();
+ *    client.addMetricsCollector(metrics);
+ *    ...
+ *    MethodStatistics stats = metrics.getStatistics("rtm.tasks.getList");
+ *    long p99 = stats.getTotal().getPercentile(99, TimeUnit.MILLISECONDS);
+ * </pre>
+ * Recording is lock-free.
+ * @author Giovanni Pini
+ *
+ */
+public class RtmMetrics implements MetricsCollector {
+	
+	private final Map<Method,MethodStatistics> statistics = new EnumMap<Method,MethodStatistics>(Method.class);
+	
+	/**
+	 * Creates an empty collector
+	 */
+	public RtmMetrics() {
+		//all the entries are created here, so the map is never modified afterwards
+		for (Method method : Method.values()) {
+			this.statistics.put(method, new MethodStatistics(method.toString()));
+		}
+	}
+
+	public void record(CallMetrics call) {
+		this.statistics.get(call.method).record(call);
+	}
+	
+	/**
+	 * Gets the statistics of a method
+	 * @param method the name of the method (e.g. "rtm.tasks.getList")
+	 * @return the statistics of the method, or null if the method is unknown
+	 */
+	public MethodStatistics getStatistics(String method) {
+		for (MethodStatistics methodStatistics : this.statistics.values()) {
+			if (methodStatistics.getMethod().equals(method)) return methodStatistics;
+		}
+		return null;
+	}
+	
+	/**
+	 * Gets the statistics of all the methods called at least once
+	 * @return a map from method name to its statistics
+	 */
+	public Map<String,MethodStatistics> getStatistics() {
+		Map<String,MethodStatistics> map = new LinkedHashMap<String,MethodStatistics>();
+		for (MethodStatistics methodStatistics : this.statistics.values()) {
+			if (methodStatistics.getCalls() > 0) map.put(methodStatistics.getMethod(), methodStatistics);
+		}
+		return Collections.unmodifiableMap(map);
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("RtmMetrics [");
+		for (MethodStatistics methodStatistics : this.getStatistics().values()) {
+			sb.append("\n\t").append(methodStatistics);
+		}
+		return sb.append("]").toString();
+	}
+
+}
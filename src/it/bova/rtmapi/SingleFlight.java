@@ -0,0 +1,107 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Shares one in-flight read among the threads asking the same thing at the same time 
+ * (See {@link RtmClient#setSingleFlight(boolean)}): the first thread performs the call, the others wait for it 
+ * and get the same parsed response, or the same exception or error. Only the first thread goes through 
+ * the metrics of the client: the waiting ones record no {@link CallMetrics}.
+ */
+class SingleFlight {
+	
+	interface Call<T> {
+		T call() throws ServerException, RtmApiException, IOException;
+	}
+	
+	private static class Flight {
+		private final CountDownLatch done = new CountDownLatch(1);
+		private Object result;
+		private Throwable error;
+	}
+	
+	private final ConcurrentMap<String,Flight> flights = new ConcurrentHashMap<String,Flight>();
+	
+	/**
+	 * Builds the key of a request from its parameters (method, API key, token and arguments). 
+	 * The signature is not among them: it is computed from them when the URL is built. Names and values are 
+	 * encoded as in the URL, so that a value containing '&amp;' or '=' cannot make two requests look the same.
+	 */
+	static String key(Map<String,String> sortedParameters) throws RtmApiException {
+		StringBuilder key = new StringBuilder(128);
+		try {
+			for (Map.Entry<String,String> parameter : sortedParameters.entrySet()) {
+				key.append(URLEncoder.encode(parameter.getKey(), "UTF-8")).append('=')
+						.append(URLEncoder.encode(parameter.getValue(), "UTF-8")).append('&');
+			}
+		} catch (UnsupportedEncodingException e) {
+			throw new RtmApiException(e.getMessage());
+		}
+		return key.toString();
+	}
+	
+	@SuppressWarnings("unchecked")
+	<T> T execute(String key, Call<T> call) throws ServerException, RtmApiException, IOException {
+		Flight flight = new Flight();
+		Flight running = this.flights.putIfAbsent(key, flight);
+		if (running != null) return (T) this.await(running);
+		try {
+			flight.result = call.call();
+			return (T) flight.result;
+		} catch (ServerException e) {
+			flight.error = e;
+			throw e;
+		} catch (RtmApiException e) {
+			flight.error = e;
+			throw e;
+		} catch (IOException e) {
+			flight.error = e;
+			throw e;
+		} catch (RuntimeException e) {
+			flight.error = e;
+			throw e;
+		} catch (Error e) {
+			//waiters must not take a missing result for a successful call
+			flight.error = e;
+			throw e;
+		} finally {
+			//later requests go to the server again: only the ones arrived meanwhile share the result
+			this.flights.remove(key, flight);
+			flight.done.countDown();
+		}
+	}
+	
+	private Object await(Flight flight) throws ServerException, RtmApiException, IOException {
+		try {
+			flight.done.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for the same request");
+		}
+		Throwable error = flight.error;
+		if (error == null) return flight.result;
+		if (error instanceof ServerException) throw (ServerException) error;
+		if (error instanceof RtmApiException) throw (RtmApiException) error;
+		if (error instanceof IOException) throw (IOException) error;
+		if (error instanceof Error) throw (Error) error;
+		throw (RuntimeException) error;
+	}
+
+}
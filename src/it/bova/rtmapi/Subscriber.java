@@ -0,0 +1,47 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+
+/**
+ * Receives the items of a {@link Publisher}: onSubscribe first, then onNext at most as many times as requested, 
+ * then onComplete or onError (unless the subscription is cancelled). 
+ * Methods are never called at the same time, but may be called by different threads.
+ * @author Giovanni Pini
+ *
+ * @param <T> the type of the items
+ */
+public interface Subscriber<T> {
+	
+	/**
+	 * Called first, with the subscription used to request items
+	 * @param subscription the subscription
+	 */
+	void onSubscribe(Subscription subscription);
+	
+	/**
+	 * Receives an item
+	 * @param item the item, never null
+	 */
+	void onNext(T item);
+	
+	/**
+	 * Called when the items end because of an error
+	 * @param error a ServerException, an RtmApiException, an IOException or a RuntimeException
+	 */
+	void onError(Throwable error);
+	
+	/**
+	 * Called when all the items have been received
+	 */
+	void onComplete();
+
+}
@@ -0,0 +1,32 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+
+/**
+ * The link between a {@link Publisher} and one of its subscribers
+ * @author Giovanni Pini
+ *
+ */
+public interface Subscription {
+	
+	/**
+	 * Requests more items. Requests add up; Long.MAX_VALUE means no limit.
+	 * @param n the number of items, positive
+	 */
+	void request(long n);
+	
+	/**
+	 * Stops the items: the request to the server is abandoned and no more methods of the subscriber are called
+	 */
+	void cancel();
+
+}
@@ -0,0 +1,59 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+
+/**
+ * A change since the last synchronization (See {@link ReactiveRtmApi#tasksGetSynchedList(java.util.Date)}): 
+ * a task changed or deleted
+ * @author Giovanni Pini
+ *
+ */
+public class SyncEvent {
+	
+	private final Task task;
+	private final DeletedTask deletedTask;
+	
+	SyncEvent(Task task, DeletedTask deletedTask) {
+		this.task = task;
+		this.deletedTask = deletedTask;
+	}
+	
+	/**
+	 * Tells whether the task was deleted
+	 * @return true if this event is a deletion
+	 */
+	public boolean isDeleted() {
+		return this.deletedTask != null;
+	}
+	
+	/**
+	 * Gets the changed task
+	 * @return the task, or null if the task was deleted
+	 */
+	public Task getTask() {
+		return this.task;
+	}
+	
+	/**
+	 * Gets the deleted task
+	 * @return the deleted task, or null if the task was changed
+	 */
+	public DeletedTask getDeletedTask() {
+		return this.deletedTask;
+	}
+
+	@Override
+	public String toString() {
+		return "SyncEvent [" + (isDeleted() ? "deletedTask=" + deletedTask : "task=" + task) + "]";
+	}
+
+}
@@ -0,0 +1,31 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.IOException;
+
+/**
+ * Receives the changes since the last synchronization one at a time, as they are decoded 
+ * (See {@link RtmApi#tasksGetSynchedList(java.util.Date, SynchedTaskConsumer)}).
+ * @author Giovanni Pini
+ *
+ */
+public interface SynchedTaskConsumer extends TaskConsumer {
+	
+	/**
+	 * Receives a deleted task
+	 * @param task the deleted task
+	 * @return true to go on, false to stop reading the response
+	 * @throws IOException if the task cannot be handled; reading is stopped
+	 */
+	boolean acceptDeleted(DeletedTask task) throws IOException;
+
+}
@@ -0,0 +1,25 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+/**
+ * The fields of a {@link Task}, to select those to be decoded by read methods with projection
+ * (e.g. {@link RtmApi#tasksGetList(java.util.Set)}). IDs of task, taskserie and list are always decoded.
+ * <pre>
+ *    List&lt;Task&gt; tasks = api.tasksGetList(EnumSet.of(TaskField.MODIFIED, TaskField.COMPLETED));
+ * </pre>
+ * @author Giovanni Pini
+ *
+ */
+public enum TaskField {
+	NAME, ADDED, COMPLETED, DELETED, DUE, HAS_DUE_TIME, ESTIMATE, POSTPONED, PRIORITY, LOCATION_ID,
+	CREATED, MODIFIED, NOTES, PARTICIPANTS, RECURRENCE, SOURCE, TAGS, URL
+}
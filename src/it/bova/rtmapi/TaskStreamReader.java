@@ -0,0 +1,433 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Decodes a tasks response while it is read, handing each task to a {@link TaskConsumer} as soon as its taskserie
+ * is complete: only one taskserie at a time is held in memory.
+ * Taskseries are decoded by {@link JSONParser}, exactly as in the responses read at once, or, with a projection,
+ * straight from the tokens of the response, skipping the values of the fields not selected.
+ */
+class TaskStreamReader implements RestClient.ResponseHandler<Date> {
+	
+	private static final String ID = ResponseParameter.ID.toString();
+	private static final String NAME = ResponseParameter.NAME.toString();
+	private static final String LOCATION_ID = ResponseParameter.LOCATION_ID.toString();
+	private static final String SOURCE = ResponseParameter.SOURCE.toString();
+	private static final String URL = ResponseParameter.URL.toString();
+	private static final String CREATED = ResponseParameter.CREATED.toString();
+	private static final String MODIFIED = ResponseParameter.MODIFIED.toString();
+	private static final String TAGS = ResponseParameter.TAGS.toString();
+	private static final String TAG = ResponseParameter.TAG.toString();
+	private static final String NOTES = ResponseParameter.NOTES.toString();
+	private static final String PARTICIPANTS = ResponseParameter.PARTICIPANTS.toString();
+	private static final String RRULE = ResponseParameter.RRULE.toString();
+	private static final String TASK = ResponseParameter.TASK.toString();
+	private static final String ADDED = ResponseParameter.ADDED.toString();
+	private static final String COMPLETED = ResponseParameter.COMPLETED.toString();
+	private static final String DELETED = ResponseParameter.DELETED.toString();
+	private static final String DUE = ResponseParameter.DUE.toString();
+	private static final String HAS_DUE_TIME = ResponseParameter.HAS_DUE_TIME.toString();
+	private static final String ESTIMATE = ResponseParameter.ESTIMATE.toString();
+	private static final String POSTPONED = ResponseParameter.POSTPONED.toString();
+	private static final String PRIORITY = ResponseParameter.PRIORITY.toString();
+	
+	private final TaskConsumer consumer;
+	private final SynchedTaskConsumer synchedConsumer;
+	private final boolean lazy;
+	private final Set<TaskField> fields;
+	private Date current = null;
+	//set when a value of the projected taskserie being read cannot be decoded
+	private boolean malformed;
+	
+	TaskStreamReader(TaskConsumer consumer, boolean lazy) {
+		this(consumer, lazy, null);
+	}
+	
+	/**
+	 * @param fields the fields to be decoded, or null for all
+	 */
+	TaskStreamReader(TaskConsumer consumer, boolean lazy, Set<TaskField> fields) {
+		this.consumer = consumer;
+		this.synchedConsumer = consumer instanceof SynchedTaskConsumer ? (SynchedTaskConsumer) consumer : null;
+		this.lazy = lazy;
+		this.fields = fields;
+	}
+	
+	/**
+	 * Reads the response
+	 * @return the current time of the server (only for synchronizations), or null
+	 */
+	public Date handle(InputStream body, byte[] buffer) throws ServerException, RtmApiException, IOException {
+		try {
+			JSONReader reader = buffer == null ? new JSONReader(body) : new JSONReader(body, buffer);
+			reader.beginObject();
+			while (reader.hasNext()) {
+				if (reader.nextName().equals(ResponseParameter.RSP.toString())) {
+					this.readRsp(reader);
+					return this.current;
+				}
+				else reader.skipValue();
+			}
+			throw new RtmApiException("Parsing error: no " + ResponseParameter.RSP + " in response");
+		} catch (ParsingException e) {
+			throw new RtmApiException("Parsing error: " + e.getMessage());
+		} catch (StoppedException e) {
+			return this.current;
+		}
+	}
+	
+	private void readRsp(JSONReader reader) throws ServerException, ParsingException, IOException, StoppedException {
+		reader.beginObject();
+		while (reader.hasNext()) {
+			String name = reader.nextName();
+			if (name.equals(ResponseParameter.ERR.toString())) {
+				Object err = reader.readValue();
+				if (!(err instanceof JSONObject)) throw new ParsingException("Invalid error message");
+				int code = JSONParser.getInt((JSONObject) err, ResponseParameter.CODE);
+				String msg = JSONParser.getString((JSONObject) err, ResponseParameter.MSG);
+				throw new ServerException(code, msg);
+			}
+			else if (name.equals(ResponseParameter.TASKS.toString()) && reader.peek() == JSONReader.BEGIN_OBJECT) {
+				reader.beginObject();
+				while (reader.hasNext()) {
+					if (reader.nextName().equals(ResponseParameter.LIST.toString())) this.readLists(reader);
+					else reader.skipValue();
+				}
+				reader.endObject();
+			}
+			else reader.skipValue();
+		}
+		reader.endObject();
+	}
+	
+	private void readLists(JSONReader reader) throws ParsingException, IOException, StoppedException {
+		//an array, or a single object when there is one list
+		int token = reader.peek();
+		if (token == JSONReader.BEGIN_ARRAY) {
+			reader.beginArray();
+			while (reader.hasNext()) {
+				if (reader.peek() == JSONReader.BEGIN_OBJECT) this.readList(reader);
+				else reader.skipValue();
+			}
+			reader.endArray();
+		}
+		else if (token == JSONReader.BEGIN_OBJECT) this.readList(reader);
+		else reader.skipValue();
+	}
+	
+	private void readList(JSONReader reader) throws ParsingException, IOException, StoppedException {
+		String listId = null;
+		//tasks coming before the list ID (never sent by the server, but valid JSON) wait for it
+		List<Task> pendingTasks = null;
+		JSONObject pendingDeleted = null;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			String name = reader.nextName();
+			if (name.equals(ID)) {
+				listId = reader.nextString();
+				if (pendingTasks != null) {
+					for (Task task : pendingTasks) task.setListId(listId);
+					this.emit(pendingTasks);
+					pendingTasks = null;
+				}
+				if (pendingDeleted != null) {
+					this.emitDeleted(pendingDeleted, listId);
+					pendingDeleted = null;
+				}
+			}
+			else if (name.equals(ResponseParameter.CURRENT.toString())) {
+				String current = reader.nextString();
+				if (this.current == null) this.current = DateParser.parseDate(current);
+			}
+			else if (name.equals(ResponseParameter.TASKSERIES.toString())) {
+				//an array, or a single object when there is one taskserie
+				if (reader.peek() == JSONReader.BEGIN_ARRAY) {
+					reader.beginArray();
+					while (reader.hasNext()) pendingTasks = this.readTaskserie(reader, listId, pendingTasks);
+					reader.endArray();
+				}
+				else pendingTasks = this.readTaskserie(reader, listId, pendingTasks);
+			}
+			else if (name.equals(DELETED) && this.synchedConsumer != null) {
+				JSONObject deleted = new JSONObject();
+				try {
+					deleted.put(DELETED, reader.readValue());
+				} catch (JSONException e) {
+					throw new ParsingException(e.getMessage());
+				}
+				if (listId != null) this.emitDeleted(deleted, listId);
+				else pendingDeleted = deleted;
+			}
+			else reader.skipValue();
+		}
+		reader.endObject();
+	}
+	
+	private List<Task> readTaskserie(JSONReader reader, String listId, List<Task> pendingTasks) 
+			throws ParsingException, IOException, StoppedException {
+		if (reader.peek() != JSONReader.BEGIN_OBJECT) {
+			reader.skipValue();
+			return pendingTasks;
+		}
+		List<Task> tasks = this.fields == null ? this.decodeTaskserie(reader.readValue(), listId) : this.readProjectedTaskserie(reader, listId);
+		if (listId != null) this.emit(tasks);
+		else {
+			if (pendingTasks == null) pendingTasks = new ArrayList<Task>();
+			pendingTasks.addAll(tasks);
+		}
+		return pendingTasks;
+	}
+	
+	private List<Task> decodeTaskserie(Object value, String listId) {
+		JSONObject serie = (JSONObject) value;
+		List<Task> tasks = new ArrayList<Task>(1);
+		try {
+			Taskserie taskserie = this.lazy ? JSONParser.getLazyTaskserie(serie, listId) : JSONParser.getTaskserie(serie, listId);
+			JSONArray entries = JSONParser.getArray(serie, ResponseParameter.TASK);
+			for (int i = 0; i < entries.length(); i++) {
+				JSONObject task = JSONParser.get(entries, i);
+				tasks.add(this.lazy ? JSONParser.getLazyTask(task, taskserie) : JSONParser.getTask(task, taskserie));
+			}
+		} catch (ParsingException e) { 
+			/* malformed taskserie -> no tasks */
+			tasks.clear();
+		}
+		return tasks;
+	}
+	
+	private List<Task> readProjectedTaskserie(JSONReader reader, String listId) throws ParsingException, IOException {
+		Set<TaskField> fields = this.fields;
+		String id = null;
+		String name = null;
+		String locationId = null;
+		String source = "";
+		String url = "";
+		Date created = null;
+		Date modified = null;
+		String[] tags = new String[0];
+		Note[] notes = new Note[0];
+		Contact[] participants = new Contact[0];
+		Recurrence recurrence = null;
+		//tasks are built at the end, the serie fields can follow them
+		List<ProjectedTask> projectedTasks = new ArrayList<ProjectedTask>(1);
+		this.malformed = false;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			String key = reader.nextName();
+			if (key.equals(ID)) id = this.string(reader);
+			else if (key.equals(TASK)) {
+				if (reader.peek() == JSONReader.BEGIN_ARRAY) {
+					reader.beginArray();
+					while (reader.hasNext()) projectedTasks.add(this.readProjectedTask(reader));
+					reader.endArray();
+				}
+				else projectedTasks.add(this.readProjectedTask(reader));
+			}
+			else if (key.equals(NAME) && fields.contains(TaskField.NAME)) name = this.string(reader);
+			else if (key.equals(MODIFIED) && fields.contains(TaskField.MODIFIED)) modified = this.date(reader);
+			else if (key.equals(CREATED) && fields.contains(TaskField.CREATED)) created = this.date(reader);
+			else if (key.equals(LOCATION_ID) && fields.contains(TaskField.LOCATION_ID)) locationId = this.string(reader);
+			else if (key.equals(SOURCE) && fields.contains(TaskField.SOURCE)) source = this.string(reader);
+			else if (key.equals(URL) && fields.contains(TaskField.URL)) url = this.string(reader);
+			else if (key.equals(TAGS) && fields.contains(TaskField.TAGS)) tags = this.readTags(reader);
+			else if (key.equals(NOTES) && fields.contains(TaskField.NOTES) || key.equals(PARTICIPANTS) && fields.contains(TaskField.PARTICIPANTS)
+					|| key.equals(RRULE) && fields.contains(TaskField.RECURRENCE)) {
+				JSONObject value = wrap(key, reader.readValue());
+				try {
+					if (key.equals(NOTES)) notes = JSONParser.getNotes(value);
+					else if (key.equals(PARTICIPANTS)) participants = JSONParser.getParticipants(value);
+					else recurrence = JSONParser.getLazyRecurrence(value);
+				} catch (ParsingException e) {
+					this.malformed = true;
+				}
+			}
+			else reader.skipValue();
+		}
+		reader.endObject();
+		//malformed taskserie -> no tasks, as in the eager path; the rest of the response is still read
+		if (id == null || this.malformed) return new ArrayList<Task>(0);
+		List<Task> tasks = new ArrayList<Task>(projectedTasks.size());
+		for (ProjectedTask t : projectedTasks) {
+			tasks.add(new Task(t.id, name, t.added, t.completed, t.deleted, t.due, t.estimate, t.hasDueTime, t.postponed, 
+					t.priority, id, locationId, listId, created, modified, notes, recurrence, participants, source, tags, url));
+		}
+		return tasks;
+	}
+	
+	private ProjectedTask readProjectedTask(JSONReader reader) throws ParsingException, IOException {
+		Set<TaskField> fields = this.fields;
+		ProjectedTask task = new ProjectedTask();
+		reader.beginObject();
+		while (reader.hasNext()) {
+			String key = reader.nextName();
+			if (key.equals(ID)) task.id = this.string(reader);
+			else if (key.equals(DUE) && fields.contains(TaskField.DUE)) task.due = this.date(reader);
+			else if (key.equals(HAS_DUE_TIME) && fields.contains(TaskField.HAS_DUE_TIME)) task.hasDueTime = this.integer(reader) == 1;
+			else if (key.equals(ADDED) && fields.contains(TaskField.ADDED)) task.added = this.date(reader);
+			else if (key.equals(COMPLETED) && fields.contains(TaskField.COMPLETED)) task.completed = this.date(reader);
+			else if (key.equals(DELETED) && fields.contains(TaskField.DELETED)) task.deleted = this.date(reader);
+			else if (key.equals(PRIORITY) && fields.contains(TaskField.PRIORITY)) {
+				String priority = this.string(reader);
+				if (priority != null) task.priority = JSONParser.getPriority(priority);
+			}
+			else if (key.equals(POSTPONED) && fields.contains(TaskField.POSTPONED)) task.postponed = this.integer(reader);
+			else if (key.equals(ESTIMATE) && fields.contains(TaskField.ESTIMATE)) task.estimate = this.string(reader);
+			else reader.skipValue();
+		}
+		reader.endObject();
+		if (task.id == null) this.malformed = true;
+		return task;
+	}
+	
+	/**
+	 * Reads a string value of the projected taskserie. A value of another kind is skipped and marks the 
+	 * taskserie as malformed: only syntax errors stop the response
+	 */
+	private String string(JSONReader reader) throws ParsingException, IOException {
+		int token = reader.peek();
+		if (token == JSONReader.STRING || token == JSONReader.LITERAL) return reader.nextString();
+		reader.skipValue();
+		this.malformed = true;
+		return null;
+	}
+	
+	private Date date(JSONReader reader) throws ParsingException, IOException {
+		String value = this.string(reader);
+		if (value == null) return null;
+		try {
+			return DateParser.parseDate(value);
+		} catch (ParsingException e) {
+			this.malformed = true;
+			return null;
+		}
+	}
+	
+	private int integer(JSONReader reader) throws ParsingException, IOException {
+		String value = this.string(reader);
+		if (value == null) return 0;
+		try {
+			return toInt(value);
+		} catch (ParsingException e) {
+			this.malformed = true;
+			return 0;
+		}
+	}
+	
+	private String[] readTags(JSONReader reader) throws ParsingException, IOException {
+		//an empty array, or an object with an array of tags, or a single tag
+		if (reader.peek() != JSONReader.BEGIN_OBJECT) {
+			reader.skipValue();
+			return new String[0];
+		}
+		List<String> tags = new ArrayList<String>();
+		reader.beginObject();
+		while (reader.hasNext()) {
+			if (reader.nextName().equals(TAG)) {
+				if (reader.peek() == JSONReader.BEGIN_ARRAY) {
+					reader.beginArray();
+					while (reader.hasNext()) tags.add(this.string(reader));
+					reader.endArray();
+				}
+				else tags.add(this.string(reader));
+			}
+			else reader.skipValue();
+		}
+		reader.endObject();
+		return tags.toArray(new String[tags.size()]);
+	}
+	
+	private static JSONObject wrap(String name, Object value) throws ParsingException {
+		try {
+			return new JSONObject().put(name, value);
+		} catch (JSONException e) {
+			throw new ParsingException(e.getMessage());
+		}
+	}
+	
+	private static int toInt(String value) throws ParsingException {
+		if (value.equals("")) return 0;
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new ParsingException(e.getMessage());
+		}
+	}
+	
+	private void emit(List<Task> tasks) throws IOException, StoppedException {
+		for (Task task : tasks) {
+			if (!this.consumer.accept(task)) throw new StoppedException();
+		}
+	}
+	
+	private void emitDeleted(JSONObject deleted, String listId) throws IOException, StoppedException {
+		List<DeletedTask> deletedTasks;
+		try {
+			deletedTasks = JSONParser.getDeletedTasks(deleted, listId);
+		} catch (ParsingException e) { 
+			/* no deleted tasks inside */
+			return;
+		}
+		for (DeletedTask task : deletedTasks) {
+			if (!this.synchedConsumer.acceptDeleted(task)) throw new StoppedException();
+		}
+	}
+	
+	/**
+	 * Collects the tasks of a response, for the read methods returning lists
+	 */
+	static class Collector implements SynchedTaskConsumer {
+		
+		final List<Task> tasks = new ArrayList<Task>();
+		final List<DeletedTask> deletedTasks = new ArrayList<DeletedTask>();
+		
+		public boolean accept(Task task) {
+			this.tasks.add(task);
+			return true;
+		}
+		
+		public boolean acceptDeleted(DeletedTask task) {
+			this.deletedTasks.add(task);
+			return true;
+		}
+		
+	}
+	
+	//the task fields of a projected taskserie
+	private static class ProjectedTask {
+		String id;
+		Date added;
+		Date completed;
+		Date deleted;
+		Date due;
+		String estimate = "";
+		boolean hasDueTime;
+		int postponed;
+		Priority priority = Priority.NONE;
+	}
+	
+	//thrown when the consumer asks to stop
+	private static class StoppedException extends Exception {
+		private static final long serialVersionUID = 1L;
+	}
+
+}
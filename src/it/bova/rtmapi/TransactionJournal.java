@@ -0,0 +1,199 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A record of the undoable transactions of a job, to roll them back at once if the job fails 
+ * (See {@link RtmApiTransactable#rollback(TransactionJournal)}). 
+ * Transactions are recorded automatically by an API object with a journal:
+ * <pre>
+ *    TransactionJournal journal = new TransactionJournal();
+ *    RtmApiTransactable journaled = transApi.withJournal(journal);
+ *    try {
+ *        journaled.tasksSetName(timeline, task, "new name");
+ *        journaled.tasksSetPriority(timeline, task, Priority.HIGH);
+ *    } catch (Exception e) {
+ *        RollbackReport report = transApi.rollback(journal);
+ *    }
+ * </pre>
+ * A journal is thread-safe.
+ * @author Giovanni Pini
+ *
+ */
+public class TransactionJournal {
+	
+	/**
+	 * A recorded transaction
+	 */
+	public static class Entry {
+		
+		private final String timeline;
+		private final String method;
+		private final Transaction<?> transaction;
+		//what the transaction changed, as parameter=ID: entries sharing one are undone in reverse order
+		private final Set<String> targets;
+		//the containers of what it changed (e.g. the list of a task): they conflict only with entries changing them
+		private final Set<String> scopes;
+		
+		Entry(String timeline, String method, Transaction<?> transaction, Set<String> targets, Set<String> scopes) {
+			this.timeline = timeline;
+			this.method = method;
+			this.transaction = transaction;
+			this.targets = targets;
+			this.scopes = scopes;
+		}
+		
+		/**
+		 * Gets the timeline of the transaction
+		 * @return the timeline string
+		 */
+		public String getTimeline() {
+			return this.timeline;
+		}
+		
+		/**
+		 * Gets the method that performed the transaction
+		 * @return the method name (e.g. rtm.tasks.setName), or null if the transaction was recorded by hand
+		 */
+		public String getMethod() {
+			return this.method;
+		}
+		
+		/**
+		 * Gets the transaction
+		 * @return the transaction
+		 */
+		public Transaction<?> getTransaction() {
+			return this.transaction;
+		}
+		
+		/**
+		 * Tells whether this entry and another one can be undone at the same time
+		 */
+		boolean isIndependentOf(Entry entry) {
+			//entries with unknown targets are undone alone
+			if (this.targets.isEmpty() || entry.targets.isEmpty()) return false;
+			for (String target : this.targets) {
+				if (entry.targets.contains(target) || entry.scopes.contains(target)) return false;
+			}
+			for (String scope : this.scopes) {
+				if (entry.targets.contains(scope)) return false;
+			}
+			return true;
+		}
+
+		@Override
+		public String toString() {
+			return "Entry [timeline=" + timeline + ", method=" + method + ", transactionId=" 
+					+ transaction.getId() + ", targets=" + targets + ", scopes=" + scopes + "]";
+		}
+		
+	}
+	
+	private final List<Entry> entries = new ArrayList<Entry>();
+	
+	/**
+	 * Records a transaction by hand. Transactions that are not undoable are ignored.
+	 * @param timeline the timeline of the transaction
+	 * @param transaction the transaction
+	 * @return the same transaction
+	 */
+	public <T> Transaction<T> record(String timeline, Transaction<T> transaction) {
+		this.record(timeline, null, transaction, Collections.<String,String>emptyMap());
+		return transaction;
+	}
+	
+	void record(String timeline, String method, Transaction<?> transaction, Map<String,String> parameters) {
+		if (!transaction.isUndoable()) return;
+		Set<String> targets = new HashSet<String>();
+		Set<String> scopes = new HashSet<String>();
+		addTarget(targets, RequestParameter.TASKSERIES_ID, parameters.get(RequestParameter.TASKSERIES_ID.toString()));
+		addTarget(targets, RequestParameter.TASK_ID, parameters.get(RequestParameter.TASK_ID.toString()));
+		//every task method names the list of the task: only list methods change it, 
+		//task methods (moveTo and add too) just have to be undone before the list they use
+		Set<String> lists = method != null && method.startsWith("rtm.lists.") ? targets : scopes;
+		addTarget(lists, RequestParameter.LIST_ID, parameters.get(RequestParameter.LIST_ID.toString()));
+		addTarget(lists, RequestParameter.LIST_ID, parameters.get(RequestParameter.FROM_LIST_ID.toString()));
+		addTarget(lists, RequestParameter.LIST_ID, parameters.get(RequestParameter.TO_LIST_ID.toString()));
+		addTarget(targets, RequestParameter.NOTE_ID, parameters.get(RequestParameter.NOTE_ID.toString()));
+		addTarget(targets, RequestParameter.CONTACT_ID, parameters.get(RequestParameter.CONTACT_ID.toString()));
+		addTarget(targets, RequestParameter.GROUP_ID, parameters.get(RequestParameter.GROUP_ID.toString()));
+		//objects created by the transaction
+		addTargets(targets, scopes, transaction.getObject());
+		Entry entry = new Entry(timeline, method, transaction, targets, scopes);
+		synchronized (this.entries) {
+			this.entries.add(entry);
+		}
+	}
+	
+	private static void addTargets(Set<String> targets, Set<String> scopes, Object object) {
+		if (object instanceof Task) {
+			Task task = (Task) object;
+			addTarget(targets, RequestParameter.TASKSERIES_ID, task.getTaskserieId());
+			addTarget(targets, RequestParameter.TASK_ID, task.getId());
+			addTarget(scopes, RequestParameter.LIST_ID, task.getListId());
+		}
+		else if (object instanceof List<?>) {
+			for (Object element : (List<?>) object) addTargets(targets, scopes, element);
+		}
+		else if (object instanceof TaskList) addTarget(targets, RequestParameter.LIST_ID, ((TaskList) object).getId());
+		else if (object instanceof Note) addTarget(targets, RequestParameter.NOTE_ID, ((Note) object).getId());
+		else if (object instanceof Contact) addTarget(targets, RequestParameter.CONTACT_ID, ((Contact) object).getId());
+		else if (object instanceof Group) addTarget(targets, RequestParameter.GROUP_ID, ((Group) object).getId());
+	}
+	
+	private static void addTarget(Set<String> targets, RequestParameter parameter, String id) {
+		if (id != null && id.length() > 0) targets.add(parameter + "=" + id);
+	}
+	
+	/**
+	 * Gets the recorded transactions
+	 * @return a copy of the entries, in the order they were recorded
+	 */
+	public List<Entry> getEntries() {
+		synchronized (this.entries) {
+			return new ArrayList<Entry>(this.entries);
+		}
+	}
+	
+	/**
+	 * Gets the number of recorded transactions
+	 * @return the number of entries
+	 */
+	public int size() {
+		synchronized (this.entries) {
+			return this.entries.size();
+		}
+	}
+	
+	/**
+	 * Forgets all the recorded transactions (e.g. when the job is successful)
+	 */
+	public void clear() {
+		synchronized (this.entries) {
+			this.entries.clear();
+		}
+	}
+	
+	void remove(Entry entry) {
+		synchronized (this.entries) {
+			this.entries.remove(entry);
+		}
+	}
+
+}
@@ -0,0 +1,41 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.IOException;
+
+/**
+ * The HTTP stack used by an {@link RtmClient} to send signed requests. 
+ * {@link ApacheTransport} (the default) uses the Apache HttpClient bundled with Android and in lib folder;
+ * {@link UrlConnectionTransport} uses the HttpURLConnection of the platform and needs no library.
+ * Other stacks (e.g. OkHttp) can be plugged in by implementing this interface.
+ * Implementations are shared by all the threads of a client, so they must be thread-safe.
+ * @author Giovanni Pini
+ *
+ */
+public interface Transport {
+	
+	/**
+	 * Sends a request and waits for the status and headers of the response
+	 * @param request the request to be sent
+	 * @return the response, whose body is read and closed by the caller
+	 * @throws RtmApiException if the request is not valid
+	 * @throws ConnectFailedException if the connection cannot be opened, so the request was not sent
+	 * @throws IOException if another connection error occurs
+	 */
+	RawResponse send(TransportRequest request) throws RtmApiException, IOException;
+	
+	/**
+	 * Releases all the connections. The transport cannot be used anymore.
+	 */
+	void shutdown();
+
+}
@@ -0,0 +1,60 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+/**
+ * A signed request, ready to be sent by a {@link Transport}: every parameter is in the query string of the URL
+ * and the request is sent with POST and no body.
+ * @author Giovanni Pini
+ *
+ */
+public class TransportRequest {
+	
+	private final String method;
+	private final String url;
+	private final boolean timed;
+	private long sentNanos = 0;
+	
+	TransportRequest(String method, String url, boolean timed) {
+		this.method = method;
+		this.url = url;
+		this.timed = timed;
+	}
+	
+	/**
+	 * Gets the name of the called method (e.g. rtm.tasks.getList)
+	 * @return the method name
+	 */
+	public String getMethod() {
+		return this.method;
+	}
+
+	/**
+	 * Gets the complete URL of the request, signed
+	 * @return the URL
+	 */
+	public String getUrl() {
+		return this.url;
+	}
+	
+	/**
+	 * To be called by transports when the connection is open and the request is about to be sent, 
+	 * so that metrics can tell connection time from server time. Optional.
+	 */
+	public void markSent() {
+		if (this.timed) this.sentNanos = System.nanoTime();
+	}
+	
+	long getSentNanos() {
+		return this.sentNanos;
+	}
+
+}
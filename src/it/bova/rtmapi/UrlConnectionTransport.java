@@ -0,0 +1,88 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+
+/**
+ * A {@link Transport} based on the HttpURLConnection of the platform, which needs no library and is the 
+ * stack recommended on recent Android versions. Connections are kept alive and reused by the platform
+ * (on Java the number of idle connections kept per host is set by the "http.maxConnections" system property).
+ * @author Giovanni Pini
+ *
+ */
+public class UrlConnectionTransport implements Transport {
+	
+	private static final int TIMEOUT_MILLIS = 30000;
+	
+	private final int connectTimeoutMillis;
+	private final int readTimeoutMillis;
+	
+	/**
+	 * Creates a transport with 30 seconds timeouts
+	 */
+	public UrlConnectionTransport() {
+		this(TIMEOUT_MILLIS, TIMEOUT_MILLIS);
+	}
+	
+	/**
+	 * Creates a transport
+	 * @param connectTimeoutMillis the timeout for opening a connection, in milliseconds
+	 * @param readTimeoutMillis the timeout for reading the response, in milliseconds
+	 */
+	public UrlConnectionTransport(int connectTimeoutMillis, int readTimeoutMillis) {
+		this.connectTimeoutMillis = connectTimeoutMillis;
+		this.readTimeoutMillis = readTimeoutMillis;
+	}
+
+	public RawResponse send(TransportRequest request) throws RtmApiException, IOException {
+		URL url;
+		try {
+			url = new URL(request.getUrl());
+		} catch (MalformedURLException e) {
+			throw new RtmApiException(e.getMessage());
+		}
+		HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+		try {
+			connection.setConnectTimeout(this.connectTimeoutMillis);
+			connection.setReadTimeout(this.readTimeoutMillis);
+			connection.setUseCaches(false);
+			connection.setRequestMethod("POST");
+			connection.setDoOutput(true);
+			connection.setFixedLengthStreamingMode(0);
+			try {
+				connection.connect();
+			} catch (IOException e) {
+				throw new ConnectFailedException(e);
+			}
+			request.markSent();
+			connection.getOutputStream().close();
+			int status = connection.getResponseCode();
+			InputStream body = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+			if (body == null) body = new ByteArrayInputStream(new byte[0]);
+			// closing the stream after reading it gives back the connection to the keep-alive cache
+			return new RawResponse(status, body, connection.getContentLength());
+		} catch (IOException e) {
+			connection.disconnect();
+			throw e;
+		}
+	}
+
+	public void shutdown() {
+		//connections are owned by the platform and closed when idle
+	}
+
+}
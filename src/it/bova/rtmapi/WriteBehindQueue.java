@@ -0,0 +1,533 @@
+//Copyright 2012 Giovanni Pini
+//Licensed under the Apache License, Version 2.0 (the "License");
+//you may not use this file except in compliance with the License.
+//You may obtain a copy of the License at
+//http://www.apache.org/licenses/LICENSE-2.0
+//Unless required by applicable law or agreed to in writing, software
+//distributed under the License is distributed on an "AS IS" BASIS,
+//WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//See the License for the specific language governing permissions and
+//limitations under the License.
+
+package it.bova.rtmapi;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sends task edits in the background instead of blocking the caller on each request. 
+ * Edits of the same task are kept for a window before being sent, so that an edit superseded 
+ * within the window (e.g. two names for the same task) is never sent, and a tag added and removed again 
+ * is not sent at all if the task did not have it (the same for a tag removed and added again to a task having it):
+ * <pre>
+ *    WriteBehindQueue queue = new WriteBehindQueue(api, scheduledExecutor, 500);
+ *    queue.setName(task, "Buy milk");
+ *    queue.setName(task, "Buy milk and bread"); //only this name is sent
+ *    Future&lt;Task&gt; result = queue.setPriority(task, Priority.HIGH);
+ *    ...
+ *    Task saved = result.get(); //the task as modified by the server, after all the edits sent with this one
+ * </pre>
+ * Edits of a task are sent in order by one thread at a time, while different tasks are sent at once 
+ * by the threads of the executor (requests wait for the {@link RateLimiter} of the client like any other call). 
+ * A failed edit fails its futures with the exception thrown by the server or the request (wrapped in an 
+ * ExecutionException), and does not stop the other edits of the task. 
+ * A future completes with null if its edits cancelled out and nothing was sent for the task. 
+ * Tasks are identified by their ID, so a task must not be moved to another list while it has pending edits. 
+ * A queue is thread-safe.
+ * @author Giovanni Pini
+ *
+ */
+public class WriteBehindQueue {
+	
+	//fields whose last value supersedes the previous ones, in the order they are sent
+	private enum Field { NAME, PRIORITY, DUE, ESTIMATE, LOCATION, URL, COMPLETED }
+	
+	private static class Edit {
+		private final Object value;
+		private final boolean hasDueTime;
+		private final List<EditFuture> futures = new ArrayList<EditFuture>(1);
+		
+		Edit(Object value, boolean hasDueTime) {
+			this.value = value;
+			this.hasDueTime = hasDueTime;
+		}
+	}
+	
+	//the edits of a task waiting to be sent
+	private static class TaskEdits {
+		private final String taskId;
+		private final String taskseriesId;
+		private final String listId;
+		private final long createdNanos = System.nanoTime();
+		private final Map<Field,Edit> fields = new EnumMap<Field,Edit>(Field.class);
+		private Set<String> tags; //null if the tags are not replaced
+		private final Set<String> addedTags = new LinkedHashSet<String>();
+		private final Set<String> removedTags = new LinkedHashSet<String>();
+		private final List<EditFuture> tagFutures = new ArrayList<EditFuture>(1);
+		private boolean scheduled;
+		
+		TaskEdits(Task task) {
+			this.taskId = task.getId();
+			this.taskseriesId = task.getTaskserieId();
+			this.listId = task.getListId();
+		}
+		
+		boolean hasTagEdits() {
+			return this.tags != null || !this.addedTags.isEmpty() || !this.removedTags.isEmpty();
+		}
+	}
+	
+	/**
+	 * The result of an edit
+	 */
+	private static class EditFuture implements Future<Task> {
+		private final CountDownLatch done = new CountDownLatch(1);
+		private volatile Task task;
+		private volatile Exception error;
+		
+		void set(Task task, Exception error) {
+			this.task = task;
+			this.error = error;
+			this.done.countDown();
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			return false;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return false;
+		}
+
+		@Override
+		public boolean isDone() {
+			return this.done.getCount() == 0;
+		}
+
+		@Override
+		public Task get() throws InterruptedException, ExecutionException {
+			this.done.await();
+			return this.result();
+		}
+
+		@Override
+		public Task get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+			if (!this.done.await(timeout, unit)) throw new TimeoutException();
+			return this.result();
+		}
+		
+		private Task result() throws ExecutionException {
+			if (this.error != null) throw new ExecutionException(this.error);
+			return this.task;
+		}
+	}
+	
+	private final RtmApi api;
+	private final ScheduledExecutorService executor;
+	private final long windowNanos;
+	private final Object lock = new Object();
+	private final Map<String,TaskEdits> pending = new HashMap<String,TaskEdits>();
+	private final Set<String> sending = new HashSet<String>();
+	private int flushing;
+	private final ReentrantLock timelineLock = new ReentrantLock();
+	private String timeline;
+	
+	/**
+	 * Creates a queue
+	 * @param api the API object of the user
+	 * @param executor the executor sending the edits, which can be shared with other jobs
+	 * @param windowMillis how long the edits of a task are kept before being sent
+	 */
+	public WriteBehindQueue(RtmApi api, ScheduledExecutorService executor, long windowMillis) {
+		if (api == null) throw new IllegalArgumentException("api cannot be null");
+		if (executor == null) throw new IllegalArgumentException("executor cannot be null");
+		if (windowMillis < 0) throw new IllegalArgumentException("windowMillis cannot be negative");
+		this.api = api;
+		this.executor = executor;
+		this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+	}
+	
+	/**
+	 * Renames a task
+	 * @param task the task to perform the action on
+	 * @param name the new name
+	 * @return the task as modified by the server
+	 */
+	public Future<Task> setName(Task task, String name) {
+		if (name == null) throw new IllegalArgumentException("name cannot be null");
+		return this.edit(task, Field.NAME, name, false);
+	}
+	
+	/**
+	 * Sets the priority of a task
+	 * @param task the task to perform the action on
+	 * @param priority the priority to be set, or null to unset it
+	 * @return the task as modified by the server
+	 */
+	public Future<Task> setPriority(Task task, Priority priority) {
+		return this.edit(task, Field.PRIORITY, priority, false);
+	}
+	
+	/**
+	 * Sets the due date of a task
+	 * @param task the task to perform the action on
+	 * @param due the due date to be set, or null to unset it
+	 * @param hasDueTime specifies whether the due date has a due time
+	 * @return the task as modified by the server
+	 */
+	public Future<Task> setDueDate(Task task, Date due, boolean hasDueTime) {
+		return this.edit(task, Field.DUE, due, hasDueTime);
+	}
+	
+	/**
+	 * Sets the time estimate of a task
+	 * @param task the task to perform the action on
+	 * @param estimate the estimate to be set (e.g. "2 hours"), or null to unset it
+	 * @return the task as modified by the server
+	 */
+	public Future<Task> setEstimate(Task task, String estimate) {
+		return this.edit(task, Field.ESTIMATE, estimate, false);
+	}
+	
+	/**
+	 * Sets the location of a task
+	 * @param task the task to perform the action on
+	 * @param locationId the ID of the location to be set, or null to unset it
+	 * @return the task as modified by the server
+	 */
+	public Future<Task> setLocation(Task task, String locationId) {
+		return this.edit(task, Field.LOCATION, locationId, false);
+	}
+	
+	/**
+	 * Sets the URL of a task
+	 * @param task the task to perform the action on
+	 * @param url the URL to be set, or null to unset it
+	 * @return the task as modified by the server
+	 */
+	public Future<Task> setUrl(Task task, String url) {
+		return this.edit(task, Field.URL, url, false);
+	}
+	
+	/**
+	 * Marks a task complete
+	 * @param task the task to perform the action on
+	 * @return the task as modified by the server
+	 */
+	public Future<Task> complete(Task task) {
+		return this.edit(task, Field.COMPLETED, Boolean.TRUE, false);
+	}
+	
+	/**
+	 * Marks a task incomplete
+	 * @param task the task to perform the action on
+	 * @return the task as modified by the server
+	 */
+	public Future<Task> uncomplete(Task task) {
+		return this.edit(task, Field.COMPLETED, Boolean.FALSE, false);
+	}
+	
+	/**
+	 * Replaces the tags of a task, superseding the tags added and removed before
+	 * @param task the task to perform the action on
+	 * @param tags the tags to be set
+	 * @return the task as modified by the server
+	 */
+	public Future<Task> setTags(Task task, String... tags) {
+		checkTags(task, tags);
+		EditFuture future = new EditFuture();
+		synchronized (this.lock) {
+			TaskEdits edits = this.editsOf(task);
+			edits.tags = new LinkedHashSet<String>(Arrays.asList(tags));
+			edits.addedTags.clear();
+			edits.removedTags.clear();
+			edits.tagFutures.add(future);
+			this.schedule(edits);
+		}
+		return future;
+	}
+	
+	/**
+	 * Adds tags to a task. A tag removed before and not sent yet is not removed anymore, 
+	 * and is not added either if the task has it.
+	 * @param task the task to perform the action on, with its current tags
+	 * @param tags the tags to be added
+	 * @return the task as modified by the server
+	 */
+	public Future<Task> addTags(Task task, String... tags) {
+		checkTags(task, tags);
+		Set<String> current = tagsOf(task);
+		EditFuture future = new EditFuture();
+		synchronized (this.lock) {
+			TaskEdits edits = this.editsOf(task);
+			for (String tag : tags) {
+				if (edits.tags != null) edits.tags.add(tag);
+				else if (!edits.removedTags.remove(tag) || !current.contains(tag)) edits.addedTags.add(tag);
+			}
+			edits.tagFutures.add(future);
+			this.schedule(edits);
+		}
+		return future;
+	}
+	
+	/**
+	 * Removes tags from a task. A tag added before and not sent yet is not added anymore, 
+	 * and is not removed either if the task does not have it.
+	 * @param task the task to perform the action on, with its current tags
+	 * @param tags the tags to be removed
+	 * @return the task as modified by the server
+	 */
+	public Future<Task> removeTags(Task task, String... tags) {
+		checkTags(task, tags);
+		Set<String> current = tagsOf(task);
+		EditFuture future = new EditFuture();
+		synchronized (this.lock) {
+			TaskEdits edits = this.editsOf(task);
+			for (String tag : tags) {
+				if (edits.tags != null) edits.tags.remove(tag);
+				else if (!edits.addedTags.remove(tag) || current.contains(tag)) edits.removedTags.add(tag);
+			}
+			edits.tagFutures.add(future);
+			this.schedule(edits);
+		}
+		return future;
+	}
+	
+	/**
+	 * Sends all the pending edits without waiting for their window, and waits until they are sent
+	 * @throws InterruptedIOException if the thread is interrupted while waiting
+	 */
+	public void flush() throws InterruptedIOException {
+		synchronized (this.lock) {
+			this.flushing++;
+			try {
+				for (TaskEdits edits : this.pending.values()) {
+					if (!this.sending.contains(edits.taskId)) this.submit(edits, 0);
+				}
+				while (!this.pending.isEmpty() || !this.sending.isEmpty()) this.lock.wait();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Flush interrupted");
+			} finally {
+				this.flushing--;
+			}
+		}
+	}
+	
+	/**
+	 * Gets the number of tasks with edits waiting to be sent or being sent
+	 * @return the number of tasks
+	 */
+	public int getPendingTasks() {
+		synchronized (this.lock) {
+			Set<String> tasks = new HashSet<String>(this.pending.keySet());
+			tasks.addAll(this.sending);
+			return tasks.size();
+		}
+	}
+	
+	private static void checkTags(Task task, String[] tags) {
+		if (task == null) throw new IllegalArgumentException("task cannot be null");
+		if (tags == null) throw new IllegalArgumentException("tags cannot be null");
+		for (String tag : tags) {
+			if (tag == null) throw new IllegalArgumentException("tags cannot contain null");
+		}
+	}
+	
+	private static Set<String> tagsOf(Task task) {
+		if (task.getTags() == null) return new HashSet<String>();
+		return new HashSet<String>(Arrays.asList(task.getTags()));
+	}
+	
+	private Future<Task> edit(Task task, Field field, Object value, boolean hasDueTime) {
+		if (task == null) throw new IllegalArgumentException("task cannot be null");
+		EditFuture future = new EditFuture();
+		synchronized (this.lock) {
+			TaskEdits edits = this.editsOf(task);
+			Edit edit = new Edit(value, hasDueTime);
+			Edit superseded = edits.fields.put(field, edit);
+			//a superseded edit completes with the edit replacing it
+			if (superseded != null) edit.futures.addAll(superseded.futures);
+			edit.futures.add(future);
+			this.schedule(edits);
+		}
+		return future;
+	}
+	
+	private TaskEdits editsOf(Task task) {
+		TaskEdits edits = this.pending.get(task.getId());
+		if (edits == null) {
+			edits = new TaskEdits(task);
+			this.pending.put(task.getId(), edits);
+		}
+		return edits;
+	}
+	
+	private void schedule(TaskEdits edits) {
+		//edits arriving while the task is being sent are scheduled when it is done
+		if (edits.scheduled || this.sending.contains(edits.taskId)) return;
+		long delay = this.flushing > 0 ? 0 : edits.createdNanos + this.windowNanos - System.nanoTime();
+		this.submit(edits, Math.max(0, delay));
+	}
+	
+	private void submit(final TaskEdits edits, long delayNanos) {
+		edits.scheduled = true;
+		this.executor.schedule(new Runnable() {
+			@Override
+			public void run() {
+				WriteBehindQueue.this.send(edits);
+			}
+		}, delayNanos, TimeUnit.NANOSECONDS);
+	}
+	
+	private void send(TaskEdits edits) {
+		synchronized (this.lock) {
+			//already sent by a flush
+			if (this.pending.get(edits.taskId) != edits || this.sending.contains(edits.taskId)) return;
+			this.pending.remove(edits.taskId);
+			this.sending.add(edits.taskId);
+		}
+		try {
+			this.sendEdits(edits);
+		} finally {
+			synchronized (this.lock) {
+				this.sending.remove(edits.taskId);
+				TaskEdits next = this.pending.get(edits.taskId);
+				if (next != null) {
+					next.scheduled = false;
+					this.schedule(next);
+				}
+				this.lock.notifyAll();
+			}
+		}
+	}
+	
+	private void sendEdits(TaskEdits edits) {
+		List<EditFuture> sent = new ArrayList<EditFuture>();
+		Task task = null;
+		String timeline = null;
+		Exception timelineError = null;
+		try {
+			timeline = this.getTimeline();
+		} catch (Exception e) {
+			timelineError = e;
+		}
+		for (Map.Entry<Field,Edit> entry : edits.fields.entrySet()) {
+			Edit edit = entry.getValue();
+			Exception error = timelineError;
+			if (error == null) {
+				try {
+					task = this.find(this.send(timeline, edits, entry.getKey(), edit), edits.taskId, task);
+				} catch (ServerException e) {
+					error = e;
+				} catch (RtmApiException e) {
+					error = e;
+				} catch (IOException e) {
+					error = e;
+				} catch (RuntimeException e) {
+					//e.g. a request that cannot be built: it must not leave the futures waiting
+					error = e;
+				}
+			}
+			if (error == null) sent.addAll(edit.futures);
+			else for (EditFuture future : edit.futures) future.set(null, error);
+		}
+		if (edits.hasTagEdits() || !edits.tagFutures.isEmpty()) {
+			Exception error = timelineError;
+			if (error == null) {
+				try {
+					task = this.sendTags(timeline, edits, task);
+				} catch (ServerException e) {
+					error = e;
+				} catch (RtmApiException e) {
+					error = e;
+				} catch (IOException e) {
+					error = e;
+				} catch (RuntimeException e) {
+					error = e;
+				}
+			}
+			if (error == null) sent.addAll(edits.tagFutures);
+			else for (EditFuture future : edits.tagFutures) future.set(null, error);
+		}
+		for (EditFuture future : sent) future.set(task, null);
+	}
+	
+	private List<Task> send(String timeline, TaskEdits edits, Field field, Edit edit) throws ServerException, RtmApiException, IOException {
+		String id = edits.taskId, seriesId = edits.taskseriesId, listId = edits.listId;
+		switch (field) {
+		case NAME:
+			return this.api.tasksSetName(timeline, id, seriesId, listId, (String) edit.value);
+		case PRIORITY:
+			if (edit.value == null) return this.api.tasksUnsetPriority(timeline, id, seriesId, listId);
+			return this.api.tasksSetPriority(timeline, id, seriesId, listId, (Priority) edit.value);
+		case DUE:
+			if (edit.value == null) return this.api.tasksSetDueDate(timeline, id, seriesId, listId, "", false);
+			return this.api.tasksSetDueDate(timeline, id, seriesId, listId, (Date) edit.value, edit.hasDueTime);
+		case ESTIMATE:
+			if (edit.value == null) return this.api.tasksUnsetEstimate(timeline, id, seriesId, listId);
+			return this.api.tasksSetEstimate(timeline, id, seriesId, listId, (String) edit.value);
+		case LOCATION:
+			if (edit.value == null) return this.api.tasksUnsetLocation(timeline, id, seriesId, listId);
+			return this.api.tasksSetLocation(timeline, id, seriesId, listId, (String) edit.value);
+		case URL:
+			if (edit.value == null) return this.api.tasksUnsetUrl(timeline, id, seriesId, listId);
+			return this.api.tasksSetUrl(timeline, id, seriesId, listId, (String) edit.value);
+		case COMPLETED:
+			if (Boolean.TRUE.equals(edit.value)) return this.api.tasksComplete(timeline, id, seriesId, listId);
+			return this.api.tasksUncomplete(timeline, id, seriesId, listId);
+		default:
+			throw new IllegalStateException("Unknown field " + field);
+		}
+	}
+	
+	private Task sendTags(String timeline, TaskEdits edits, Task task) throws ServerException, RtmApiException, IOException {
+		String id = edits.taskId, seriesId = edits.taskseriesId, listId = edits.listId;
+		if (edits.tags != null) {
+			if (edits.tags.isEmpty()) return this.find(this.api.tasksUnsetTags(timeline, id, seriesId, listId), id, task);
+			return this.find(this.api.tasksSetTags(timeline, id, seriesId, listId, edits.tags.toArray(new String[edits.tags.size()])), id, task);
+		}
+		if (!edits.addedTags.isEmpty()) 
+			task = this.find(this.api.tasksAddTags(timeline, id, seriesId, listId, edits.addedTags.toArray(new String[edits.addedTags.size()])), id, task);
+		if (!edits.removedTags.isEmpty()) 
+			task = this.find(this.api.tasksRemoveTags(timeline, id, seriesId, listId, edits.removedTags.toArray(new String[edits.removedTags.size()])), id, task);
+		return task;
+	}
+	
+	private Task find(List<Task> tasks, String taskId, Task previous) {
+		for (Task task : tasks) {
+			if (taskId.equals(task.getId())) return task;
+		}
+		return tasks.isEmpty() ? previous : tasks.get(0);
+	}
+	
+	private String getTimeline() throws ServerException, RtmApiException, IOException {
+		//a lock instead of a monitor, not to pin a virtual thread while waiting for the server
+		this.timelineLock.lock();
+		try {
+			if (this.timeline == null) this.timeline = this.api.timelinesCreate();
+			return this.timeline;
+		} finally {
+			this.timelineLock.unlock();
+		}
+	}
+
+}